@@ -0,0 +1,134 @@
+package simulation.affectation;
+
+import java.util.Arrays;
+
+/**
+ * Résolution du problème d'affectation de coût minimal par la méthode hongroise
+ * (version à potentiels, en O(n² m) pour une matrice n x m avec n ≤ m).
+ *
+ * Les coûts égaux à Integer.MAX_VALUE désignent des affectations impossibles :
+ * elles ne sont retenues que s'il n'existe aucune autre solution, et sont alors
+ * retirées du résultat.
+ */
+public final class AffectationHongroise {
+    public static final int IMPOSSIBLE = Integer.MAX_VALUE;
+
+    private AffectationHongroise() {
+    }
+
+    /**
+     * Calcule une affectation de coût total minimal entre les lignes et les colonnes.
+     * Chaque ligne reçoit au plus une colonne et chaque colonne au plus une ligne.
+     *
+     * @param couts matrice des coûts, couts[ligne][colonne], rectangulaire
+     * @return pour chaque ligne, l'indice de la colonne affectée, ou -1 si aucune
+     */
+    public static int[] resoudre(int[][] couts) {
+        int nbLignes = couts.length;
+        int nbColonnes = nbLignes == 0 ? 0 : couts[0].length;
+        int[] res = new int[nbLignes];
+        Arrays.fill(res, -1);
+        if (nbLignes == 0 || nbColonnes == 0) {
+            return res;
+        }
+        if (nbLignes <= nbColonnes) {
+            int[] colonneDe = resoudreLargeur(couts, nbLignes, nbColonnes, false);
+            for (int i = 0; i < nbLignes; i++) {
+                if (colonneDe[i] >= 0 && couts[i][colonneDe[i]] != IMPOSSIBLE) {
+                    res[i] = colonneDe[i];
+                }
+            }
+        } else {
+            int[] ligneDe = resoudreLargeur(couts, nbColonnes, nbLignes, true);
+            for (int j = 0; j < nbColonnes; j++) {
+                if (ligneDe[j] >= 0 && couts[ligneDe[j]][j] != IMPOSSIBLE) {
+                    res[ligneDe[j]] = j;
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Méthode hongroise pour n ≤ m ; si transposee, la matrice est lue comme couts[colonne][ligne].
+     * Retourne pour chacune des n lignes la colonne affectée.
+     */
+    private static int[] resoudreLargeur(int[][] couts, int n, int m, boolean transposee) {
+        long infini = coutImpossible(couts);
+        long[] u = new long[n + 1];
+        long[] v = new long[m + 1];
+        int[] ligneDeColonne = new int[m + 1]; // p : ligne (1..n) affectée à chaque colonne, 0 si libre
+        int[] chemin = new int[m + 1];
+        long[] minv = new long[m + 1];
+        boolean[] utilisee = new boolean[m + 1];
+
+        for (int i = 1; i <= n; i++) {
+            ligneDeColonne[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, Long.MAX_VALUE);
+            Arrays.fill(utilisee, false);
+            do {
+                utilisee[j0] = true;
+                int i0 = ligneDeColonne[j0];
+                long delta = Long.MAX_VALUE;
+                int j1 = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (utilisee[j]) {
+                        continue;
+                    }
+                    int c = transposee ? couts[j - 1][i0 - 1] : couts[i0 - 1][j - 1];
+                    long cur = (c == IMPOSSIBLE ? infini : c) - u[i0] - v[j];
+                    if (cur < minv[j]) {
+                        minv[j] = cur;
+                        chemin[j] = j0;
+                    }
+                    if (minv[j] < delta) {
+                        delta = minv[j];
+                        j1 = j;
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (utilisee[j]) {
+                        u[ligneDeColonne[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (ligneDeColonne[j0] != 0);
+            do {
+                int j1 = chemin[j0];
+                ligneDeColonne[j0] = ligneDeColonne[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        int[] colonneDe = new int[n];
+        Arrays.fill(colonneDe, -1);
+        for (int j = 1; j <= m; j++) {
+            if (ligneDeColonne[j] != 0) {
+                colonneDe[ligneDeColonne[j] - 1] = j - 1;
+            }
+        }
+        return colonneDe;
+    }
+
+    /**
+     * Coût substitué aux affectations impossibles : supérieur à toute somme de coûts possibles,
+     * pour qu'une affectation impossible ne soit jamais préférée à une affectation réelle.
+     */
+    private static long coutImpossible(int[][] couts) {
+        long somme = 1;
+        for (int[] ligne : couts) {
+            long max = 0;
+            for (int c : ligne) {
+                if (c != IMPOSSIBLE) {
+                    max = Math.max(max, c);
+                }
+            }
+            somme += max;
+        }
+        return somme * 2;
+    }
+}
@@ -0,0 +1,98 @@
+package simulation.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import simulation.affectation.AffectationHongroise;
+import simulation.chemin.IndexSpatial;
+import simulation.chemin.MatriceTempsTrajet;
+import simulation.chemin.RechercheDijkstra;
+import simulation.chemin.ResultatPlusProche;
+import simulation.environment.Carte;
+import simulation.environment.Case;
+import simulation.robot.Robot;
+import simulation.robot.RobotRoue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherche de l'incendie le plus proche d'un robot et affectation des robots aux incendies.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AffectationBenchmark {
+    private static final int NB_ROBOTS = 64;
+
+    @Param({"256", "1024"})
+    private int taille;
+
+    @Param({"100", "1000"})
+    private int nbIncendies;
+
+    private List<Robot> robots;
+    private List<Case> incendies;
+    private IndexSpatial<Integer> index;
+    private RechercheDijkstra dijkstra;
+    private MatriceTempsTrajet matrice;
+    private int[][] couts;
+    private int requete;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        Carte carte = Cartes.generer(taille, 42);
+        Random aleatoire = new Random(11);
+        robots = new ArrayList<>();
+        for (int i = 0; i < NB_ROBOTS; i++) {
+            robots.add(new RobotRoue(i, carte.getCase(aleatoire.nextInt(taille), aleatoire.nextInt(taille))));
+        }
+        incendies = new ArrayList<>();
+        index = new IndexSpatial<>(carte, 16);
+        for (int i = 0; i < nbIncendies; i++) {
+            Case c = carte.getCase(aleatoire.nextInt(taille), aleatoire.nextInt(taille));
+            incendies.add(c);
+            index.ajouter(i, c);
+        }
+        dijkstra = new RechercheDijkstra(carte);
+        matrice = new MatriceTempsTrajet(carte, ForkJoinPool.commonPool());
+        couts = matrice.calculer(robots, incendies.subList(0, Math.min(nbIncendies, NB_ROBOTS * 2)));
+    }
+
+    @Benchmark
+    public int incendieLePlusProcheIndex() {
+        IndexSpatial.Parcours<Integer> parcours = index.parcourir(robots.get(requete++ & (NB_ROBOTS - 1)).getPosition());
+        return parcours.aSuivant() ? parcours.suivant() : -1;
+    }
+
+    @Benchmark
+    public ResultatPlusProche incendieLePlusProcheDijkstra() {
+        return dijkstra.chercherPlusProche(robots.get(requete++ & (NB_ROBOTS - 1)), incendies);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[][] matriceTempsTrajet() {
+        return matrice.calculer(robots, incendies.subList(0, Math.min(nbIncendies, NB_ROBOTS * 2)));
+    }
+
+    @Benchmark
+    public int[] affectationHongroise() {
+        return AffectationHongroise.resoudre(couts);
+    }
+}
@@ -0,0 +1,69 @@
+package simulation.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import simulation.ordonnancement.CalendrierEvenements;
+
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * File d'événements de la boucle de simulation, en régime permanent : chaque opération retire l'événement
+ * le plus proche et en programme un nouveau un peu plus tard, comme un robot qui enchaîne ses actions.
+ * Compare le calendrier à roue temporelle à une file de priorité triée par (date, ordre d'insertion).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalendrierBenchmark {
+    private static final int DELAI_MAX = 600; // Délai maximal entre deux actions d'un robot, en secondes
+
+    @Param({"1000", "100000"})
+    private int nbEvenements;
+
+    private CalendrierEvenements<Integer> calendrier;
+    private PriorityQueue<long[]> file;
+    private SplittableRandom aleatoire;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        aleatoire = new SplittableRandom(5);
+        calendrier = new CalendrierEvenements<>(0);
+        file = new PriorityQueue<>((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        for (int i = 0; i < nbEvenements; i++) {
+            long date = aleatoire.nextInt(DELAI_MAX);
+            calendrier.ajouter(date, i);
+            file.add(new long[]{date, sequence++, i});
+        }
+    }
+
+    @Benchmark
+    public int calendrier() {
+        long date = calendrier.prochaineDate();
+        Integer robot = calendrier.retirer();
+        calendrier.ajouter(date + 1 + aleatoire.nextInt(DELAI_MAX), robot);
+        return robot;
+    }
+
+    @Benchmark
+    public long fileDePriorite() {
+        long[] evenement = file.poll();
+        file.add(new long[]{evenement[0] + 1 + aleatoire.nextInt(DELAI_MAX), sequence++, evenement[2]});
+        return evenement[2];
+    }
+}
@@ -0,0 +1,47 @@
+package simulation.benchmarks;
+
+import simulation.environment.Carte;
+import simulation.environment.NatureTerrain;
+
+import java.util.Random;
+
+/**
+ * Génération de cartes pseudo-aléatoires reproductibles pour les bancs d'essai.
+ */
+final class Cartes {
+    private Cartes() {
+    }
+
+    /**
+     * Génère une carte carrée : terrain libre, taches de forêt et de roche, et quelques lacs.
+     *
+     * @param taille le nombre de lignes et de colonnes
+     * @param graine la graine du générateur
+     * @return la carte
+     */
+    static Carte generer(int taille, long graine) {
+        Random aleatoire = new Random(graine);
+        Carte carte = new Carte(taille, taille);
+        int nbTaches = Math.max(4, taille * taille / 200);
+        for (int t = 0; t < nbTaches; t++) {
+            NatureTerrain nature;
+            int tirage = aleatoire.nextInt(10);
+            if (tirage < 5) {
+                nature = NatureTerrain.FORET;
+            } else if (tirage < 8) {
+                nature = NatureTerrain.ROCHE;
+            } else {
+                nature = NatureTerrain.EAU;
+            }
+            int rayon = 1 + aleatoire.nextInt(4);
+            int col = aleatoire.nextInt(taille);
+            int lig = aleatoire.nextInt(taille);
+            for (int c = Math.max(0, col - rayon); c <= Math.min(taille - 1, col + rayon); c++) {
+                for (int l = Math.max(0, lig - rayon); l <= Math.min(taille - 1, lig + rayon); l++) {
+                    carte.setCaseNature(c, l, nature);
+                }
+            }
+        }
+        return carte;
+    }
+}
@@ -0,0 +1,106 @@
+package simulation.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import simulation.chemin.Chemin;
+import simulation.chemin.RechercheAStar;
+import simulation.chemin.RechercheDijkstra;
+import simulation.chemin.RechercheHierarchique;
+import simulation.environment.Carte;
+import simulation.environment.Case;
+import simulation.environment.Direction;
+import simulation.robot.Robot;
+import simulation.robot.RobotRoue;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherche de chemin point à point sur des cartes générées de plusieurs tailles,
+ * et parcours des voisins d'une case ({@link Carte#getVoisin}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RechercheCheminBenchmark {
+    private static final int NB_REQUETES = 256;
+
+    @Param({"64", "256", "1024"})
+    private int taille;
+
+    private Carte carte;
+    private Robot[] robots; // Un robot par requête, placé sur le départ
+    private Case[] cibles;
+    private RechercheAStar aEtoile;
+    private RechercheDijkstra dijkstra;
+    private RechercheHierarchique hierarchique;
+    private int requete;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        carte = Cartes.generer(taille, 42);
+        Random aleatoire = new Random(7);
+        robots = new Robot[NB_REQUETES];
+        cibles = new Case[NB_REQUETES];
+        for (int i = 0; i < NB_REQUETES; i++) {
+            robots[i] = new RobotRoue(i, carte.getCase(aleatoire.nextInt(taille), aleatoire.nextInt(taille)));
+            cibles[i] = carte.getCase(aleatoire.nextInt(taille), aleatoire.nextInt(taille));
+        }
+        aEtoile = new RechercheAStar(carte);
+        dijkstra = new RechercheDijkstra(carte);
+        hierarchique = new RechercheHierarchique(carte, 16);
+    }
+
+    @Benchmark
+    public Chemin aEtoile() {
+        int i = requete++ & (NB_REQUETES - 1);
+        return aEtoile.chercher(robots[i], cibles[i]);
+    }
+
+    @Benchmark
+    public Chemin dijkstra() {
+        int i = requete++ & (NB_REQUETES - 1);
+        return dijkstra.chercher(robots[i], cibles[i]);
+    }
+
+    @Benchmark
+    public Chemin hierarchique() {
+        int i = requete++ & (NB_REQUETES - 1);
+        Chemin chemin = hierarchique.chercher(robots[i], cibles[i]);
+        if (chemin.estTrouve()) {
+            chemin.getDirections().size(); // force l'affinage complet du chemin
+        }
+        return chemin;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int getVoisinToutesCases() {
+        int somme = 0;
+        for (int col = 0; col < taille; col++) {
+            for (int lig = 0; lig < taille; lig++) {
+                Case c = carte.getCase(col, lig);
+                for (Direction direction : Direction.values()) {
+                    Case voisin = carte.getVoisin(c, direction);
+                    if (voisin != null) {
+                        somme += voisin.getLigne();
+                    }
+                }
+            }
+        }
+        return somme;
+    }
+}
@@ -0,0 +1,65 @@
+package simulation.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import simulation.journal.Journal;
+import simulation.journal.Niveau;
+import simulation.lots.ExecuteurLot;
+import simulation.lots.ResultatScenario;
+import simulation.lots.ResumeLot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exécution complète de scénarios : un scénario seul, puis un lot de scénarios sur plusieurs threads.
+ * Le journal est désactivé pour ne mesurer que la simulation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ScenarioBenchmark {
+    private static final int NB_SCENARIOS_LOT = 16;
+
+    @Param({"64", "256"})
+    private int taille;
+
+    @Param({"20"})
+    private int nbRobots;
+
+    @Param({"50"})
+    private int nbIncendies;
+
+    private ScenarioSynthetique scenario;
+    private ExecuteurLot executeurLot;
+    private long graine;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        Journal.setNiveau(Niveau.AUCUN);
+        scenario = new ScenarioSynthetique(taille, nbRobots, nbIncendies);
+        executeurLot = new ExecuteurLot(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Benchmark
+    public ResultatScenario scenarioComplet() {
+        return scenario.executer(graine++);
+    }
+
+    @Benchmark
+    public ResumeLot lotDeScenarios() throws InterruptedException {
+        return executeurLot.executer(scenario, graine++, NB_SCENARIOS_LOT);
+    }
+}
@@ -0,0 +1,234 @@
+package simulation.benchmarks;
+
+import simulation.chemin.ChampsSourcesEau;
+import simulation.chemin.Chemin;
+import simulation.chemin.IndexSpatial;
+import simulation.chemin.RechercheAStar;
+import simulation.environment.Carte;
+import simulation.environment.Case;
+import simulation.environment.Direction;
+import simulation.environment.EtatIncendie;
+import simulation.environment.Incendie;
+import simulation.environment.NatureTerrain;
+import simulation.lots.ExecutionScenario;
+import simulation.lots.MesureInactivite;
+import simulation.lots.ResultatScenario;
+import simulation.ordonnancement.CalendrierEvenements;
+import simulation.robot.Robot;
+import simulation.robot.RobotChenille;
+import simulation.robot.RobotPattes;
+import simulation.robot.RobotRoue;
+import simulation.robot.RobotState;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Scénario complet autonome pour les bancs d'essai : une carte générée, des robots et des incendies
+ * tirés au hasard, et une boucle d'événements qui enchaîne affectation à l'incendie le plus proche,
+ * trajet, versement, remplissage à la source la plus proche, jusqu'à épuisement des événements.
+ *
+ * Il reproduit le cycle de vie d'une simulation avec les composants du projet (calendrier d'événements,
+ * recherche de chemin, index spatial, champs des sources d'eau, avance analytique des versements) sans
+ * dépendre du chargement d'un fichier de scénario.
+ */
+final class ScenarioSynthetique implements ExecutionScenario {
+    private static final long MINUTE = 60; // Les dates sont en secondes
+    private static final int NB_ESSAIS_AFFECTATION = 8; // Incendies les plus proches essayés par affectation
+
+    private final int taille;
+    private final int nbRobots;
+    private final int nbIncendies;
+
+    ScenarioSynthetique(int taille, int nbRobots, int nbIncendies) {
+        this.taille = taille;
+        this.nbRobots = nbRobots;
+        this.nbIncendies = nbIncendies;
+    }
+
+    @Override
+    public ResultatScenario executer(long graine) {
+        return new Execution(graine).executer();
+    }
+
+    private enum TypeAction {
+        ARRIVEE_INCENDIE,
+        FIN_VERSEMENT,
+        ARRIVEE_SOURCE,
+        FIN_REMPLISSAGE
+    }
+
+    private static final class Action {
+        private final TypeAction type;
+        private final int robot;
+        private final int minutes;
+        private final Case destination;
+
+        private Action(TypeAction type, int robot, int minutes, Case destination) {
+            this.type = type;
+            this.robot = robot;
+            this.minutes = minutes;
+            this.destination = destination;
+        }
+    }
+
+    /**
+     * État d'une exécution du scénario.
+     */
+    private final class Execution {
+        private final long graine;
+        private final Carte carte;
+        private final List<Robot> robots = new ArrayList<>();
+        private final Incendie[] cibles; // Incendie de chaque robot, null s'il n'en a pas
+        private final IndexSpatial<Incendie> incendiesLibres;
+        private final RechercheAStar aEtoile;
+        private final ChampsSourcesEau champs;
+        private final CalendrierEvenements<Action> calendrier = new CalendrierEvenements<>(0);
+        private long maintenant;
+        private long dateExtinction;
+        private int nbActifs;
+
+        private Execution(long graine) {
+            this.graine = graine;
+            this.carte = Cartes.generer(taille, graine);
+            this.incendiesLibres = new IndexSpatial<>(carte, 16);
+            this.aEtoile = new RechercheAStar(carte);
+            this.champs = new ChampsSourcesEau(carte);
+            this.cibles = new Incendie[nbRobots];
+        }
+
+        private ResultatScenario executer() {
+            Random aleatoire = new Random(graine);
+            Set<Integer> occupees = new HashSet<>();
+            while (nbActifs < nbIncendies) {
+                Case c = carte.getCase(aleatoire.nextInt(taille), aleatoire.nextInt(taille));
+                if (c.getNature() == NatureTerrain.EAU || !occupees.add(carte.indexCase(c))) {
+                    continue;
+                }
+                Incendie incendie = new Incendie(5000 + aleatoire.nextInt(30000), c);
+                incendie.setId(nbActifs++);
+                incendiesLibres.ajouter(incendie, c);
+            }
+            for (int i = 0; i < nbRobots; i++) {
+                Case c = carte.getCase(aleatoire.nextInt(taille), aleatoire.nextInt(taille));
+                switch (i % 3) {
+                    case 0 -> robots.add(new RobotRoue(i, c));
+                    case 1 -> robots.add(new RobotChenille(i, c));
+                    default -> robots.add(new RobotPattes(i, c));
+                }
+            }
+            MesureInactivite mesure = new MesureInactivite(robots, () -> maintenant);
+            for (int i = 0; i < nbRobots; i++) {
+                affecter(i);
+            }
+
+            while (!calendrier.estVide()) {
+                maintenant = calendrier.prochaineDate();
+                Action action = calendrier.retirer();
+                Robot robot = robots.get(action.robot);
+                switch (action.type) {
+                    case ARRIVEE_INCENDIE -> {
+                        robot.setPosition(action.destination);
+                        verser(action.robot);
+                    }
+                    case FIN_VERSEMENT -> {
+                        Incendie incendie = cibles[action.robot];
+                        robot.verserEauIncendie(incendie, action.minutes);
+                        if (incendie.getEtat() == EtatIncendie.ETEINT) {
+                            nbActifs--;
+                            dateExtinction = maintenant;
+                            cibles[action.robot] = null;
+                            affecter(action.robot);
+                        } else {
+                            allerRemplir(action.robot);
+                        }
+                    }
+                    case ARRIVEE_SOURCE -> {
+                        robot.setPosition(action.destination);
+                        robot.setState(RobotState.REMPLIT_EAU);
+                        int minutes = robot.getMinutesRemplissage();
+                        programmer(TypeAction.FIN_REMPLISSAGE, action.robot, minutes, null, minutes * MINUTE);
+                    }
+                    case FIN_REMPLISSAGE -> {
+                        robot.remplirReservoir(action.minutes);
+                        if (cibles[action.robot] != null) {
+                            allerVers(action.robot, cibles[action.robot]);
+                        } else {
+                            affecter(action.robot);
+                        }
+                    }
+                }
+            }
+            long fin = nbActifs == 0 ? dateExtinction : ResultatScenario.NON_ETEINT;
+            return new ResultatScenario(graine, fin, mesure.getTempsInactif(maintenant), nbRobots);
+        }
+
+        /**
+         * Affecte le robot à l'incendie libre accessible le plus proche, ou le laisse inactif.
+         */
+        private void affecter(int i) {
+            Robot robot = robots.get(i);
+            IndexSpatial.Parcours<Incendie> parcours = incendiesLibres.parcourir(robot.getPosition());
+            for (int essai = 0; essai < NB_ESSAIS_AFFECTATION && parcours.aSuivant(); essai++) {
+                Incendie incendie = parcours.suivant();
+                if (allerVers(i, incendie)) {
+                    incendiesLibres.retirer(incendie);
+                    incendie.setEtatToTarget();
+                    cibles[i] = incendie;
+                    return;
+                }
+            }
+            robot.setState(RobotState.LIBRE);
+        }
+
+        private boolean allerVers(int i, Incendie incendie) {
+            Chemin chemin = aEtoile.chercher(robots.get(i), incendie.getPosition());
+            if (!chemin.estTrouve()) {
+                return false;
+            }
+            robots.get(i).setState(RobotState.MOVING);
+            programmer(TypeAction.ARRIVEE_INCENDIE, i, 0, destination(robots.get(i).getPosition(), chemin.getDirections()), chemin.getTemps());
+            return true;
+        }
+
+        private void verser(int i) {
+            Robot robot = robots.get(i);
+            Incendie incendie = cibles[i];
+            int minutes = Math.min(robot.getMinutesVersement(),
+                    (incendie.getCoutEau() + robot.getVersementPerMinute() - 1) / robot.getVersementPerMinute());
+            if (minutes == 0) {
+                allerRemplir(i);
+                return;
+            }
+            robot.setState(RobotState.ETEINDRE_INCENDIE);
+            programmer(TypeAction.FIN_VERSEMENT, i, minutes, null, minutes * MINUTE);
+        }
+
+        private void allerRemplir(int i) {
+            Robot robot = robots.get(i);
+            List<Direction> chemin = champs.getCheminVersSource(robot, robot.getPosition());
+            if (chemin == null) {
+                robot.setState(RobotState.LIBRE); // aucune source accessible : le robot reste sur place
+                return;
+            }
+            robot.setState(RobotState.MOVING);
+            programmer(TypeAction.ARRIVEE_SOURCE, i, 0, destination(robot.getPosition(), chemin),
+                    champs.getTempsVersSource(robot, robot.getPosition()));
+        }
+
+        private Case destination(Case depart, List<Direction> directions) {
+            Case c = depart;
+            for (Direction direction : directions) {
+                c = carte.getVoisin(c, direction);
+            }
+            return c;
+        }
+
+        private void programmer(TypeAction type, int robot, int minutes, Case destination, long delai) {
+            calendrier.ajouter(maintenant + delai, new Action(type, robot, minutes, destination));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package simulation.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import simulation.chemin.ChampsSourcesEau;
+import simulation.environment.Carte;
+import simulation.environment.Case;
+import simulation.environment.NatureTerrain;
+import simulation.robot.Robot;
+import simulation.robot.RobotChenille;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envoi d'un robot vers la source d'eau la plus proche : requête sur les champs de distance,
+ * et recalcul des champs après une modification du terrain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SourceEauBenchmark {
+    private static final int NB_ROBOTS = 256;
+
+    @Param({"64", "256", "1024"})
+    private int taille;
+
+    private Carte carte;
+    private Robot[] robots;
+    private ChampsSourcesEau champs;
+    private int requete;
+    private boolean eau; // Nature courante de la case basculée par modificationTerrain
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        carte = Cartes.generer(taille, 42);
+        Random aleatoire = new Random(13);
+        robots = new Robot[NB_ROBOTS];
+        for (int i = 0; i < NB_ROBOTS; i++) {
+            robots[i] = new RobotChenille(i, carte.getCase(aleatoire.nextInt(taille), aleatoire.nextInt(taille)));
+        }
+        champs = new ChampsSourcesEau(carte);
+        champs.getSourceLaPlusProche(robots[0], robots[0].getPosition());
+    }
+
+    @Benchmark
+    public Case sourceLaPlusProche() {
+        Robot robot = robots[requete++ & (NB_ROBOTS - 1)];
+        return champs.getSourceLaPlusProche(robot, robot.getPosition());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Case modificationTerrain() {
+        eau = !eau;
+        carte.setCaseNature(taille / 2, taille / 2, eau ? NatureTerrain.EAU : NatureTerrain.TERRAIN_LIBRE);
+        Robot robot = robots[requete++ & (NB_ROBOTS - 1)];
+        return champs.getSourceLaPlusProche(robot, robot.getPosition());
+    }
+}
@@ -0,0 +1,291 @@
+package simulation.chemin;
+
+import simulation.environment.*;
+import simulation.robot.ProfilVitesse;
+import simulation.robot.Robot;
+
+import java.util.*;
+
+/**
+ * Cache borné des résultats de recherche de chemin, placé devant un autre moteur de recherche.
+ * Les entrées sont indexées par (profil de vitesse, case de départ, case cible) et évincées
+ * selon la politique LRU.
+ *
+ * Lorsqu'une case change de nature, seules les entrées dont le chemin passe par cette case
+ * sont invalidées. Si le nouveau terrain est plus rapide que l'ancien pour un profil, un chemin
+ * plus court peut apparaître ailleurs : toutes les entrées de ce profil sont alors invalidées.
+ */
+public class CacheChemins implements RechercheChemin, ObservateurTerrain {
+    private final Carte carte;
+    private final RechercheChemin recherche; // Moteur appelé en cas de défaut de cache
+    private final int capacite;
+
+    private final LinkedHashMap<Cle, Entree> entrees;
+    private final Map<Integer, Set<Cle>> clesParCase = new HashMap<>(); // Entrées dont le chemin passe par chaque case
+
+    private long nbHits;
+    private long nbMiss;
+    private int nbNoeudsExplores; // Noeuds explorés par le moteur pour la dernière requête, 0 si servie par le cache
+
+    /**
+     * Constructeur de la classe CacheChemins.
+     *
+     * @param carte     la carte de la simulation
+     * @param recherche le moteur de recherche utilisé en cas de défaut de cache
+     * @param capacite  le nombre maximal de chemins conservés
+     */
+    public CacheChemins(Carte carte, RechercheChemin recherche, int capacite) {
+        this.carte = carte;
+        this.recherche = recherche;
+        this.capacite = capacite;
+        this.entrees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Cle, Entree> eldest) {
+                if (size() > CacheChemins.this.capacite) {
+                    desindexer(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+        carte.addObservateur(this);
+    }
+
+    /**
+     * Retourne le chemin en cache, ou le calcule avec le moteur sous-jacent.
+     */
+    @Override
+    public Chemin chercher(Robot robot, Case cible) {
+        Cle cle = new Cle(robot.getProfilVitesse(), carte.indexCase(robot.getPosition()), carte.indexCase(cible));
+        Entree entree = entrees.get(cle);
+        if (entree != null) {
+            nbHits++;
+            nbNoeudsExplores = 0;
+            return entree.chemin;
+        }
+        nbMiss++;
+        Chemin chemin = recherche.chercher(robot, cible);
+        nbNoeudsExplores = recherche.getNbNoeudsExplores();
+        ajouter(cle, chemin);
+        return chemin;
+    }
+
+    /**
+     * Si le moteur sous-jacent traite nativement plusieurs cibles, les cibles absentes du cache
+     * sont confiées à une seule recherche multi-cibles et seul le chemin retenu est mis en cache.
+     * Sinon chaque cible passe par le cache, comme avec {@link #chercher(Robot, Case)}.
+     */
+    @Override
+    public ResultatPlusProche chercherPlusProche(Robot robot, List<Case> cibles) {
+        if (!recherche.estMultiCibles()) {
+            // Une requête par cible : les noeuds explorés sont cumulés sur toutes les cibles
+            ResultatPlusProche res = ResultatPlusProche.AUCUNE;
+            int total = 0;
+            for (int i = 0; i < cibles.size(); i++) {
+                Chemin chemin = chercher(robot, cibles.get(i));
+                total = total < 0 || nbNoeudsExplores < 0 ? -1 : total + nbNoeudsExplores;
+                if (chemin.estTrouve() && chemin.getTemps() < res.getChemin().getTemps()) {
+                    res = new ResultatPlusProche(i, cibles.get(i), chemin);
+                }
+            }
+            nbNoeudsExplores = total;
+            return res;
+        }
+        ProfilVitesse profil = robot.getProfilVitesse();
+        int depart = carte.indexCase(robot.getPosition());
+        ResultatPlusProche res = ResultatPlusProche.AUCUNE;
+        List<Case> absentes = new ArrayList<>();
+        List<Integer> indicesAbsentes = new ArrayList<>();
+        for (int i = 0; i < cibles.size(); i++) {
+            Case cible = cibles.get(i);
+            Entree entree = entrees.get(new Cle(profil, depart, carte.indexCase(cible)));
+            if (entree == null) {
+                absentes.add(cible);
+                indicesAbsentes.add(i);
+            } else {
+                nbHits++;
+                if (entree.chemin.estTrouve() && entree.chemin.getTemps() < res.getChemin().getTemps()) {
+                    res = new ResultatPlusProche(i, cible, entree.chemin);
+                }
+            }
+        }
+        nbNoeudsExplores = 0;
+        if (!absentes.isEmpty()) {
+            nbMiss++;
+            ResultatPlusProche trouve = recherche.chercherPlusProche(robot, absentes);
+            nbNoeudsExplores = recherche.getNbNoeudsExplores();
+            if (trouve.estTrouve()) {
+                ajouter(new Cle(profil, depart, carte.indexCase(trouve.getCible())), trouve.getChemin());
+                if (trouve.getChemin().getTemps() < res.getChemin().getTemps()) {
+                    res = new ResultatPlusProche(indicesAbsentes.get(trouve.getIndiceCible()), trouve.getCible(), trouve.getChemin());
+                }
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public boolean estMultiCibles() {
+        return recherche.estMultiCibles();
+    }
+
+    /**
+     * Retourne le nombre de noeuds explorés par le moteur sous-jacent pour la dernière requête :
+     * 0 si elle a été servie par le cache, -1 si le moteur ne le mesure pas.
+     */
+    @Override
+    public int getNbNoeudsExplores() {
+        return nbNoeudsExplores;
+    }
+
+    /**
+     * Invalide les chemins affectés par le changement de nature d'une case.
+     */
+    @Override
+    public void natureModifiee(Case c, NatureTerrain ancienne) {
+        Set<Cle> touchees = clesParCase.get(carte.indexCase(c));
+        if (touchees != null) {
+            for (Cle cle : new ArrayList<>(touchees)) {
+                supprimer(cle);
+            }
+        }
+        NatureTerrain nouvelle = c.getNature();
+        Set<ProfilVitesse> acceleres = new HashSet<>();
+        for (Cle cle : entrees.keySet()) {
+            if (cle.profil.getVitesse(nouvelle) > cle.profil.getVitesse(ancienne)) {
+                acceleres.add(cle.profil);
+            }
+        }
+        if (!acceleres.isEmpty()) {
+            for (Cle cle : new ArrayList<>(entrees.keySet())) {
+                if (acceleres.contains(cle.profil)) {
+                    supprimer(cle);
+                }
+            }
+        }
+    }
+
+    /**
+     * Vide entièrement le cache.
+     */
+    public void vider() {
+        entrees.clear();
+        clesParCase.clear();
+    }
+
+    /**
+     * Retourne le nombre de requêtes servies depuis le cache.
+     *
+     * @return le nombre de hits
+     */
+    public long getNbHits() {
+        return nbHits;
+    }
+
+    /**
+     * Retourne le nombre de requêtes ayant nécessité une recherche.
+     *
+     * @return le nombre de miss
+     */
+    public long getNbMiss() {
+        return nbMiss;
+    }
+
+    /**
+     * Retourne le nombre de chemins actuellement en cache.
+     *
+     * @return la taille du cache
+     */
+    public int getTaille() {
+        return entrees.size();
+    }
+
+    private void ajouter(Cle cle, Chemin chemin) {
+        supprimer(cle);
+        Entree entree = new Entree(chemin, casesDuChemin(cle, chemin));
+        for (int index : entree.cases) {
+            clesParCase.computeIfAbsent(index, k -> new HashSet<>()).add(cle);
+        }
+        entrees.put(cle, entree);
+    }
+
+    private void supprimer(Cle cle) {
+        Entree entree = entrees.remove(cle);
+        if (entree != null) {
+            desindexer(cle, entree);
+        }
+    }
+
+    private void desindexer(Cle cle, Entree entree) {
+        for (int index : entree.cases) {
+            Set<Cle> cles = clesParCase.get(index);
+            if (cles != null) {
+                cles.remove(cle);
+                if (cles.isEmpty()) {
+                    clesParCase.remove(index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Liste les cases parcourues par un chemin, départ et cible compris.
+     */
+    private int[] casesDuChemin(Cle cle, Chemin chemin) {
+        if (!chemin.estTrouve()) {
+            return new int[]{cle.depart, cle.cible};
+        }
+        List<Direction> directions = chemin.getDirections();
+        int[] res = new int[directions.size() + 2];
+        int courant = cle.depart;
+        res[0] = courant;
+        for (int i = 0; i < directions.size(); i++) {
+            courant = OutilsGrille.voisin(courant, directions.get(i).ordinal(), carte.getNbLignes(), carte.getNbColones());
+            res[i + 1] = courant;
+        }
+        res[res.length - 1] = cle.cible;
+        return res;
+    }
+
+    /**
+     * Clé d'une entrée du cache.
+     */
+    private static final class Cle {
+        private final ProfilVitesse profil;
+        private final int depart;
+        private final int cible;
+
+        private Cle(ProfilVitesse profil, int depart, int cible) {
+            this.profil = profil;
+            this.depart = depart;
+            this.cible = cible;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Cle)) {
+                return false;
+            }
+            Cle autre = (Cle) o;
+            return depart == autre.depart && cible == autre.cible && profil.equals(autre.profil);
+        }
+
+        @Override
+        public int hashCode() {
+            return (profil.hashCode() * 31 + depart) * 31 + cible;
+        }
+    }
+
+    /**
+     * Chemin en cache avec les cases qu'il parcourt.
+     */
+    private static final class Entree {
+        private final Chemin chemin;
+        private final int[] cases;
+
+        private Entree(Chemin chemin, int[] cases) {
+            this.chemin = chemin;
+            this.cases = cases;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package simulation.chemin;
+
+import simulation.environment.*;
+import simulation.robot.ProfilVitesse;
+import simulation.robot.Robot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Champs de distance vers les sources d'eau, un par profil de vitesse de robot.
+ * Chaque champ est calculé une seule fois par une recherche de Dijkstra multi-sources
+ * partant de toutes les sources d'eau, puis répond en O(1) pour n'importe quelle case :
+ * source la plus proche, temps de trajet et prochaine direction à suivre.
+ * Les champs ne sont recalculés que lorsque la nature d'une case de la carte change.
+ *
+ * Un robot qui ne peut pas aller sur l'eau se remplit depuis une case voisine de la source ;
+ * un robot qui le peut (drone) se remplit sur la source elle-même.
+ */
+public class ChampsSourcesEau implements ObservateurTerrain {
+    private final Carte carte;
+    private final Map<ProfilVitesse, Champ> champs = new HashMap<>();
+
+    /**
+     * Constructeur de la classe ChampsSourcesEau.
+     * S'enregistre auprès de la carte pour être notifié des changements de terrain.
+     *
+     * @param carte la carte de la simulation
+     */
+    public ChampsSourcesEau(Carte carte) {
+        this.carte = carte;
+        carte.addObservateur(this);
+    }
+
+    /**
+     * Retourne la source d'eau la plus proche d'une case pour un robot donné.
+     *
+     * @param robot  le robot qui cherche une source d'eau
+     * @param depart la case de départ
+     * @return la case de la source d'eau la plus proche, ou null si aucune n'est accessible
+     */
+    public Case getSourceLaPlusProche(Robot robot, Case depart) {
+        Champ champ = getChamp(robot);
+        int source = champ.source[carte.indexCase(depart)];
+        return source < 0 ? null : carte.getCase(source);
+    }
+
+    /**
+     * Retourne le temps de trajet vers la source d'eau la plus proche.
+     *
+     * @param robot  le robot qui cherche une source d'eau
+     * @param depart la case de départ
+     * @return le temps de trajet en secondes, ou Integer.MAX_VALUE si aucune source n'est accessible
+     */
+    public int getTempsVersSource(Robot robot, Case depart) {
+        return getChamp(robot).temps[carte.indexCase(depart)];
+    }
+
+    /**
+     * Retourne la prochaine direction à suivre pour rejoindre la source d'eau la plus proche.
+     *
+     * @param robot  le robot qui cherche une source d'eau
+     * @param depart la case de départ
+     * @return la direction à suivre, ou null si le robot peut déjà se remplir ou si aucune source n'est accessible
+     */
+    public Direction getDirectionVersSource(Robot robot, Case depart) {
+        int dir = getChamp(robot).direction[carte.indexCase(depart)];
+        return dir == OutilsGrille.AUCUNE_DIRECTION ? null : OutilsGrille.DIRECTIONS[dir];
+    }
+
+    /**
+     * Suit le champ depuis une case jusqu'à la source d'eau la plus proche.
+     *
+     * @param robot  le robot qui cherche une source d'eau
+     * @param depart la case de départ
+     * @return la liste des directions à suivre, ou null si aucune source n'est accessible
+     */
+    public List<Direction> getCheminVersSource(Robot robot, Case depart) {
+        Champ champ = getChamp(robot);
+        int courant = carte.indexCase(depart);
+        if (champ.source[courant] < 0) {
+            return null;
+        }
+        List<Direction> res = new ArrayList<>();
+        while (champ.direction[courant] != OutilsGrille.AUCUNE_DIRECTION) {
+            int dir = champ.direction[courant];
+            res.add(OutilsGrille.DIRECTIONS[dir]);
+            courant = OutilsGrille.voisin(courant, dir, carte.getNbLignes(), carte.getNbColones());
+        }
+        return res;
+    }
+
+    /**
+     * Marque tous les champs comme obsolètes : ils seront recalculés à leur prochaine utilisation.
+     */
+    @Override
+    public void natureModifiee(Case c, NatureTerrain ancienne) {
+        for (Champ champ : champs.values()) {
+            champ.obsolete = true;
+        }
+    }
+
+    private Champ getChamp(Robot robot) {
+        ProfilVitesse profil = robot.getProfilVitesse();
+        Champ champ = champs.get(profil);
+        if (champ == null) {
+            champ = new Champ(carte.getNbLignes() * carte.getNbColones());
+            champs.put(profil, champ);
+        }
+        if (champ.obsolete) {
+            calculer(champ, profil);
+        }
+        return champ;
+    }
+
+    /**
+     * Dijkstra inverse multi-sources : chaque case de remplissage est une source de temps nul,
+     * et l'on remonte vers les cases de départ possibles.
+     */
+    private void calculer(Champ champ, ProfilVitesse profil) {
+        int nbLignes = carte.getNbLignes();
+        int nbColones = carte.getNbColones();
+        int[] tempsTerrain = profil.tempsParTerrain(carte.getTailleCase());
+        Arrays.fill(champ.temps, Integer.MAX_VALUE);
+        Arrays.fill(champ.source, -1);
+        Arrays.fill(champ.direction, (byte) OutilsGrille.AUCUNE_DIRECTION);
+
+        TasMinimum tas = new TasMinimum(nbLignes + nbColones);
+        for (Case sourceEau : carte.getSourceEauList()) {
+            int indexSource = carte.indexCase(sourceEau);
+            if (profil.estPraticable(NatureTerrain.EAU)) {
+                initialiser(champ, tas, indexSource, indexSource);
+            } else {
+                for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+                    int v = OutilsGrille.voisin(indexSource, dir, nbLignes, nbColones);
+                    if (v >= 0 && profil.estPraticable(nature(v))) {
+                        initialiser(champ, tas, v, indexSource);
+                    }
+                }
+            }
+        }
+
+        while (!tas.estVide()) {
+            int t = tas.cleMin();
+            int u = tas.retirerMin();
+            if (t > champ.temps[u]) {
+                continue; // entrée périmée
+            }
+            // aller de v vers u coûte la traversée de u
+            int cout = tempsTerrain[nature(u).ordinal()];
+            for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+                int v = OutilsGrille.voisin(u, dir, nbLignes, nbColones);
+                if (v < 0 || !profil.estPraticable(nature(v))) {
+                    continue;
+                }
+                int nouveau = t + cout;
+                if (nouveau < champ.temps[v]) {
+                    champ.temps[v] = nouveau;
+                    champ.source[v] = champ.source[u];
+                    champ.direction[v] = (byte) OutilsGrille.opposee(dir);
+                    tas.ajouter(v, nouveau);
+                }
+            }
+        }
+        champ.obsolete = false;
+    }
+
+    private void initialiser(Champ champ, TasMinimum tas, int index, int indexSource) {
+        if (champ.temps[index] != 0) {
+            champ.temps[index] = 0;
+            champ.source[index] = indexSource;
+            tas.ajouter(index, 0);
+        }
+    }
+
+    private NatureTerrain nature(int index) {
+        return carte.getNature(index);
+    }
+
+    /**
+     * Champ de distance d'un profil de vitesse, stocké dans des tableaux indexés par case.
+     */
+    private static final class Champ {
+        private final int[] temps; // Temps de trajet vers la source la plus proche
+        private final int[] source; // Indice de la source d'eau la plus proche, -1 si inaccessible
+        private final byte[] direction; // Prochaine direction à suivre, AUCUNE_DIRECTION sur une case de remplissage
+        private boolean obsolete = true;
+
+        private Champ(int nbCases) {
+            this.temps = new int[nbCases];
+            this.source = new int[nbCases];
+            this.direction = new byte[nbCases];
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package simulation.chemin;
+
+import simulation.environment.Direction;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Résultat d'une recherche de chemin : la suite des directions à suivre et le temps de trajet.
+ */
+public class Chemin {
+    /** Résultat d'une recherche sans chemin possible. */
+    public static final Chemin INTROUVABLE = new Chemin(null, Integer.MAX_VALUE);
+
+    private final List<Direction> directions; // Directions à suivre, null si la cible est inaccessible
+    private final int temps; // Temps de trajet en secondes
+
+    /**
+     * Constructeur de la classe Chemin.
+     *
+     * @param directions la liste des directions à suivre, ou null si aucun chemin n'existe
+     * @param temps      le temps de trajet en secondes
+     */
+    public Chemin(List<Direction> directions, int temps) {
+        this.directions = directions == null ? null : Collections.unmodifiableList(directions);
+        this.temps = temps;
+    }
+
+    /**
+     * Retourne la liste des directions du chemin.
+     *
+     * @return les directions à suivre, ou null si la cible est inaccessible
+     */
+    public List<Direction> getDirections() {
+        return directions;
+    }
+
+    /**
+     * Retourne le temps de trajet.
+     *
+     * @return le temps en secondes, Integer.MAX_VALUE si la cible est inaccessible
+     */
+    public int getTemps() {
+        return temps;
+    }
+
+    /**
+     * Indique si un chemin a été trouvé.
+     *
+     * @return true si la cible est accessible
+     */
+    public boolean estTrouve() {
+        return directions != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Chemin{temps=" + temps + ", directions=" + directions + '}';
+    }
+}
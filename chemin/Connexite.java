@@ -0,0 +1,257 @@
+package simulation.chemin;
+
+import simulation.environment.Carte;
+import simulation.environment.Case;
+import simulation.environment.NatureTerrain;
+import simulation.environment.ObservateurTerrain;
+import simulation.robot.ProfilVitesse;
+import simulation.robot.Robot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Masques de cases praticables et composantes connexes de la carte, par profil de vitesse.
+ * Permet de savoir en O(1) si une cible est accessible à un robot, avant toute recherche de chemin.
+ *
+ * Les composantes sont tenues à jour à chaque changement de nature d'une case : une case devenue
+ * praticable rejoint ou fusionne les composantes voisines (la plus petite est renumérotée) ;
+ * une case devenue impraticable qui pourrait couper une composante provoque un réétiquetage
+ * complet, différé jusqu'à la prochaine requête.
+ */
+public class Connexite implements ObservateurTerrain {
+    private static final int AUCUNE = -1;
+
+    private final Carte carte;
+    private final int nbLignes;
+    private final int nbColones;
+    private final Map<ProfilVitesse, Composantes> composantes = new HashMap<>();
+    private final int[] file; // File de parcours en largeur, partagée entre les profils
+
+    /**
+     * Constructeur de la classe Connexite.
+     *
+     * @param carte la carte de la simulation
+     */
+    public Connexite(Carte carte) {
+        this.carte = carte;
+        this.nbLignes = carte.getNbLignes();
+        this.nbColones = carte.getNbColones();
+        this.file = new int[nbLignes * nbColones];
+        carte.addObservateur(this);
+    }
+
+    /**
+     * Indique si un robot peut atteindre une case depuis sa position actuelle.
+     * Une cible impraticable pour le robot est accessible s'il peut rejoindre l'une de ses voisines.
+     *
+     * @param robot le robot
+     * @param cible la case à atteindre
+     * @return true si un chemin existe
+     */
+    public boolean estAccessible(Robot robot, Case cible) {
+        Composantes c = getComposantes(robot.getProfilVitesse());
+        int depart = carte.indexCase(robot.getPosition());
+        int arrivee = carte.indexCase(cible);
+        if (depart == arrivee) {
+            return true;
+        }
+        if (c.praticable.get(depart)) {
+            return atteint(c, c.etiquette[depart], arrivee);
+        }
+        // robot sur une case impraticable : il peut en sortir vers n'importe quelle voisine praticable
+        for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+            int v = OutilsGrille.voisin(depart, dir, nbLignes, nbColones);
+            if (v >= 0 && c.etiquette[v] != AUCUNE && atteint(c, c.etiquette[v], arrivee)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean atteint(Composantes c, int composante, int arrivee) {
+        if (c.praticable.get(arrivee)) {
+            return c.etiquette[arrivee] == composante;
+        }
+        for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+            int v = OutilsGrille.voisin(arrivee, dir, nbLignes, nbColones);
+            if (v >= 0 && c.etiquette[v] == composante) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indique si une case est praticable pour un robot.
+     *
+     * @param robot le robot
+     * @param c     la case
+     * @return true si le robot peut traverser la case
+     */
+    public boolean estPraticable(Robot robot, Case c) {
+        return getComposantes(robot.getProfilVitesse()).praticable.get(carte.indexCase(c));
+    }
+
+    /**
+     * Retourne le numéro de composante connexe d'une case pour un robot.
+     *
+     * @param robot le robot
+     * @param c     la case
+     * @return le numéro de composante, ou -1 si la case est impraticable
+     */
+    public int getComposante(Robot robot, Case c) {
+        return getComposantes(robot.getProfilVitesse()).etiquette[carte.indexCase(c)];
+    }
+
+    @Override
+    public void natureModifiee(Case c, NatureTerrain ancienne) {
+        int index = carte.indexCase(c);
+        NatureTerrain nouvelle = c.getNature();
+        for (Map.Entry<ProfilVitesse, Composantes> e : composantes.entrySet()) {
+            ProfilVitesse profil = e.getKey();
+            Composantes comp = e.getValue();
+            boolean avant = profil.estPraticable(ancienne);
+            boolean apres = profil.estPraticable(nouvelle);
+            if (avant == apres || comp.obsolete) {
+                continue;
+            }
+            if (apres) {
+                comp.ouvrir(index);
+            } else {
+                comp.fermer(index);
+            }
+        }
+    }
+
+    private Composantes getComposantes(ProfilVitesse profil) {
+        Composantes c = composantes.get(profil);
+        if (c == null) {
+            c = new Composantes(profil);
+            composantes.put(profil, c);
+        }
+        if (c.obsolete) {
+            c.etiqueter();
+        }
+        return c;
+    }
+
+    /**
+     * Masque et étiquetage en composantes connexes pour un profil.
+     */
+    private final class Composantes {
+        private final ProfilVitesse profil;
+        private final BitSet praticable;
+        private final int[] etiquette; // Numéro de composante de chaque case, AUCUNE si impraticable
+        private final ArrayList<Integer> tailles = new ArrayList<>(); // Nombre de cases de chaque composante
+        private boolean obsolete = true;
+
+        private Composantes(ProfilVitesse profil) {
+            int nbCases = nbLignes * nbColones;
+            this.profil = profil;
+            this.praticable = new BitSet(nbCases);
+            this.etiquette = new int[nbCases];
+        }
+
+        /**
+         * Recalcule le masque et l'ensemble des composantes.
+         */
+        private void etiqueter() {
+            int nbCases = etiquette.length;
+            praticable.clear();
+            for (int i = 0; i < nbCases; i++) {
+                if (profil.estPraticable(carte.getNature(i))) {
+                    praticable.set(i);
+                }
+            }
+            Arrays.fill(etiquette, AUCUNE);
+            tailles.clear();
+            for (int i = praticable.nextSetBit(0); i >= 0; i = praticable.nextSetBit(i + 1)) {
+                if (etiquette[i] == AUCUNE) {
+                    tailles.add(0);
+                    remplir(i, tailles.size() - 1);
+                }
+            }
+            obsolete = false;
+        }
+
+        /**
+         * Une case devient praticable : elle crée, rejoint ou fusionne des composantes.
+         */
+        private void ouvrir(int index) {
+            praticable.set(index);
+            int plusGrande = AUCUNE;
+            for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+                int v = OutilsGrille.voisin(index, dir, nbLignes, nbColones);
+                if (v >= 0 && etiquette[v] != AUCUNE
+                        && (plusGrande == AUCUNE || tailles.get(etiquette[v]) > tailles.get(plusGrande))) {
+                    plusGrande = etiquette[v];
+                }
+            }
+            if (plusGrande == AUCUNE) {
+                tailles.add(1);
+                etiquette[index] = tailles.size() - 1;
+                return;
+            }
+            etiquette[index] = plusGrande;
+            tailles.set(plusGrande, tailles.get(plusGrande) + 1);
+            for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+                int v = OutilsGrille.voisin(index, dir, nbLignes, nbColones);
+                if (v >= 0 && etiquette[v] != AUCUNE && etiquette[v] != plusGrande) {
+                    int absorbee = etiquette[v];
+                    remplir(v, plusGrande);
+                    tailles.set(absorbee, 0);
+                }
+            }
+        }
+
+        /**
+         * Une case devient impraticable : la composante ne peut se couper que si la case
+         * avait au moins deux voisines praticables.
+         */
+        private void fermer(int index) {
+            int ancienne = etiquette[index];
+            praticable.clear(index);
+            etiquette[index] = AUCUNE;
+            int nbVoisines = 0;
+            for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+                int v = OutilsGrille.voisin(index, dir, nbLignes, nbColones);
+                if (v >= 0 && praticable.get(v)) {
+                    nbVoisines++;
+                }
+            }
+            if (nbVoisines >= 2) {
+                obsolete = true;
+            } else if (ancienne != AUCUNE) {
+                tailles.set(ancienne, tailles.get(ancienne) - 1);
+            }
+        }
+
+        /**
+         * Parcours en largeur depuis une case, en donnant l'étiquette à toutes les cases
+         * praticables atteintes qui ne la portent pas encore.
+         */
+        private void remplir(int depart, int numero) {
+            int debut = 0;
+            int fin = 0;
+            file[fin++] = depart;
+            etiquette[depart] = numero;
+            int ajoutees = 1;
+            while (debut < fin) {
+                int u = file[debut++];
+                for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+                    int v = OutilsGrille.voisin(u, dir, nbLignes, nbColones);
+                    if (v >= 0 && praticable.get(v) && etiquette[v] != numero) {
+                        etiquette[v] = numero;
+                        file[fin++] = v;
+                        ajoutees++;
+                    }
+                }
+            }
+            tailles.set(numero, tailles.get(numero) + ajoutees);
+        }
+    }
+}
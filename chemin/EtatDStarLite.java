@@ -0,0 +1,466 @@
+package simulation.chemin;
+
+import simulation.environment.Carte;
+import simulation.environment.CaseState;
+import simulation.environment.Direction;
+import simulation.robot.ProfilVitesse;
+import simulation.robot.Robot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * État de recherche D* Lite d'un robot vers une cible.
+ *
+ * La recherche part de la cible et remonte vers la position du robot : g et rhs sont les temps
+ * jusqu'à la cible. Quand le coût d'une case change, seules les cases voisines sont remises en cause,
+ * et {@link #calculer()} ne développe que les noeuds dont la valeur change ; quand le robot avance,
+ * le décalage km maintient la cohérence des clés sans vider la file.
+ *
+ * Le coût d'une case est son temps de traversée ; une case occupée par un autre robot est infranchissable,
+ * sauf si c'est une cible. L'occupation est aussi vérifiée par la recherche elle-même, sans dépendre des
+ * robots observés : les cases vues occupées sont réexaminées à chaque calcul, et une case trouvée occupée
+ * pour la première fois (pendant la réparation ou en descendant le chemin) est traitée comme un changement
+ * de coût avant que le chemin ne soit retourné. Comme pour {@link RechercheAStar}, une cible que le robot ne peut pas
+ * traverser est atteinte depuis une case voisine. Les noeuds ne sont créés qu'une fois touchés par la
+ * recherche, dans une table de hachage propre au robot : la mémoire est proportionnelle à la zone explorée.
+ */
+class EtatDStarLite {
+    private static final int INFINI = Integer.MAX_VALUE / 2;
+    private static final int ABSENT = -1;
+    private static final long HORS_FILE = -1;
+
+    private final Carte carte;
+    private final Robot robot;
+    private final int nbLignes;
+    private final int nbColones;
+    private final int cible;
+    private final int[] tempsTerrain; // Temps de traversée par ordinal de nature
+    private final int tempsMin; // Temps de traversée minimal, pour l'heuristique
+    private final int[] buts; // Cases où la recherche s'arrête (rhs = 0)
+
+    // Noeuds, numérotés dans l'ordre de création
+    private int[] caseDe = new int[64];
+    private int[] g = new int[64];
+    private int[] rhs = new int[64];
+    private long[] cleEnFile = new long[64]; // Clé sous laquelle le noeud est dans la file, HORS_FILE sinon
+    private int nbNoeuds;
+    private int[] table = new int[128]; // Hachage ouvert case -> numéro de noeud + 1
+
+    // File de priorité à suppression paresseuse : une entrée est périmée si sa clé n'est plus cleEnFile
+    private long[] tasCles = new long[64];
+    private int[] tasNoeuds = new int[64];
+    private int tailleTas;
+
+    private final List<Integer> casesModifiees = new ArrayList<>(); // Changements de coût à appliquer
+    private final Set<Integer> occupeesVues = new HashSet<>(); // Cases comptées infranchissables car occupées
+    private int depart; // Position du robot lors du dernier calcul
+    private long km; // Somme des heuristiques entre départs successifs
+    private int nbNoeudsExplores;
+
+    /**
+     * Initialise la recherche d'un robot vers une case.
+     *
+     * @param carte  la carte
+     * @param robot  le robot
+     * @param cible  indice de la case cible
+     */
+    EtatDStarLite(Carte carte, Robot robot, int cible) {
+        this.carte = carte;
+        this.robot = robot;
+        this.nbLignes = carte.getNbLignes();
+        this.nbColones = carte.getNbColones();
+        this.cible = cible;
+        ProfilVitesse profil = robot.getProfilVitesse();
+        this.tempsTerrain = profil.tempsParTerrain(carte.getTailleCase());
+        this.tempsMin = profil.tempsTraverseeMin(carte.getTailleCase());
+        this.depart = carte.indexCase(robot.getPosition());
+
+        if (profil.estPraticable(carte.getNature(cible))) {
+            buts = new int[]{cible};
+        } else {
+            int[] voisins = new int[OutilsGrille.DIRECTIONS.length + 1];
+            int n = 0;
+            voisins[n++] = cible;
+            for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+                int v = OutilsGrille.voisin(cible, dir, nbLignes, nbColones);
+                if (v >= 0) {
+                    voisins[n++] = v;
+                }
+            }
+            buts = Arrays.copyOf(voisins, n);
+        }
+        for (int but : buts) {
+            int u = noeud(but);
+            rhs[u] = 0;
+            inserer(u);
+        }
+    }
+
+    /**
+     * Retourne l'indice de la case cible.
+     *
+     * @return la cible
+     */
+    int getCible() {
+        return cible;
+    }
+
+    /**
+     * Signale que le coût d'une case a changé (nature ou occupation) ; pris en compte au prochain calcul.
+     *
+     * @param index indice de la case
+     */
+    void caseModifiee(int index) {
+        casesModifiees.add(index);
+    }
+
+    /**
+     * Indique si la recherche a déjà touché une case ou l'une de ses voisines, c'est-à-dire si un changement
+     * de coût de cette case peut la concerner.
+     *
+     * @param index indice de la case
+     * @return true si la case ou une voisine est un noeud de la recherche
+     */
+    boolean concerne(int index) {
+        if (trouver(index) != ABSENT) {
+            return true;
+        }
+        for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+            int v = OutilsGrille.voisin(index, dir, nbLignes, nbColones);
+            if (v >= 0 && trouver(v) != ABSENT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retourne le nombre de noeuds développés lors du dernier calcul.
+     *
+     * @return le nombre de noeuds explorés
+     */
+    int getNbNoeudsExplores() {
+        return nbNoeudsExplores;
+    }
+
+    /**
+     * Met à jour la recherche (déplacement du robot, changements de coût signalés) et retourne
+     * le plus court chemin depuis la position actuelle du robot.
+     *
+     * @return le chemin, ou {@link Chemin#INTROUVABLE}
+     */
+    Chemin calculer() {
+        nbNoeudsExplores = 0;
+        int nouveauDepart = carte.indexCase(robot.getPosition());
+        if (nouveauDepart != depart) {
+            km += heuristique(depart, nouveauDepart);
+            casesModifiees.add(depart); // l'ancienne et la nouvelle case du robot changent d'occupation
+            casesModifiees.add(nouveauDepart);
+            depart = nouveauDepart;
+        }
+        for (Iterator<Integer> it = occupeesVues.iterator(); it.hasNext(); ) {
+            int x = it.next();
+            if (carte.getState(x) != CaseState.OCCUPIED) { // libérée par un robot qui n'est pas observé
+                it.remove();
+                casesModifiees.add(x);
+            }
+        }
+        while (true) {
+            appliquerModifications();
+            reparer();
+            Chemin chemin = extraire();
+            if (casesModifiees.isEmpty()) {
+                return chemin;
+            }
+            // des cases occupées par des robots non observés ont été découvertes : le chemin est à réparer
+        }
+    }
+
+    /**
+     * Remet en cause les voisines des cases dont le coût a changé. Les cases découvertes occupées
+     * pendant la mise à jour sont ajoutées à la liste et traitées dans la même passe.
+     */
+    private void appliquerModifications() {
+        for (int i = 0; i < casesModifiees.size(); i++) {
+            int x = casesModifiees.get(i);
+            for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+                int v = OutilsGrille.voisin(x, dir, nbLignes, nbColones);
+                if (v >= 0) {
+                    mettreAJour(v);
+                }
+            }
+        }
+        casesModifiees.clear();
+    }
+
+    /**
+     * Développe les noeuds incohérents jusqu'à ce que le départ soit cohérent.
+     */
+    private void reparer() {
+        int s = noeud(depart);
+        while (true) {
+            long cleMin = cleMin();
+            if (tailleTas == 0 || cleMin >= cle(s) && rhs[s] <= g[s]) {
+                break;
+            }
+            int u = tasNoeuds[0];
+            long ancienne = cleEnFile[u];
+            retirerMin();
+            cleEnFile[u] = HORS_FILE;
+            long nouvelle = cle(u);
+            if (ancienne < nouvelle) {
+                inserer(u);
+            } else if (g[u] > rhs[u]) {
+                nbNoeudsExplores++;
+                g[u] = rhs[u];
+                mettreAJourPredecesseurs(caseDe[u]);
+            } else {
+                nbNoeudsExplores++;
+                g[u] = INFINI;
+                mettreAJour(caseDe[u]);
+                mettreAJourPredecesseurs(caseDe[u]);
+            }
+        }
+    }
+
+    /**
+     * Descend les valeurs g depuis le départ jusqu'à un but. S'arrête dès qu'une case occupée
+     * non encore vue est découverte : elle est alors dans la liste des cases modifiées.
+     */
+    private Chemin extraire() {
+        int courant = depart;
+        int u = trouver(courant);
+        if (u == ABSENT || Math.min(g[u], rhs[u]) >= INFINI) { // le départ peut rester surcohérent (g > rhs)
+            return Chemin.INTROUVABLE;
+        }
+        List<Direction> directions = new ArrayList<>();
+        long temps = 0;
+        while (!estBut(courant)) {
+            int meilleur = -1;
+            int meilleureDir = -1;
+            long meilleurCout = INFINI;
+            for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+                int v = OutilsGrille.voisin(courant, dir, nbLignes, nbColones);
+                if (v < 0) {
+                    continue;
+                }
+                long c = (long) cout(v) + valeurG(v);
+                if (c < meilleurCout) {
+                    meilleurCout = c;
+                    meilleur = v;
+                    meilleureDir = dir;
+                }
+            }
+            if (!casesModifiees.isEmpty() || meilleur < 0 || directions.size() > nbNoeuds) {
+                return Chemin.INTROUVABLE;
+            }
+            directions.add(OutilsGrille.DIRECTIONS[meilleureDir]);
+            temps += cout(meilleur);
+            courant = meilleur;
+        }
+        return new Chemin(directions, (int) Math.min(temps, Integer.MAX_VALUE));
+    }
+
+    private void mettreAJourPredecesseurs(int index) {
+        for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+            int v = OutilsGrille.voisin(index, dir, nbLignes, nbColones);
+            if (v >= 0) {
+                mettreAJour(v);
+            }
+        }
+    }
+
+    /**
+     * Recalcule rhs d'une case à partir de ses successeurs et la remet dans la file si elle est incohérente.
+     */
+    private void mettreAJour(int index) {
+        if (estBut(index)) {
+            return;
+        }
+        int meilleur = INFINI;
+        for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+            int v = OutilsGrille.voisin(index, dir, nbLignes, nbColones);
+            if (v >= 0) {
+                meilleur = (int) Math.min(meilleur, (long) cout(v) + valeurG(v));
+            }
+        }
+        int u = trouver(index);
+        if (u == ABSENT) {
+            if (meilleur >= INFINI) {
+                return; // noeud vierge resté à l'infini : inutile de le créer
+            }
+            u = noeud(index);
+        }
+        rhs[u] = meilleur;
+        cleEnFile[u] = HORS_FILE;
+        if (g[u] != rhs[u]) {
+            inserer(u);
+        }
+    }
+
+    private boolean estBut(int index) {
+        for (int but : buts) {
+            if (but == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Temps pour entrer dans une case, INFINI si elle est impraticable ou occupée par un autre robot.
+     * Une case occupée vue pour la première fois est signalée comme changement de coût.
+     */
+    private int cout(int index) {
+        int temps = tempsTerrain[carte.getNature(index).ordinal()];
+        if (temps == Integer.MAX_VALUE) {
+            return INFINI;
+        }
+        if (index != depart && !estBut(index) && carte.getState(index) == CaseState.OCCUPIED) {
+            if (occupeesVues.add(index)) {
+                casesModifiees.add(index);
+            }
+            return INFINI;
+        }
+        return temps;
+    }
+
+    private int valeurG(int index) {
+        int u = trouver(index);
+        return u == ABSENT ? INFINI : g[u];
+    }
+
+    private int heuristique(int a, int b) {
+        return (int) Math.min(INFINI, (long) OutilsGrille.manhattan(a, b, nbLignes) * tempsMin);
+    }
+
+    /**
+     * Clé D* Lite d'un noeud, les deux composantes empaquetées pour l'ordre lexicographique.
+     */
+    private long cle(int u) {
+        long m = Math.min(g[u], rhs[u]);
+        long k1 = Math.min(Integer.MAX_VALUE, m + heuristique(depart, caseDe[u]) + km);
+        return (k1 << 32) | m;
+    }
+
+    // --- Table des noeuds ---
+
+    private int trouver(int index) {
+        int masque = table.length - 1;
+        for (int i = melange(index) & masque; ; i = (i + 1) & masque) {
+            int n = table[i];
+            if (n == 0) {
+                return ABSENT;
+            }
+            if (caseDe[n - 1] == index) {
+                return n - 1;
+            }
+        }
+    }
+
+    private int noeud(int index) {
+        int u = trouver(index);
+        if (u != ABSENT) {
+            return u;
+        }
+        if (nbNoeuds == caseDe.length) {
+            int capacite = caseDe.length * 2;
+            caseDe = Arrays.copyOf(caseDe, capacite);
+            g = Arrays.copyOf(g, capacite);
+            rhs = Arrays.copyOf(rhs, capacite);
+            cleEnFile = Arrays.copyOf(cleEnFile, capacite);
+        }
+        u = nbNoeuds++;
+        caseDe[u] = index;
+        g[u] = INFINI;
+        rhs[u] = INFINI;
+        cleEnFile[u] = HORS_FILE;
+        if (2 * nbNoeuds > table.length) {
+            table = new int[table.length * 2];
+            for (int n = 0; n < nbNoeuds; n++) {
+                placer(n);
+            }
+        } else {
+            placer(u);
+        }
+        return u;
+    }
+
+    private void placer(int u) {
+        int masque = table.length - 1;
+        int i = melange(caseDe[u]) & masque;
+        while (table[i] != 0) {
+            i = (i + 1) & masque;
+        }
+        table[i] = u + 1;
+    }
+
+    private static int melange(int x) {
+        x *= 0x9E3779B9;
+        return x ^ (x >>> 16);
+    }
+
+    // --- File de priorité ---
+
+    private void inserer(int u) {
+        long c = cle(u);
+        cleEnFile[u] = c;
+        if (tailleTas == tasCles.length) {
+            tasCles = Arrays.copyOf(tasCles, tailleTas * 2);
+            tasNoeuds = Arrays.copyOf(tasNoeuds, tailleTas * 2);
+        }
+        int i = tailleTas++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (tasCles[parent] <= c) {
+                break;
+            }
+            tasCles[i] = tasCles[parent];
+            tasNoeuds[i] = tasNoeuds[parent];
+            i = parent;
+        }
+        tasCles[i] = c;
+        tasNoeuds[i] = u;
+    }
+
+    /**
+     * Retourne la plus petite clé valide de la file, en éliminant les entrées périmées.
+     */
+    private long cleMin() {
+        while (tailleTas > 0 && tasCles[0] != cleEnFile[tasNoeuds[0]]) {
+            retirerMin();
+        }
+        return tailleTas == 0 ? Long.MAX_VALUE : tasCles[0];
+    }
+
+    private void retirerMin() {
+        tailleTas--;
+        long c = tasCles[tailleTas];
+        int u = tasNoeuds[tailleTas];
+        int i = 0;
+        while (true) {
+            int fils = 2 * i + 1;
+            if (fils >= tailleTas) {
+                break;
+            }
+            if (fils + 1 < tailleTas && tasCles[fils + 1] < tasCles[fils]) {
+                fils++;
+            }
+            if (tasCles[fils] >= c) {
+                break;
+            }
+            tasCles[i] = tasCles[fils];
+            tasNoeuds[i] = tasNoeuds[fils];
+            i = fils;
+        }
+        if (tailleTas > 0) {
+            tasCles[i] = c;
+            tasNoeuds[i] = u;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package simulation.chemin;
+
+import simulation.environment.Carte;
+import simulation.environment.Case;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Index spatial par grille de seaux : la carte est découpée en carrés de taille fixe
+ * et chaque élément est rangé dans le seau qui contient sa position.
+ *
+ * Un parcours depuis une case rend les éléments par distance de Manhattan croissante,
+ * en n'ouvrant les seaux que couronne par couronne. Multipliée par le temps minimal de
+ * traversée d'une case, cette distance est une borne inférieure du temps de trajet :
+ * l'appelant peut arrêter ses recherches exactes dès que la borne dépasse son meilleur résultat.
+ *
+ * @param <T> le type des éléments indexés
+ */
+public class IndexSpatial<T> {
+    private final int tailleSeau;
+    private final int nbSeauxX; // Nombre de seaux en colonnes
+    private final int nbSeauxY; // Nombre de seaux en lignes
+    private final List<List<Element<T>>> seaux;
+    private final Map<T, Element<T>> elements = new HashMap<>();
+
+    /**
+     * Constructeur de la classe IndexSpatial.
+     *
+     * @param carte      la carte de la simulation
+     * @param tailleSeau la taille (en cases) du côté d'un seau
+     */
+    public IndexSpatial(Carte carte, int tailleSeau) {
+        this.tailleSeau = tailleSeau;
+        this.nbSeauxX = (carte.getNbColones() + tailleSeau - 1) / tailleSeau;
+        this.nbSeauxY = (carte.getNbLignes() + tailleSeau - 1) / tailleSeau;
+        this.seaux = new ArrayList<>(nbSeauxX * nbSeauxY);
+        for (int i = 0; i < nbSeauxX * nbSeauxY; i++) {
+            seaux.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Ajoute un élément à l'index, ou le déplace s'il y est déjà.
+     *
+     * @param element  l'élément
+     * @param position sa position
+     */
+    public void ajouter(T element, Case position) {
+        Element<T> e = elements.get(element);
+        if (e != null) {
+            deplacer(e, position);
+            return;
+        }
+        e = new Element<>(element, position.getColonne(), position.getLigne());
+        elements.put(element, e);
+        seaux.get(seau(e.colonne, e.ligne)).add(e);
+    }
+
+    /**
+     * Met à jour la position d'un élément indexé. Sans effet si l'élément n'est pas indexé.
+     *
+     * @param element  l'élément
+     * @param position sa nouvelle position
+     */
+    public void deplacer(T element, Case position) {
+        Element<T> e = elements.get(element);
+        if (e != null) {
+            deplacer(e, position);
+        }
+    }
+
+    /**
+     * Retire un élément de l'index.
+     *
+     * @param element l'élément à retirer
+     */
+    public void retirer(T element) {
+        Element<T> e = elements.remove(element);
+        if (e != null) {
+            seaux.get(seau(e.colonne, e.ligne)).remove(e);
+        }
+    }
+
+    /**
+     * Indique si un élément est indexé.
+     *
+     * @param element l'élément
+     * @return true s'il est présent dans l'index
+     */
+    public boolean contient(T element) {
+        return elements.containsKey(element);
+    }
+
+    /**
+     * Retourne le nombre d'éléments indexés.
+     *
+     * @return la taille de l'index
+     */
+    public int getTaille() {
+        return elements.size();
+    }
+
+    /**
+     * Commence un parcours des éléments par distance de Manhattan croissante depuis une case.
+     * L'index ne doit pas être modifié pendant le parcours.
+     *
+     * @param depart la case de départ
+     * @return le parcours
+     */
+    public Parcours<T> parcourir(Case depart) {
+        return new Parcours<>(this, depart.getColonne(), depart.getLigne());
+    }
+
+    private void deplacer(Element<T> e, Case position) {
+        int ancien = seau(e.colonne, e.ligne);
+        int nouveau = seau(position.getColonne(), position.getLigne());
+        e.colonne = position.getColonne();
+        e.ligne = position.getLigne();
+        if (ancien != nouveau) {
+            seaux.get(ancien).remove(e);
+            seaux.get(nouveau).add(e);
+        }
+    }
+
+    private int seau(int col, int lig) {
+        return (col / tailleSeau) * nbSeauxY + lig / tailleSeau;
+    }
+
+    /**
+     * Parcours des éléments par distance croissante : les seaux sont ouverts par couronnes
+     * concentriques autour du seau de départ, et un élément n'est rendu que lorsqu'aucun seau
+     * encore fermé ne peut contenir d'élément plus proche.
+     *
+     * @param <T> le type des éléments indexés
+     */
+    public static final class Parcours<T> {
+        private final IndexSpatial<T> index;
+        private final int colonne;
+        private final int ligne;
+        private final int seauX;
+        private final int seauY;
+        private final int couronneMax;
+        private final PriorityQueue<long[]> candidats = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        private final List<Element<T>> ouverts = new ArrayList<>();
+        private int couronne; // Prochaine couronne à ouvrir
+        private int distance; // Distance du dernier élément rendu
+
+        private Parcours(IndexSpatial<T> index, int colonne, int ligne) {
+            this.index = index;
+            this.colonne = colonne;
+            this.ligne = ligne;
+            this.seauX = colonne / index.tailleSeau;
+            this.seauY = ligne / index.tailleSeau;
+            this.couronneMax = Math.max(Math.max(seauX, index.nbSeauxX - 1 - seauX),
+                    Math.max(seauY, index.nbSeauxY - 1 - seauY));
+        }
+
+        /**
+         * Indique s'il reste des éléments à parcourir.
+         *
+         * @return true si un appel à {@link #suivant()} rendra un élément
+         */
+        public boolean aSuivant() {
+            ouvrirCouronnes();
+            return !candidats.isEmpty();
+        }
+
+        /**
+         * Retourne la distance de Manhattan minimale des éléments restants, sans les rendre.
+         *
+         * @return la distance du prochain élément, ou Integer.MAX_VALUE s'il n'en reste aucun
+         */
+        public int distanceSuivante() {
+            return aSuivant() ? (int) candidats.peek()[0] : Integer.MAX_VALUE;
+        }
+
+        /**
+         * Rend l'élément restant le plus proche.
+         *
+         * @return l'élément, ou null s'il n'en reste aucun
+         */
+        public T suivant() {
+            if (!aSuivant()) {
+                return null;
+            }
+            long[] c = candidats.poll();
+            distance = (int) c[0];
+            return ouverts.get((int) c[1]).valeur;
+        }
+
+        /**
+         * Retourne la distance de Manhattan (en cases) du dernier élément rendu.
+         *
+         * @return la distance du dernier élément
+         */
+        public int getDistance() {
+            return distance;
+        }
+
+        /**
+         * Ouvre les couronnes tant que le meilleur candidat connu n'est pas garanti
+         * plus proche que tout élément des couronnes encore fermées.
+         */
+        private void ouvrirCouronnes() {
+            while (couronne <= couronneMax
+                    && (candidats.isEmpty() || candidats.peek()[0] > distanceMinCouronne(couronne))) {
+                ouvrirCouronne(couronne++);
+            }
+        }
+
+        private int distanceMinCouronne(int c) {
+            return c == 0 ? 0 : (c - 1) * index.tailleSeau + 1;
+        }
+
+        private void ouvrirCouronne(int c) {
+            for (int x = seauX - c; x <= seauX + c; x++) {
+                if (x < 0 || x >= index.nbSeauxX) {
+                    continue;
+                }
+                boolean bord = x == seauX - c || x == seauX + c;
+                int pas = bord ? 1 : Math.max(1, 2 * c);
+                for (int y = seauY - c; y <= seauY + c; y += pas) {
+                    if (y >= 0 && y < index.nbSeauxY) {
+                        for (Element<T> e : index.seaux.get(x * index.nbSeauxY + y)) {
+                            long d = Math.abs(e.colonne - colonne) + Math.abs(e.ligne - ligne);
+                            candidats.add(new long[]{d, ouverts.size()});
+                            ouverts.add(e);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Élément indexé avec sa position.
+     */
+    private static final class Element<T> {
+        private final T valeur;
+        private int colonne;
+        private int ligne;
+
+        private Element(T valeur, int colonne, int ligne) {
+            this.valeur = valeur;
+            this.colonne = colonne;
+            this.ligne = ligne;
+        }
+    }
+}
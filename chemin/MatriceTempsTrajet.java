@@ -0,0 +1,111 @@
+package simulation.chemin;
+
+import simulation.environment.Carte;
+import simulation.environment.Case;
+import simulation.robot.Robot;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Calcul parallèle de la matrice des temps de trajet entre un ensemble de robots et un ensemble de cases.
+ * Chaque ligne de la matrice est une recherche de Dijkstra multi-cibles indépendante ; les lignes sont
+ * réparties sur un ForkJoinPool. Chaque thread du pool utilise son propre moteur de recherche
+ * (et donc ses propres tableaux de travail), alloué une seule fois.
+ *
+ * La carte ne doit pas être modifiée pendant un calcul.
+ */
+public class MatriceTempsTrajet {
+    private static final int SEUIL_DECOUPAGE = 2; // Nombre de lignes en dessous duquel une tâche n'est plus découpée
+
+    private final ForkJoinPool pool;
+    private final ThreadLocal<RechercheDijkstra> recherches;
+
+    /**
+     * Constructeur de la classe MatriceTempsTrajet.
+     *
+     * @param carte la carte de la simulation
+     * @param pool  le pool de threads sur lequel répartir les recherches
+     */
+    public MatriceTempsTrajet(Carte carte, ForkJoinPool pool) {
+        this.pool = pool;
+        this.recherches = ThreadLocal.withInitial(() -> new RechercheDijkstra(carte));
+    }
+
+    /**
+     * Calcule le temps de trajet de chaque robot vers chaque cible.
+     *
+     * @param robots les robots, dont la position sert de départ
+     * @param cibles les cases cibles
+     * @return la matrice temps[robot][cible], Integer.MAX_VALUE si la cible est inaccessible
+     */
+    public int[][] calculer(List<? extends Robot> robots, List<Case> cibles) {
+        return calculer(robots, cibles, null);
+    }
+
+    /**
+     * Calcule le temps de trajet de chaque robot vers chaque cible, en écartant avant toute recherche
+     * les cibles hors de la composante connexe du robot.
+     *
+     * @param robots    les robots, dont la position sert de départ
+     * @param cibles    les cases cibles
+     * @param connexite la connexité de la carte, ou null pour ne rien écarter
+     * @return la matrice temps[robot][cible], Integer.MAX_VALUE si la cible est inaccessible
+     */
+    public int[][] calculer(List<? extends Robot> robots, List<Case> cibles, Connexite connexite) {
+        int[][] temps = new int[robots.size()][];
+        if (robots.isEmpty()) {
+            return temps;
+        }
+        boolean[][] accessibles = null;
+        if (connexite != null) {
+            // la connexité n'est pas partagée entre threads : le filtre est calculé avant le découpage
+            accessibles = new boolean[robots.size()][cibles.size()];
+            for (int i = 0; i < robots.size(); i++) {
+                for (int j = 0; j < cibles.size(); j++) {
+                    accessibles[i][j] = connexite.estAccessible(robots.get(i), cibles.get(j));
+                }
+            }
+        }
+        pool.invoke(new Lignes(robots, cibles, accessibles, temps, 0, robots.size()));
+        return temps;
+    }
+
+    /**
+     * Tâche calculant un intervalle de lignes de la matrice, découpée récursivement en deux.
+     */
+    @SuppressWarnings("serial")
+    private final class Lignes extends RecursiveAction {
+        private final List<? extends Robot> robots;
+        private final List<Case> cibles;
+        private final boolean[][] accessibles;
+        private final int[][] temps;
+        private final int debut;
+        private final int fin;
+
+        private Lignes(List<? extends Robot> robots, List<Case> cibles, boolean[][] accessibles, int[][] temps,
+                       int debut, int fin) {
+            this.robots = robots;
+            this.cibles = cibles;
+            this.accessibles = accessibles;
+            this.temps = temps;
+            this.debut = debut;
+            this.fin = fin;
+        }
+
+        @Override
+        protected void compute() {
+            if (fin - debut <= SEUIL_DECOUPAGE) {
+                RechercheDijkstra recherche = recherches.get();
+                for (int i = debut; i < fin; i++) {
+                    temps[i] = recherche.calculerTemps(robots.get(i), cibles, accessibles == null ? null : accessibles[i]);
+                }
+                return;
+            }
+            int milieu = (debut + fin) >>> 1;
+            invokeAll(new Lignes(robots, cibles, accessibles, temps, debut, milieu),
+                    new Lignes(robots, cibles, accessibles, temps, milieu, fin));
+        }
+    }
+}
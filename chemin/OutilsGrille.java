@@ -0,0 +1,98 @@
+package simulation.chemin;
+
+import simulation.environment.Carte;
+import simulation.environment.Direction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fonctions utilitaires partagées par les moteurs de recherche de chemin,
+ * qui travaillent sur les indices linéaires des cases ({@link Carte#indexCase(int, int)}).
+ */
+final class OutilsGrille {
+    static final Direction[] DIRECTIONS = Direction.values();
+    static final int AUCUNE_DIRECTION = -1;
+
+    private OutilsGrille() {
+    }
+
+    /**
+     * Calcule l'indice de la case voisine dans une direction.
+     *
+     * @param index     indice de la case de départ
+     * @param direction ordinal de la direction
+     * @param nbLignes  nombre de lignes de la carte
+     * @param nbColones nombre de colonnes de la carte
+     * @return l'indice du voisin, ou -1 s'il sort de la carte
+     */
+    static int voisin(int index, int direction, int nbLignes, int nbColones) {
+        switch (DIRECTIONS[direction]) {
+            case NORD:
+                return index % nbLignes > 0 ? index - 1 : -1;
+            case SUD:
+                return index % nbLignes < nbLignes - 1 ? index + 1 : -1;
+            case EST:
+                return index + nbLignes < nbLignes * nbColones ? index + nbLignes : -1;
+            case OUEST:
+                return index >= nbLignes ? index - nbLignes : -1;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Retourne l'ordinal de la direction opposée.
+     *
+     * @param direction ordinal d'une direction
+     * @return ordinal de la direction inverse
+     */
+    static int opposee(int direction) {
+        switch (DIRECTIONS[direction]) {
+            case NORD:
+                return Direction.SUD.ordinal();
+            case SUD:
+                return Direction.NORD.ordinal();
+            case EST:
+                return Direction.OUEST.ordinal();
+            default:
+                return Direction.EST.ordinal();
+        }
+    }
+
+    /**
+     * Distance de Manhattan (en nombre de cases) entre deux indices.
+     *
+     * @param a        indice de la première case
+     * @param b        indice de la deuxième case
+     * @param nbLignes nombre de lignes de la carte
+     * @return la distance de Manhattan
+     */
+    static int manhattan(int a, int b, int nbLignes) {
+        return Math.abs(a / nbLignes - b / nbLignes) + Math.abs(a % nbLignes - b % nbLignes);
+    }
+
+    /**
+     * Reconstruit la liste des directions d'un chemin à partir du tableau des directions d'arrivée.
+     * Chaque case visitée mémorise la direction empruntée pour l'atteindre depuis son prédécesseur.
+     *
+     * @param arrivee       indice de la case d'arrivée
+     * @param depart        indice de la case de départ
+     * @param directionVers direction empruntée pour atteindre chaque case
+     * @param nbLignes      nombre de lignes de la carte
+     * @param nbColones     nombre de colonnes de la carte
+     * @return la liste des directions du départ vers l'arrivée
+     */
+    static List<Direction> reconstruire(int arrivee, int depart, byte[] directionVers, int nbLignes, int nbColones) {
+        ArrayList<Direction> res = new ArrayList<>();
+        int courant = arrivee;
+        while (courant != depart) {
+            int dir = directionVers[courant];
+            res.add(DIRECTIONS[dir]);
+            courant = voisin(courant, opposee(dir), nbLignes, nbColones);
+        }
+        Collections.reverse(res);
+        return res;
+    }
+}
@@ -0,0 +1,284 @@
+package simulation.chemin;
+
+import simulation.environment.Carte;
+import simulation.environment.Case;
+import simulation.environment.Direction;
+import simulation.robot.ProfilVitesse;
+import simulation.robot.Robot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Planification coopérative des trajets : chaque trajet est cherché par A* dans l'espace (case, créneau)
+ * en évitant les réservations des trajets déjà planifiés, puis réservé à son tour dans la
+ * {@link TableReservations}. Un robot peut attendre sur place un créneau pour laisser passer un autre robot.
+ *
+ * Pendant un déplacement, le robot tient la case quittée et la case atteinte, du créneau de départ au
+ * créneau d'arrivée : deux robots ne peuvent donc ni se croiser de face ni entrer dans la même case.
+ * Arrivé, le robot stationne sur sa case jusqu'à son prochain trajet ; la case d'arrivée doit donc être
+ * libre pour tous les créneaux suivants. Les trajets planifiés sont ainsi sans conflit entre eux :
+ * il n'en reste aucun à résoudre à l'exécution, à condition que chaque robot parte aux dates prévues.
+ *
+ * Tous les robots doivent être connus de la table, par {@link #placer(Robot, long)} ou par un trajet
+ * planifié : un robot inconnu n'est pas évité. Une instance ne doit pas être partagée entre plusieurs threads.
+ */
+public class PlanificateurCooperatif {
+    private static final int ATTENTE = -1; // Direction d'un noeud atteint en attendant sur place
+    private static final int HORIZON_DEFAUT = 4096; // Créneaux explorés au-delà de l'arrivée au plus tôt
+    private static final int NB_MAX_NOEUDS_DEFAUT = 1 << 20;
+
+    private final Carte carte;
+    private final TableReservations reservations;
+    private final int nbLignes;
+    private final int nbColones;
+    private int horizon = HORIZON_DEFAUT;
+    private int nbMaxNoeuds = NB_MAX_NOEUDS_DEFAUT;
+
+    // Noeuds de la recherche (case, créneau relatif au départ), réutilisés d'une recherche à l'autre
+    private int[] caseDe = new int[1024];
+    private int[] creneauDe = new int[1024];
+    private int[] parent = new int[1024];
+    private byte[] directionVers = new byte[1024];
+    private int nbNoeuds;
+    private final TableHachageLong vus = new TableHachageLong(1024); // (case, créneau relatif) déjà atteints
+    private final TasMinimum ouverts = new TasMinimum(1024);
+    private int nbNoeudsExplores;
+
+    /**
+     * Constructeur de la classe PlanificateurCooperatif.
+     *
+     * @param carte        la carte
+     * @param reservations la table des réservations partagée par tous les robots
+     */
+    public PlanificateurCooperatif(Carte carte, TableReservations reservations) {
+        this.carte = carte;
+        this.reservations = reservations;
+        this.nbLignes = carte.getNbLignes();
+        this.nbColones = carte.getNbColones();
+    }
+
+    /**
+     * Définit le nombre de créneaux explorés au-delà de l'arrivée au plus tôt avant d'abandonner
+     * (cible occupée durablement, ou attente trop longue).
+     *
+     * @param horizon le nombre de créneaux
+     */
+    public void setHorizon(int horizon) {
+        this.horizon = horizon;
+    }
+
+    /**
+     * Définit le nombre maximal de noeuds (case, créneau) créés par une recherche.
+     *
+     * @param nbMaxNoeuds le nombre maximal de noeuds
+     */
+    public void setNbMaxNoeuds(int nbMaxNoeuds) {
+        this.nbMaxNoeuds = nbMaxNoeuds;
+    }
+
+    /**
+     * Retourne la table des réservations.
+     *
+     * @return la table des réservations
+     */
+    public TableReservations getReservations() {
+        return reservations;
+    }
+
+    /**
+     * Déclare un robot immobile sur sa case à partir d'une date, en annulant son trajet réservé s'il en avait un.
+     *
+     * @param robot le robot
+     * @param date  la date
+     */
+    public void placer(Robot robot, long date) {
+        reservations.liberer(robot.getId());
+        reservations.stationner(carte.indexCase(robot.getPosition()), reservations.creneau(date), robot.getId());
+    }
+
+    /**
+     * Planifie et réserve le trajet d'un robot vers une cible, au départ de sa position à une date donnée.
+     * Le trajet précédent du robot est annulé. Comme pour {@link RechercheAStar}, une cible que le robot
+     * ne peut pas traverser est atteinte depuis une case voisine.
+     *
+     * @param robot la robot
+     * @param cible la case cible
+     * @param date  la date de départ au plus tôt
+     * @return le trajet réservé, ou null si aucun trajet sans conflit n'a été trouvé (le robot reste alors
+     * placé sur sa case)
+     */
+    public TrajetReserve planifier(Robot robot, Case cible, long date) {
+        int id = robot.getId();
+        ProfilVitesse profil = robot.getProfilVitesse();
+        int[] tempsTerrain = profil.tempsParTerrain(carte.getTailleCase());
+        int dureeCreneau = reservations.getDureeCreneau();
+        int creneauxMin = creneaux(profil.tempsTraverseeMin(carte.getTailleCase()), dureeCreneau);
+        int depart = carte.indexCase(robot.getPosition());
+        int arrivee = carte.indexCase(cible);
+        boolean cibleAccessible = profil.estPraticable(cible.getNature());
+        long creneauDate = reservations.creneau(date);
+        // Premier créneau commençant au plus tôt à la date demandée : aucun départ n'est prévu avant elle
+        long creneau0 = (date + dureeCreneau - 1) / dureeCreneau;
+
+        reservations.liberer(id);
+        nbNoeuds = 0;
+        nbNoeudsExplores = 0;
+        vus.vider();
+        ouverts.vider();
+        int limite = heuristique(depart, arrivee, cibleAccessible, creneauxMin) + horizon;
+        ouverts.ajouter(nouveauNoeud(depart, 0, -1, ATTENTE), heuristique(depart, arrivee, cibleAccessible, creneauxMin));
+
+        int trouve = -1;
+        while (!ouverts.estVide() && nbNoeuds < nbMaxNoeuds) {
+            int n = ouverts.retirerMin();
+            int u = caseDe[n];
+            int t = creneauDe[n];
+            nbNoeudsExplores++;
+            if (estArrivee(u, arrivee, cibleAccessible) && reservations.estLibreDepuis(u, creneau0 + t, id)) {
+                trouve = n;
+                break;
+            }
+            if (t >= limite) {
+                continue;
+            }
+            // Attente sur place pendant un créneau
+            if (reservations.estLibre(u, creneau0 + t + 1, id)) {
+                ajouter(u, t + 1, n, ATTENTE, arrivee, cibleAccessible, creneauxMin);
+            }
+            for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+                int v = OutilsGrille.voisin(u, dir, nbLignes, nbColones);
+                if (v < 0) {
+                    continue;
+                }
+                int temps = tempsTerrain[carte.getNature(v).ordinal()];
+                if (temps == Integer.MAX_VALUE) {
+                    continue;
+                }
+                int k = creneaux(temps, dureeCreneau);
+                if (estLibre(u, v, creneau0 + t, k, id)) {
+                    ajouter(v, t + k, n, dir, arrivee, cibleAccessible, creneauxMin);
+                }
+            }
+        }
+
+        if (trouve < 0) {
+            reservations.stationner(depart, creneauDate, id);
+            return null;
+        }
+        if (creneauDate < creneau0) {
+            // Le robot reste sur sa case jusqu'au premier créneau de départ
+            reservations.reserver(depart, creneauDate, creneau0, id);
+        }
+        return reserver(trouve, id, creneau0, dureeCreneau, tempsTerrain);
+    }
+
+    /**
+     * Retourne le nombre de noeuds (case, créneau) développés lors de la dernière planification.
+     *
+     * @return le nombre de noeuds explorés
+     */
+    public int getNbNoeudsExplores() {
+        return nbNoeudsExplores;
+    }
+
+    /**
+     * Réserve le trajet aboutissant au noeud trouvé et construit le trajet avec les dates de départ.
+     */
+    private TrajetReserve reserver(int fin, int id, long creneau0, int dureeCreneau, int[] tempsTerrain) {
+        int longueur = 0;
+        for (int n = fin; parent[n] >= 0; n = parent[n]) {
+            longueur++;
+        }
+        int[] chaine = new int[longueur + 1];
+        for (int n = fin, i = longueur; n >= 0; n = parent[n], i--) {
+            chaine[i] = n;
+        }
+
+        List<Direction> directions = new ArrayList<>();
+        long[] datesDepart = new long[longueur];
+        int nbDeplacements = 0;
+        int temps = 0;
+        for (int i = 1; i <= longueur; i++) {
+            int prec = chaine[i - 1];
+            int n = chaine[i];
+            long debut = creneau0 + creneauDe[prec];
+            long finCreneau = creneau0 + creneauDe[n];
+            reservations.reserver(caseDe[prec], debut, finCreneau, id);
+            if (directionVers[n] != ATTENTE) {
+                reservations.reserver(caseDe[n], debut, finCreneau, id);
+                directions.add(OutilsGrille.DIRECTIONS[directionVers[n]]);
+                datesDepart[nbDeplacements++] = debut * dureeCreneau;
+                temps += tempsTerrain[carte.getNature(caseDe[n]).ordinal()];
+            }
+        }
+        long arrivee = creneau0 + creneauDe[fin];
+        reservations.stationner(caseDe[fin], arrivee, id);
+        return new TrajetReserve(directions, Arrays.copyOf(datesDepart, nbDeplacements), arrivee * dureeCreneau, temps);
+    }
+
+    /**
+     * Un déplacement de u vers v commencé au créneau debut et durant k créneaux tient u et v de debut à debut + k.
+     */
+    private boolean estLibre(int u, int v, long debut, int k, int id) {
+        for (long c = debut; c <= debut + k; c++) {
+            if (!reservations.estLibre(v, c, id) || !reservations.estLibre(u, c, id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ajouter(int index, int t, int parentNoeud, int dir, int arrivee, boolean cibleAccessible, int creneauxMin) {
+        long cle = ((long) t << 32) | index;
+        if (vus.get(cle, -1) >= 0) {
+            return;
+        }
+        int n = nouveauNoeud(index, t, parentNoeud, dir);
+        vus.put(cle, n);
+        ouverts.ajouter(n, t + heuristique(index, arrivee, cibleAccessible, creneauxMin));
+    }
+
+    private int nouveauNoeud(int index, int t, int parentNoeud, int dir) {
+        if (nbNoeuds == caseDe.length) {
+            int capacite = nbNoeuds * 2;
+            caseDe = Arrays.copyOf(caseDe, capacite);
+            creneauDe = Arrays.copyOf(creneauDe, capacite);
+            parent = Arrays.copyOf(parent, capacite);
+            directionVers = Arrays.copyOf(directionVers, capacite);
+        }
+        int n = nbNoeuds++;
+        caseDe[n] = index;
+        creneauDe[n] = t;
+        parent[n] = parentNoeud;
+        directionVers[n] = (byte) dir;
+        return n;
+    }
+
+    private boolean estArrivee(int index, int arrivee, boolean cibleAccessible) {
+        if (cibleAccessible) {
+            return index == arrivee;
+        }
+        return index == arrivee || OutilsGrille.manhattan(index, arrivee, nbLignes) == 1;
+    }
+
+    /**
+     * Nombre minimal de créneaux pour atteindre la cible : la distance de Manhattan multipliée par la durée,
+     * en créneaux, de la traversée la plus rapide ; elle ne surestime jamais.
+     */
+    private int heuristique(int index, int arrivee, boolean cibleAccessible, int creneauxMin) {
+        int distance = OutilsGrille.manhattan(index, arrivee, nbLignes);
+        if (!cibleAccessible && distance > 0) {
+            distance--;
+        }
+        return (int) Math.min(Integer.MAX_VALUE / 2, (long) distance * creneauxMin);
+    }
+
+    /**
+     * Durée d'une traversée en créneaux, arrondie au créneau supérieur (au moins un créneau).
+     */
+    private static int creneaux(int temps, int dureeCreneau) {
+        return Math.max(1, (temps + dureeCreneau - 1) / dureeCreneau);
+    }
+}
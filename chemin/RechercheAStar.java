@@ -0,0 +1,145 @@
+package simulation.chemin;
+
+import simulation.environment.Carte;
+import simulation.environment.Case;
+import simulation.environment.NatureTerrain;
+import simulation.robot.ProfilVitesse;
+import simulation.robot.Robot;
+
+import java.util.Arrays;
+
+/**
+ * Recherche de plus court chemin par A*.
+ * L'heuristique est la distance de Manhattan multipliée par le temps de traversée d'une case
+ * à la meilleure vitesse du robot : elle ne surestime jamais le temps restant.
+ *
+ * Comme pour le calcul des sources d'eau, une cible sur un terrain que le robot ne peut pas
+ * traverser est atteinte depuis une case voisine.
+ *
+ * Les tableaux de travail sont alloués une fois et réutilisés d'une recherche à l'autre :
+ * une instance ne doit pas être partagée entre plusieurs threads.
+ */
+public class RechercheAStar implements RechercheChemin {
+    private final Carte carte;
+    private final int nbLignes;
+    private final int nbColones;
+
+    private final int[] cout; // Meilleur temps connu depuis le départ
+    private final byte[] directionVers; // Direction empruntée pour atteindre chaque case
+    private final int[] generation; // Recherche lors de laquelle cout/directionVers ont été écrits
+    private final boolean[] ferme;
+    private final TasMinimum ouverts;
+    private int generationCourante;
+    private int nbNoeudsExplores;
+
+    /**
+     * Constructeur de la classe RechercheAStar.
+     *
+     * @param carte la carte sur laquelle chercher les chemins
+     */
+    public RechercheAStar(Carte carte) {
+        this.carte = carte;
+        this.nbLignes = carte.getNbLignes();
+        this.nbColones = carte.getNbColones();
+        int nbCases = nbLignes * nbColones;
+        this.cout = new int[nbCases];
+        this.directionVers = new byte[nbCases];
+        this.generation = new int[nbCases];
+        this.ferme = new boolean[nbCases];
+        this.ouverts = new TasMinimum(1024);
+    }
+
+    @Override
+    public Chemin chercher(Robot robot, Case cible) {
+        ProfilVitesse profil = robot.getProfilVitesse();
+        int depart = carte.indexCase(robot.getPosition());
+        int arrivee = carte.indexCase(cible);
+        boolean cibleAccessible = profil.estPraticable(cible.getNature());
+        int[] tempsTerrain = profil.tempsParTerrain(carte.getTailleCase());
+        int tempsMin = profil.tempsTraverseeMin(carte.getTailleCase());
+
+        nouvelleGeneration();
+        nbNoeudsExplores = 0;
+        ouverts.vider();
+        visiter(depart, 0, OutilsGrille.AUCUNE_DIRECTION);
+        ouverts.ajouter(depart, heuristique(depart, arrivee, cibleAccessible, tempsMin));
+
+        while (!ouverts.estVide()) {
+            int u = ouverts.retirerMin();
+            if (ferme[u]) {
+                continue; // entrée périmée
+            }
+            ferme[u] = true;
+            nbNoeudsExplores++;
+            if (estArrivee(u, arrivee, cibleAccessible)) {
+                return new Chemin(OutilsGrille.reconstruire(u, depart, directionVers, nbLignes, nbColones), cout[u]);
+            }
+            for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+                int v = OutilsGrille.voisin(u, dir, nbLignes, nbColones);
+                if (v < 0) {
+                    continue;
+                }
+                int tempsV = tempsTerrain[nature(v).ordinal()];
+                if (tempsV == Integer.MAX_VALUE) {
+                    continue;
+                }
+                int nouveau = cout[u] + tempsV;
+                if (generation[v] != generationCourante) {
+                    visiter(v, nouveau, dir);
+                } else if (ferme[v] || nouveau >= cout[v]) {
+                    continue;
+                } else {
+                    cout[v] = nouveau;
+                    directionVers[v] = (byte) dir;
+                }
+                ouverts.ajouter(v, nouveau + heuristique(v, arrivee, cibleAccessible, tempsMin));
+            }
+        }
+        return Chemin.INTROUVABLE;
+    }
+
+    /**
+     * Retourne le nombre de cases développées lors de la dernière recherche.
+     *
+     * @return le nombre de noeuds explorés
+     */
+    @Override
+    public int getNbNoeudsExplores() {
+        return nbNoeudsExplores;
+    }
+
+    private boolean estArrivee(int index, int arrivee, boolean cibleAccessible) {
+        if (cibleAccessible) {
+            return index == arrivee;
+        }
+        return index == arrivee || OutilsGrille.manhattan(index, arrivee, nbLignes) == 1;
+    }
+
+    private int heuristique(int index, int arrivee, boolean cibleAccessible, int tempsMin) {
+        int distance = OutilsGrille.manhattan(index, arrivee, nbLignes);
+        if (!cibleAccessible && distance > 0) {
+            distance--; // il suffit d'atteindre un voisin de la cible
+        }
+        return (int) Math.min(Integer.MAX_VALUE / 2, (long) distance * tempsMin);
+    }
+
+    private void visiter(int index, int c, int dir) {
+        generation[index] = generationCourante;
+        cout[index] = c;
+        directionVers[index] = (byte) dir;
+        ferme[index] = false;
+    }
+
+    private void nouvelleGeneration() {
+        generationCourante++;
+        if (generationCourante == 0) {
+            // débordement du compteur : on repart de tableaux propres
+            Arrays.fill(generation, 0);
+            generationCourante = 1;
+        }
+    }
+
+    private NatureTerrain nature(int index) {
+        return carte.getNature(index);
+    }
+}
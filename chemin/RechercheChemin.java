@@ -0,0 +1,62 @@
+package simulation.chemin;
+
+import simulation.environment.Case;
+import simulation.robot.Robot;
+
+import java.util.List;
+
+/**
+ * Moteur de recherche de plus court chemin entre la position d'un robot et une case cible.
+ */
+public interface RechercheChemin {
+
+    /**
+     * Cherche le plus court chemin (en temps) depuis la position actuelle du robot jusqu'à la cible.
+     *
+     * @param robot le robot qui se déplace
+     * @param cible la case à atteindre
+     * @return le chemin trouvé, ou {@link Chemin#INTROUVABLE} si la cible est inaccessible
+     */
+    Chemin chercher(Robot robot, Case cible);
+
+    /**
+     * Cherche, parmi plusieurs cibles, celle que le robot atteint le plus vite.
+     * L'implémentation par défaut lance une recherche par cible ; les moteurs capables
+     * de traiter toutes les cibles en une seule expansion la redéfinissent.
+     *
+     * @param robot  le robot qui se déplace
+     * @param cibles les cases candidates
+     * @return la cible la plus proche et le chemin pour l'atteindre, ou {@link ResultatPlusProche#AUCUNE}
+     */
+    default ResultatPlusProche chercherPlusProche(Robot robot, List<Case> cibles) {
+        ResultatPlusProche res = ResultatPlusProche.AUCUNE;
+        int i = 0;
+        for (Case cible : cibles) {
+            Chemin chemin = chercher(robot, cible);
+            if (chemin.estTrouve() && chemin.getTemps() < res.getChemin().getTemps()) {
+                res = new ResultatPlusProche(i, cible, chemin);
+            }
+            i++;
+        }
+        return res;
+    }
+
+    /**
+     * Indique si {@link #chercherPlusProche(Robot, List)} traite toutes les cibles
+     * en une seule expansion plutôt qu'en une recherche par cible.
+     *
+     * @return true si la recherche multi-cibles est native
+     */
+    default boolean estMultiCibles() {
+        return false;
+    }
+
+    /**
+     * Retourne le nombre de noeuds explorés par la dernière recherche.
+     *
+     * @return le nombre de noeuds explorés, ou -1 si le moteur ne le mesure pas
+     */
+    default int getNbNoeudsExplores() {
+        return -1;
+    }
+}
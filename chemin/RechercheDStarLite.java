@@ -0,0 +1,159 @@
+package simulation.chemin;
+
+import simulation.environment.Carte;
+import simulation.environment.Case;
+import simulation.environment.NatureTerrain;
+import simulation.environment.ObservateurTerrain;
+import simulation.robot.ObservateurRobot;
+import simulation.robot.Robot;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Recherche de plus court chemin incrémentale (D* Lite) : chaque robot garde l'état de sa dernière
+ * recherche, et un nouvel appel vers la même cible répare le chemin au lieu de le recalculer.
+ *
+ * Les changements de coût sont observés : changement de nature d'une case (observateur du terrain)
+ * et déplacement d'un robot suivi, dont l'ancienne case se libère et la nouvelle devient infranchissable
+ * pour les autres. Ils ne sont transmis qu'aux recherches qui ont touché la case ou une voisine, et appliqués
+ * au prochain calcul. Un robot qui obtient un chemin est suivi automatiquement, et d'autres robots peuvent être
+ * déclarés par {@link #suivre(Robot)}. Les déplacements des robots non suivis sont tout de même pris en compte :
+ * chaque recherche revérifie l'occupation des cases qu'elle a vues et de celles qu'elle découvre.
+ *
+ * Une instance ne doit pas être partagée entre plusieurs threads.
+ */
+public class RechercheDStarLite implements RechercheChemin, ObservateurTerrain, ObservateurRobot {
+    private final Carte carte;
+    private final Map<Robot, EtatDStarLite> etats = new IdentityHashMap<>(); // Dernière recherche de chaque robot
+    private final Map<Robot, Boolean> suivis = new IdentityHashMap<>(); // Robots observés
+    private int nbNoeudsExplores;
+
+    /**
+     * Constructeur de la classe RechercheDStarLite.
+     *
+     * @param carte la carte sur laquelle chercher les chemins
+     */
+    public RechercheDStarLite(Carte carte) {
+        this.carte = carte;
+        carte.addObservateur(this);
+    }
+
+    /**
+     * Cherche le plus court chemin du robot vers la cible. Si la dernière recherche du robot visait la même
+     * cible, elle est réparée en ne développant que les noeuds touchés par les changements depuis ; sinon
+     * une nouvelle recherche remplace la précédente.
+     */
+    @Override
+    public Chemin chercher(Robot robot, Case cible) {
+        int indexCible = carte.indexCase(cible);
+        EtatDStarLite etat = etats.get(robot);
+        if (etat == null || etat.getCible() != indexCible) {
+            etat = new EtatDStarLite(carte, robot, indexCible);
+            etats.put(robot, etat);
+            suivre(robot);
+        }
+        Chemin chemin = etat.calculer();
+        nbNoeudsExplores = etat.getNbNoeudsExplores();
+        return chemin;
+    }
+
+    /**
+     * Répare le chemin d'un robot vers la cible de sa dernière recherche, par exemple après un déplacement
+     * refusé parce que la case visée était occupée.
+     *
+     * @param robot le robot
+     * @return le chemin depuis la position actuelle du robot, ou {@link Chemin#INTROUVABLE} si le robot
+     * n'a pas de recherche en cours ou que la cible est devenue inaccessible
+     */
+    public Chemin replanifier(Robot robot) {
+        EtatDStarLite etat = etats.get(robot);
+        if (etat == null) {
+            return Chemin.INTROUVABLE;
+        }
+        Chemin chemin = etat.calculer();
+        nbNoeudsExplores = etat.getNbNoeudsExplores();
+        return chemin;
+    }
+
+    /**
+     * Indique si un robot a une recherche en cours, qui peut être réparée par {@link #replanifier(Robot)}.
+     *
+     * @param robot le robot
+     * @return true si le robot a une recherche en cours
+     */
+    public boolean aUneRecherche(Robot robot) {
+        return etats.containsKey(robot);
+    }
+
+    /**
+     * Abandonne la recherche en cours d'un robot (arrivé à destination ou réaffecté).
+     *
+     * @param robot le robot
+     */
+    public void oublier(Robot robot) {
+        etats.remove(robot);
+    }
+
+    /**
+     * Observe les déplacements d'un robot, dont la position bloque les trajets des autres. Les changements
+     * sont alors transmis dès le déplacement, au lieu d'être découverts au calcul suivant.
+     *
+     * @param robot le robot
+     */
+    public void suivre(Robot robot) {
+        if (suivis.put(robot, Boolean.TRUE) == null) {
+            robot.addObservateur(this);
+        }
+    }
+
+    /**
+     * Désenregistre la recherche auprès de la carte et des robots suivis.
+     */
+    public void detacher() {
+        carte.removeObservateur(this);
+        for (Robot robot : suivis.keySet()) {
+            robot.removeObservateur(this);
+        }
+        suivis.clear();
+    }
+
+    /**
+     * Nombre de noeuds développés par le dernier calcul : la réparation d'un chemin n'en développe
+     * qu'une fraction d'une recherche complète.
+     */
+    @Override
+    public int getNbNoeudsExplores() {
+        return nbNoeudsExplores;
+    }
+
+    /**
+     * Transmet le changement de nature aux recherches concernées. Une recherche dont la cible elle-même
+     * change de nature est abandonnée : l'ensemble de ses buts peut changer.
+     */
+    @Override
+    public void natureModifiee(Case c, NatureTerrain ancienne) {
+        int index = carte.indexCase(c);
+        etats.values().removeIf(etat -> etat.getCible() == index);
+        signaler(index, null);
+    }
+
+    /**
+     * Transmet la libération de l'ancienne case et l'occupation de la nouvelle aux recherches des autres robots.
+     */
+    @Override
+    public void positionModifiee(Robot robot, Case ancienne) {
+        if (ancienne != null) {
+            signaler(carte.indexCase(ancienne), robot);
+        }
+        signaler(carte.indexCase(robot.getPosition()), robot);
+    }
+
+    private void signaler(int index, Robot auteur) {
+        for (Map.Entry<Robot, EtatDStarLite> entree : etats.entrySet()) {
+            if (entree.getKey() != auteur && entree.getValue().concerne(index)) {
+                entree.getValue().caseModifiee(index);
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package simulation.chemin;
+
+import simulation.environment.Carte;
+import simulation.environment.Case;
+import simulation.environment.NatureTerrain;
+import simulation.robot.ProfilVitesse;
+import simulation.robot.Robot;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Recherche de Dijkstra depuis la position d'un robot vers un ensemble de cibles.
+ * L'expansion part une seule fois du robot et s'arrête dès que la cible la plus proche
+ * est atteinte, au lieu de lancer une recherche complète par cible.
+ *
+ * Une cible sur un terrain que le robot ne peut pas traverser est atteinte depuis une case voisine.
+ *
+ * Les tableaux de travail sont réutilisés d'une recherche à l'autre :
+ * une instance ne doit pas être partagée entre plusieurs threads.
+ */
+public class RechercheDijkstra implements RechercheChemin {
+    private final Carte carte;
+    private final int nbLignes;
+    private final int nbColones;
+
+    private final int[] cout;
+    private final byte[] directionVers;
+    private final int[] generation;
+    private final boolean[] ferme;
+    private final int[] cibleDe; // Indice de la cible atteinte en arrivant sur chaque case
+    private final int[] generationCible;
+    private final TasMinimum ouverts;
+    private int generationCourante;
+    private int nbNoeudsExplores;
+
+    /**
+     * Constructeur de la classe RechercheDijkstra.
+     *
+     * @param carte la carte sur laquelle chercher les chemins
+     */
+    public RechercheDijkstra(Carte carte) {
+        this.carte = carte;
+        this.nbLignes = carte.getNbLignes();
+        this.nbColones = carte.getNbColones();
+        int nbCases = nbLignes * nbColones;
+        this.cout = new int[nbCases];
+        this.directionVers = new byte[nbCases];
+        this.generation = new int[nbCases];
+        this.ferme = new boolean[nbCases];
+        this.cibleDe = new int[nbCases];
+        this.generationCible = new int[nbCases];
+        this.ouverts = new TasMinimum(1024);
+    }
+
+    @Override
+    public Chemin chercher(Robot robot, Case cible) {
+        return chercherPlusProche(robot, List.of(cible)).getChemin();
+    }
+
+    @Override
+    public ResultatPlusProche chercherPlusProche(Robot robot, List<Case> cibles) {
+        ProfilVitesse profil = robot.getProfilVitesse();
+        int[] tempsTerrain = profil.tempsParTerrain(carte.getTailleCase());
+        int depart = carte.indexCase(robot.getPosition());
+
+        nouvelleGeneration();
+        marquerCibles(profil, cibles, depart, null);
+        nbNoeudsExplores = 0;
+        ouverts.vider();
+        visiter(depart, 0, OutilsGrille.AUCUNE_DIRECTION);
+        ouverts.ajouter(depart, 0);
+
+        while (!ouverts.estVide()) {
+            int u = ouverts.retirerMin();
+            if (ferme[u]) {
+                continue;
+            }
+            ferme[u] = true;
+            nbNoeudsExplores++;
+            if (generationCible[u] == generationCourante) {
+                int i = cibleDe[u];
+                Chemin chemin = new Chemin(OutilsGrille.reconstruire(u, depart, directionVers, nbLignes, nbColones), cout[u]);
+                return new ResultatPlusProche(i, cibles.get(i), chemin);
+            }
+            for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+                int v = OutilsGrille.voisin(u, dir, nbLignes, nbColones);
+                if (v < 0) {
+                    continue;
+                }
+                int tempsV = tempsTerrain[nature(v).ordinal()];
+                if (tempsV == Integer.MAX_VALUE) {
+                    continue;
+                }
+                int nouveau = cout[u] + tempsV;
+                if (generation[v] != generationCourante) {
+                    visiter(v, nouveau, dir);
+                } else if (ferme[v] || nouveau >= cout[v]) {
+                    continue;
+                } else {
+                    cout[v] = nouveau;
+                    directionVers[v] = (byte) dir;
+                }
+                ouverts.ajouter(v, nouveau);
+            }
+        }
+        return ResultatPlusProche.AUCUNE;
+    }
+
+    @Override
+    public boolean estMultiCibles() {
+        return true;
+    }
+
+    /**
+     * Retourne le nombre de cases développées lors de la dernière recherche.
+     *
+     * @return le nombre de noeuds explorés
+     */
+    @Override
+    public int getNbNoeudsExplores() {
+        return nbNoeudsExplores;
+    }
+
+    /**
+     * Calcule le temps de trajet du robot vers chacune des cibles en une seule expansion,
+     * arrêtée dès que toutes les cases d'arrivée ont été atteintes.
+     *
+     * @param robot       le robot qui se déplace
+     * @param cibles      les cases cibles
+     * @param accessibles pour chaque cible, false si elle est connue inaccessible (null : toutes candidates)
+     * @return le temps vers chaque cible, Integer.MAX_VALUE si elle est inaccessible
+     */
+    public int[] calculerTemps(Robot robot, List<Case> cibles, boolean[] accessibles) {
+        ProfilVitesse profil = robot.getProfilVitesse();
+        int[] tempsTerrain = profil.tempsParTerrain(carte.getTailleCase());
+        int depart = carte.indexCase(robot.getPosition());
+
+        nouvelleGeneration();
+        int restantes = marquerCibles(profil, cibles, depart, accessibles);
+        nbNoeudsExplores = 0;
+        ouverts.vider();
+        visiter(depart, 0, OutilsGrille.AUCUNE_DIRECTION);
+        ouverts.ajouter(depart, 0);
+
+        while (!ouverts.estVide() && restantes > 0) {
+            int u = ouverts.retirerMin();
+            if (ferme[u]) {
+                continue;
+            }
+            ferme[u] = true;
+            nbNoeudsExplores++;
+            if (generationCible[u] == generationCourante) {
+                restantes--;
+            }
+            for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+                int v = OutilsGrille.voisin(u, dir, nbLignes, nbColones);
+                if (v < 0) {
+                    continue;
+                }
+                int tempsV = tempsTerrain[nature(v).ordinal()];
+                if (tempsV == Integer.MAX_VALUE) {
+                    continue;
+                }
+                int nouveau = cout[u] + tempsV;
+                if (generation[v] != generationCourante) {
+                    visiter(v, nouveau, dir);
+                } else if (ferme[v] || nouveau >= cout[v]) {
+                    continue;
+                } else {
+                    cout[v] = nouveau;
+                    directionVers[v] = (byte) dir;
+                }
+                ouverts.ajouter(v, nouveau);
+            }
+        }
+
+        int[] res = new int[cibles.size()];
+        for (int i = 0; i < res.length; i++) {
+            if (accessibles != null && !accessibles[i]) {
+                res[i] = Integer.MAX_VALUE;
+                continue;
+            }
+            Case cible = cibles.get(i);
+            int index = carte.indexCase(cible);
+            res[i] = tempsAtteint(index);
+            if (!profil.estPraticable(cible.getNature())) {
+                for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+                    int v = OutilsGrille.voisin(index, dir, nbLignes, nbColones);
+                    if (v >= 0) {
+                        res[i] = Math.min(res[i], tempsAtteint(v));
+                    }
+                }
+            }
+        }
+        return res;
+    }
+
+    private int tempsAtteint(int index) {
+        return generation[index] == generationCourante && ferme[index] ? cout[index] : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Marque les cases d'arrivée de chaque cible : la cible elle-même si elle est praticable,
+     * sinon ses voisines. En cas de cases communes, la première cible de la liste l'emporte.
+     *
+     * @return le nombre de cases d'arrivée distinctes
+     */
+    private int marquerCibles(ProfilVitesse profil, List<Case> cibles, int depart, boolean[] accessibles) {
+        int nbMarquees = 0;
+        int i = 0;
+        for (Case cible : cibles) {
+            if (accessibles != null && !accessibles[i]) {
+                i++;
+                continue;
+            }
+            int index = carte.indexCase(cible);
+            if (profil.estPraticable(cible.getNature())) {
+                nbMarquees += marquer(index, i);
+            } else {
+                for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+                    int v = OutilsGrille.voisin(index, dir, nbLignes, nbColones);
+                    if (v >= 0 && profil.estPraticable(carte.getNature(v))) {
+                        nbMarquees += marquer(v, i);
+                    }
+                }
+                if (index == depart) {
+                    nbMarquees += marquer(index, i); // robot déjà sur la cible
+                }
+            }
+            i++;
+        }
+        return nbMarquees;
+    }
+
+    private int marquer(int index, int cible) {
+        if (generationCible[index] != generationCourante) {
+            generationCible[index] = generationCourante;
+            cibleDe[index] = cible;
+            return 1;
+        }
+        return 0;
+    }
+
+    private void visiter(int index, int c, int dir) {
+        generation[index] = generationCourante;
+        cout[index] = c;
+        directionVers[index] = (byte) dir;
+        ferme[index] = false;
+    }
+
+    private void nouvelleGeneration() {
+        generationCourante++;
+        if (generationCourante == 0) {
+            Arrays.fill(generation, 0);
+            Arrays.fill(generationCible, 0);
+            generationCourante = 1;
+        }
+    }
+
+    private NatureTerrain nature(int index) {
+        return carte.getNature(index);
+    }
+}
@@ -0,0 +1,547 @@
+package simulation.chemin;
+
+import simulation.environment.*;
+import simulation.robot.ProfilVitesse;
+import simulation.robot.Robot;
+
+import java.util.*;
+
+/**
+ * Recherche de chemin hiérarchique (HPA*) pour les très grandes cartes.
+ *
+ * La carte est découpée en clusters carrés de taille fixe. Pour chaque profil de vitesse,
+ * on construit un graphe abstrait dont les noeuds sont les entrées des clusters (cases praticables
+ * de part et d'autre d'une frontière) ; les arcs relient les entrées d'un même cluster (coût du plus
+ * court chemin interne au cluster) et les paires d'entrées qui se font face.
+ *
+ * Une requête insère le départ et la cible dans le graphe abstrait, y cherche un chemin par A*,
+ * puis le chemin est raffiné en directions case par case, segment par segment, avant d'être retourné :
+ * le chemin ne dépend plus ensuite des modifications du terrain.
+ * Le temps renvoyé est celui du chemin abstrait : il peut dépasser légèrement l'optimum global,
+ * car les chemins internes sont contraints à rester dans leur cluster.
+ *
+ * Lorsqu'une case change de nature, seul son cluster (et le cluster voisin si la case est sur
+ * une frontière) est recalculé, à la prochaine requête utilisant ce profil.
+ *
+ * Une instance ne doit pas être partagée entre plusieurs threads.
+ */
+public class RechercheHierarchique implements RechercheChemin, ObservateurTerrain {
+    private static final int LONGUEUR_ENTREE_UNIQUE = 6; // En dessous, un segment de frontière n'a qu'une entrée
+
+    private final Carte carte;
+    private final int nbLignes;
+    private final int nbColones;
+    private final int tailleCluster;
+    private final int nbClustersX; // Nombre de clusters en colonnes
+    private final int nbClustersY; // Nombre de clusters en lignes
+    private final Map<ProfilVitesse, Graphe> graphes = new HashMap<>();
+
+    // Tableaux de travail de la recherche abstraite, indexés par case (+ départ et but virtuels)
+    private final int noeudDepart;
+    private final int noeudBut;
+    private final int[] cout;
+    private final int[] parent;
+    private final int[] generation;
+    private final boolean[] ferme;
+    private final TasMinimum ouverts = new TasMinimum(256);
+    private int generationCourante;
+
+    // Tableaux de travail des recherches internes à un cluster, indexés localement
+    private final int[] coutLocal;
+    private final byte[] directionLocale;
+    private final int[] origineLocale;
+    private final TasMinimum ouvertsLocaux = new TasMinimum(256);
+
+    private int nbNoeudsExplores;
+
+    /**
+     * Constructeur de la classe RechercheHierarchique.
+     *
+     * @param carte         la carte sur laquelle chercher les chemins
+     * @param tailleCluster la taille (en cases) du côté d'un cluster
+     */
+    public RechercheHierarchique(Carte carte, int tailleCluster) {
+        if (tailleCluster < 2) {
+            throw new IllegalArgumentException("La taille d'un cluster doit être au moins 2");
+        }
+        this.carte = carte;
+        this.nbLignes = carte.getNbLignes();
+        this.nbColones = carte.getNbColones();
+        this.tailleCluster = tailleCluster;
+        this.nbClustersX = (nbColones + tailleCluster - 1) / tailleCluster;
+        this.nbClustersY = (nbLignes + tailleCluster - 1) / tailleCluster;
+
+        int nbCases = nbLignes * nbColones;
+        this.noeudDepart = nbCases;
+        this.noeudBut = nbCases + 1;
+        this.cout = new int[nbCases + 2];
+        this.parent = new int[nbCases + 2];
+        this.generation = new int[nbCases + 2];
+        this.ferme = new boolean[nbCases + 2];
+
+        int nbCasesCluster = tailleCluster * tailleCluster;
+        this.coutLocal = new int[nbCasesCluster];
+        this.directionLocale = new byte[nbCasesCluster];
+        this.origineLocale = new int[nbCasesCluster];
+        carte.addObservateur(this);
+    }
+
+    @Override
+    public Chemin chercher(Robot robot, Case cible) {
+        ProfilVitesse profil = robot.getProfilVitesse();
+        Graphe graphe = getGraphe(profil);
+        int depart = carte.indexCase(robot.getPosition());
+        int[] buts = buts(profil, carte.indexCase(cible));
+        nbNoeudsExplores = 0;
+        for (int but : buts) {
+            if (but == depart) {
+                return new Chemin(new ArrayList<>(), 0);
+            }
+        }
+        if (buts.length == 0) {
+            return Chemin.INTROUVABLE;
+        }
+
+        // Connexion du départ aux entrées de son cluster (et aux buts s'ils y sont)
+        int clusterDepart = cluster(depart);
+        Cluster cd = graphe.clusters[clusterDepart];
+        dijkstraLocal(graphe, clusterDepart, new int[]{depart}, false);
+        int[] coutDepartEntrees = new int[cd.entrees.length];
+        for (int i = 0; i < cd.entrees.length; i++) {
+            coutDepartEntrees[i] = coutLocal[local(cd.entrees[i], clusterDepart)];
+        }
+        int coutDepartBut = Integer.MAX_VALUE;
+        int butDirect = -1;
+        for (int but : buts) {
+            if (cluster(but) == clusterDepart && coutLocal[local(but, clusterDepart)] < coutDepartBut) {
+                coutDepartBut = coutLocal[local(but, clusterDepart)];
+                butDirect = but;
+            }
+        }
+
+        // Connexion des entrées des clusters des buts vers les buts (Dijkstra inverse)
+        Map<Integer, int[]> versBut = new HashMap<>(); // entrée -> {coût, but atteint}
+        Set<Integer> clustersButs = new HashSet<>();
+        for (int but : buts) {
+            clustersButs.add(cluster(but));
+        }
+        for (int k : clustersButs) {
+            int[] butsDuCluster = Arrays.stream(buts).filter(b -> cluster(b) == k).toArray();
+            dijkstraLocal(graphe, k, butsDuCluster, true);
+            for (int e : graphe.clusters[k].entrees) {
+                int l = local(e, k);
+                if (coutLocal[l] != Integer.MAX_VALUE) {
+                    versBut.put(e, new int[]{coutLocal[l], origineLocale[l]});
+                }
+            }
+        }
+
+        // A* sur le graphe abstrait
+        int arrivee = carte.indexCase(cible);
+        int tempsMin = profil.tempsTraverseeMin(carte.getTailleCase());
+        nouvelleGeneration();
+        ouverts.vider();
+        int butChoisi = -1;
+        Map<Integer, Integer> butAtteintPar = new HashMap<>();
+        atteindre(noeudDepart, 0, -1);
+        ouverts.ajouter(noeudDepart, 0);
+        while (!ouverts.estVide()) {
+            int u = ouverts.retirerMin();
+            if (ferme[u]) {
+                continue;
+            }
+            ferme[u] = true;
+            nbNoeudsExplores++;
+            if (u == noeudBut) {
+                butChoisi = butAtteintPar.get(parent[noeudBut]);
+                break;
+            }
+            if (u == noeudDepart) {
+                for (int i = 0; i < cd.entrees.length; i++) {
+                    relacher(u, cd.entrees[i], coutDepartEntrees[i], arrivee, tempsMin);
+                }
+                if (butDirect >= 0 && relacher(u, noeudBut, coutDepartBut, arrivee, tempsMin)) {
+                    butAtteintPar.put(u, butDirect);
+                }
+                continue;
+            }
+            int k = cluster(u);
+            Cluster c = graphe.clusters[k];
+            int i = c.indiceEntree(u);
+            int n = c.entrees.length;
+            for (int j = 0; j < n; j++) {
+                relacher(u, c.entrees[j], c.couts[i * n + j], arrivee, tempsMin);
+            }
+            for (int partenaire : c.partenaires[i]) {
+                relacher(u, partenaire, graphe.tempsTerrain[nature(partenaire).ordinal()], arrivee, tempsMin);
+            }
+            int[] but = versBut.get(u);
+            if (but != null && relacher(u, noeudBut, but[0], arrivee, tempsMin)) {
+                butAtteintPar.put(u, but[1]);
+            }
+        }
+        if (butChoisi < 0) {
+            return Chemin.INTROUVABLE;
+        }
+
+        // Points de passage du chemin abstrait, du départ au but
+        ArrayList<Integer> points = new ArrayList<>();
+        points.add(butChoisi);
+        for (int v = parent[noeudBut]; v != noeudDepart; v = parent[v]) {
+            points.add(v);
+        }
+        points.add(depart);
+        Collections.reverse(points);
+        int[] pointsPassage = points.stream().mapToInt(Integer::intValue).toArray();
+        return new Chemin(raffiner(graphe, pointsPassage), cout[noeudBut]);
+    }
+
+    /**
+     * Retourne le nombre de noeuds abstraits développés lors de la dernière recherche.
+     *
+     * @return le nombre de noeuds explorés
+     */
+    @Override
+    public int getNbNoeudsExplores() {
+        return nbNoeudsExplores;
+    }
+
+    /**
+     * Marque le cluster de la case (et le voisin concerné si la case est sur une frontière) comme
+     * à recalculer pour chaque profil.
+     */
+    @Override
+    public void natureModifiee(Case c, NatureTerrain ancienne) {
+        int col = c.getColonne();
+        int lig = c.getLigne();
+        int cx = col / tailleCluster;
+        int cy = lig / tailleCluster;
+        for (Graphe graphe : graphes.values()) {
+            graphe.salir(cx, cy);
+            if (col % tailleCluster == 0) {
+                graphe.salir(cx - 1, cy);
+            }
+            if (col % tailleCluster == tailleCluster - 1) {
+                graphe.salir(cx + 1, cy);
+            }
+            if (lig % tailleCluster == 0) {
+                graphe.salir(cx, cy - 1);
+            }
+            if (lig % tailleCluster == tailleCluster - 1) {
+                graphe.salir(cx, cy + 1);
+            }
+        }
+    }
+
+    private boolean relacher(int u, int v, int poids, int arrivee, int tempsMin) {
+        if (poids == Integer.MAX_VALUE) {
+            return false;
+        }
+        int nouveau = cout[u] + poids;
+        if (generation[v] == generationCourante && (ferme[v] || nouveau >= cout[v])) {
+            return false;
+        }
+        atteindre(v, nouveau, u);
+        int h = v == noeudBut ? 0 : Math.max(0, OutilsGrille.manhattan(v, arrivee, nbLignes) - 1) * tempsMin;
+        ouverts.ajouter(v, nouveau + h);
+        return true;
+    }
+
+    private void atteindre(int noeud, int c, int p) {
+        generation[noeud] = generationCourante;
+        cout[noeud] = c;
+        parent[noeud] = p;
+        ferme[noeud] = false;
+    }
+
+    private void nouvelleGeneration() {
+        generationCourante++;
+        if (generationCourante == 0) {
+            Arrays.fill(generation, 0);
+            generationCourante = 1;
+        }
+    }
+
+    /**
+     * Cases à atteindre : la cible si elle est praticable, sinon ses voisines praticables.
+     */
+    private int[] buts(ProfilVitesse profil, int cible) {
+        if (profil.estPraticable(nature(cible))) {
+            return new int[]{cible};
+        }
+        int[] res = new int[OutilsGrille.DIRECTIONS.length];
+        int n = 0;
+        for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+            int v = OutilsGrille.voisin(cible, dir, nbLignes, nbColones);
+            if (v >= 0 && profil.estPraticable(nature(v))) {
+                res[n++] = v;
+            }
+        }
+        return Arrays.copyOf(res, n);
+    }
+
+    private Graphe getGraphe(ProfilVitesse profil) {
+        Graphe graphe = graphes.get(profil);
+        if (graphe == null) {
+            graphe = new Graphe(profil);
+            graphes.put(profil, graphe);
+        }
+        graphe.mettreAJour();
+        return graphe;
+    }
+
+    private int cluster(int index) {
+        return (index / nbLignes / tailleCluster) * nbClustersY + (index % nbLignes) / tailleCluster;
+    }
+
+    private int colMin(int k) {
+        return (k / nbClustersY) * tailleCluster;
+    }
+
+    private int ligMin(int k) {
+        return (k % nbClustersY) * tailleCluster;
+    }
+
+    private int colMax(int k) {
+        return Math.min(nbColones, colMin(k) + tailleCluster) - 1;
+    }
+
+    private int ligMax(int k) {
+        return Math.min(nbLignes, ligMin(k) + tailleCluster) - 1;
+    }
+
+    private int local(int index, int k) {
+        return (index / nbLignes - colMin(k)) * tailleCluster + (index % nbLignes - ligMin(k));
+    }
+
+    private int global(int local, int k) {
+        return carte.indexCase(colMin(k) + local / tailleCluster, ligMin(k) + local % tailleCluster);
+    }
+
+    /**
+     * Dijkstra restreint à un cluster, depuis plusieurs sources.
+     * En mode inverse, coutLocal donne le temps pour atteindre la source la plus proche
+     * et origineLocale la source atteinte ; sinon le temps depuis la source.
+     */
+    private void dijkstraLocal(Graphe graphe, int k, int[] sources, boolean inverse) {
+        int cMin = colMin(k);
+        int cMax = colMax(k);
+        int lMin = ligMin(k);
+        int lMax = ligMax(k);
+        Arrays.fill(coutLocal, Integer.MAX_VALUE);
+        ouvertsLocaux.vider();
+        for (int s : sources) {
+            int l = local(s, k);
+            coutLocal[l] = 0;
+            origineLocale[l] = s;
+            directionLocale[l] = (byte) OutilsGrille.AUCUNE_DIRECTION;
+            ouvertsLocaux.ajouter(s, 0);
+        }
+        while (!ouvertsLocaux.estVide()) {
+            int d = ouvertsLocaux.cleMin();
+            int u = ouvertsLocaux.retirerMin();
+            int lu = local(u, k);
+            if (d > coutLocal[lu]) {
+                continue;
+            }
+            for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+                int v = OutilsGrille.voisin(u, dir, nbLignes, nbColones);
+                if (v < 0) {
+                    continue;
+                }
+                int col = v / nbLignes;
+                int lig = v % nbLignes;
+                if (col < cMin || col > cMax || lig < lMin || lig > lMax) {
+                    continue;
+                }
+                int tempsV = graphe.tempsTerrain[nature(v).ordinal()];
+                if (tempsV == Integer.MAX_VALUE) {
+                    continue;
+                }
+                int nouveau = d + (inverse ? graphe.tempsTerrain[nature(u).ordinal()] : tempsV);
+                int lv = local(v, k);
+                if (nouveau < coutLocal[lv]) {
+                    coutLocal[lv] = nouveau;
+                    origineLocale[lv] = origineLocale[lu];
+                    directionLocale[lv] = (byte) dir;
+                    ouvertsLocaux.ajouter(v, nouveau);
+                }
+            }
+        }
+    }
+
+    private NatureTerrain nature(int index) {
+        return carte.getNature(index);
+    }
+
+    /**
+     * Graphe abstrait d'un profil de vitesse.
+     */
+    private final class Graphe {
+        private final int[] tempsTerrain;
+        private final Cluster[] clusters;
+        private final ArrayDeque<Integer> aRecalculer = new ArrayDeque<>();
+
+        private Graphe(ProfilVitesse profil) {
+            this.tempsTerrain = profil.tempsParTerrain(carte.getTailleCase());
+            this.clusters = new Cluster[nbClustersX * nbClustersY];
+            for (int k = 0; k < clusters.length; k++) {
+                clusters[k] = new Cluster();
+                aRecalculer.add(k);
+                clusters[k].sale = true;
+            }
+        }
+
+        private void salir(int cx, int cy) {
+            if (cx < 0 || cy < 0 || cx >= nbClustersX || cy >= nbClustersY) {
+                return;
+            }
+            int k = cx * nbClustersY + cy;
+            if (!clusters[k].sale) {
+                clusters[k].sale = true;
+                aRecalculer.add(k);
+            }
+        }
+
+        private void mettreAJour() {
+            while (!aRecalculer.isEmpty()) {
+                int k = aRecalculer.poll();
+                construire(k);
+                clusters[k].sale = false;
+            }
+        }
+
+        /**
+         * Calcule les entrées du cluster sur ses quatre frontières, puis les coûts internes entre entrées.
+         */
+        private void construire(int k) {
+            LinkedHashMap<Integer, List<Integer>> partenaires = new LinkedHashMap<>();
+            int cMin = colMin(k);
+            int cMax = colMax(k);
+            int lMin = ligMin(k);
+            int lMax = ligMax(k);
+            if (cMin > 0) {
+                frontiere(partenaires, cMin, lMin, cMin - 1, lMin, 0, 1, lMax - lMin + 1);
+            }
+            if (cMax < nbColones - 1) {
+                frontiere(partenaires, cMax, lMin, cMax + 1, lMin, 0, 1, lMax - lMin + 1);
+            }
+            if (lMin > 0) {
+                frontiere(partenaires, cMin, lMin, cMin, lMin - 1, 1, 0, cMax - cMin + 1);
+            }
+            if (lMax < nbLignes - 1) {
+                frontiere(partenaires, cMin, lMax, cMin, lMax + 1, 1, 0, cMax - cMin + 1);
+            }
+
+            Cluster c = clusters[k];
+            int n = partenaires.size();
+            c.entrees = new int[n];
+            c.partenaires = new int[n][];
+            int i = 0;
+            for (Map.Entry<Integer, List<Integer>> e : partenaires.entrySet()) {
+                c.entrees[i] = e.getKey();
+                c.partenaires[i] = e.getValue().stream().mapToInt(Integer::intValue).toArray();
+                i++;
+            }
+            c.couts = new int[n * n];
+            for (i = 0; i < n; i++) {
+                dijkstraLocal(this, k, new int[]{c.entrees[i]}, false);
+                for (int j = 0; j < n; j++) {
+                    c.couts[i * n + j] = i == j ? Integer.MAX_VALUE : coutLocal[local(c.entrees[j], k)];
+                }
+            }
+        }
+
+        /**
+         * Parcourt une frontière et place des entrées sur chaque segment praticable des deux côtés.
+         * (col, lig) parcourt le bord intérieur du cluster, (colExt, ligExt) le bord du voisin.
+         */
+        private void frontiere(Map<Integer, List<Integer>> partenaires, int col, int lig, int colExt, int ligExt,
+                               int pasCol, int pasLig, int longueur) {
+            int debut = -1;
+            for (int i = 0; i <= longueur; i++) {
+                boolean ouvert = i < longueur
+                        && tempsTerrain[carte.getNature(carte.indexCase(col + i * pasCol, lig + i * pasLig)).ordinal()] != Integer.MAX_VALUE
+                        && tempsTerrain[carte.getNature(carte.indexCase(colExt + i * pasCol, ligExt + i * pasLig)).ordinal()] != Integer.MAX_VALUE;
+                if (ouvert && debut < 0) {
+                    debut = i;
+                } else if (!ouvert && debut >= 0) {
+                    int fin = i - 1;
+                    if (fin - debut + 1 < LONGUEUR_ENTREE_UNIQUE) {
+                        ajouterEntree(partenaires, col, lig, colExt, ligExt, pasCol, pasLig, (debut + fin) / 2);
+                    } else {
+                        ajouterEntree(partenaires, col, lig, colExt, ligExt, pasCol, pasLig, debut);
+                        ajouterEntree(partenaires, col, lig, colExt, ligExt, pasCol, pasLig, fin);
+                    }
+                    debut = -1;
+                }
+            }
+        }
+
+        private void ajouterEntree(Map<Integer, List<Integer>> partenaires, int col, int lig, int colExt, int ligExt,
+                                   int pasCol, int pasLig, int i) {
+            int entree = carte.indexCase(col + i * pasCol, lig + i * pasLig);
+            int partenaire = carte.indexCase(colExt + i * pasCol, ligExt + i * pasLig);
+            partenaires.computeIfAbsent(entree, e -> new ArrayList<>()).add(partenaire);
+        }
+    }
+
+    /**
+     * Entrées d'un cluster, leurs partenaires dans les clusters voisins et les coûts internes.
+     */
+    private static final class Cluster {
+        private int[] entrees = new int[0];
+        private int[][] partenaires = new int[0][];
+        private int[] couts = new int[0]; // couts[i * n + j] : temps de l'entrée i à l'entrée j
+        private boolean sale;
+
+        private int indiceEntree(int index) {
+            for (int i = 0; i < entrees.length; i++) {
+                if (entrees[i] == index) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Calcule les directions case par case du chemin abstrait : un pas entre deux entrées qui se font face,
+     * le plus court chemin interne au cluster entre deux points d'un même cluster.
+     *
+     * @param graphe        le graphe abstrait du profil, à jour
+     * @param pointsPassage les points de passage du chemin abstrait, du départ au but
+     * @return les directions à suivre
+     */
+    private List<Direction> raffiner(Graphe graphe, int[] pointsPassage) {
+        ArrayList<Direction> res = new ArrayList<>();
+        for (int i = 0; i + 1 < pointsPassage.length; i++) {
+            int a = pointsPassage[i];
+            int b = pointsPassage[i + 1];
+            int k = cluster(a);
+            if (k != cluster(b)) {
+                res.add(direction(a, b));
+            } else if (a != b) {
+                dijkstraLocal(graphe, k, new int[]{a}, false);
+                List<Direction> segment = new ArrayList<>();
+                for (int courant = b; courant != a; ) {
+                    int dir = directionLocale[local(courant, k)];
+                    segment.add(OutilsGrille.DIRECTIONS[dir]);
+                    courant = OutilsGrille.voisin(courant, OutilsGrille.opposee(dir), nbLignes, nbColones);
+                }
+                Collections.reverse(segment);
+                res.addAll(segment);
+            }
+        }
+        return res;
+    }
+
+    private Direction direction(int a, int b) {
+        for (int dir = 0; dir < OutilsGrille.DIRECTIONS.length; dir++) {
+            if (OutilsGrille.voisin(a, dir, nbLignes, nbColones) == b) {
+                return OutilsGrille.DIRECTIONS[dir];
+            }
+        }
+        throw new IllegalStateException("Points de passage non adjacents : " + a + ", " + b);
+    }
+}
@@ -0,0 +1,64 @@
+package simulation.chemin;
+
+import simulation.environment.Case;
+
+/**
+ * Résultat d'une recherche de la cible la plus proche parmi plusieurs cases.
+ */
+public class ResultatPlusProche {
+    /** Résultat lorsqu'aucune cible n'est accessible. */
+    public static final ResultatPlusProche AUCUNE = new ResultatPlusProche(-1, null, Chemin.INTROUVABLE);
+
+    private final int indiceCible; // Indice de la cible retenue dans la liste fournie
+    private final Case cible;
+    private final Chemin chemin;
+
+    /**
+     * Constructeur de la classe ResultatPlusProche.
+     *
+     * @param indiceCible indice de la cible retenue dans la liste des cibles
+     * @param cible       la case de la cible retenue
+     * @param chemin      le chemin vers cette cible
+     */
+    public ResultatPlusProche(int indiceCible, Case cible, Chemin chemin) {
+        this.indiceCible = indiceCible;
+        this.cible = cible;
+        this.chemin = chemin;
+    }
+
+    /**
+     * Retourne l'indice de la cible retenue dans la liste fournie à la recherche.
+     *
+     * @return l'indice de la cible, ou -1 si aucune cible n'est accessible
+     */
+    public int getIndiceCible() {
+        return indiceCible;
+    }
+
+    /**
+     * Retourne la case de la cible la plus proche.
+     *
+     * @return la case retenue, ou null si aucune cible n'est accessible
+     */
+    public Case getCible() {
+        return cible;
+    }
+
+    /**
+     * Retourne le chemin vers la cible la plus proche.
+     *
+     * @return le chemin, ou {@link Chemin#INTROUVABLE} si aucune cible n'est accessible
+     */
+    public Chemin getChemin() {
+        return chemin;
+    }
+
+    /**
+     * Indique si une cible accessible a été trouvée.
+     *
+     * @return true si une cible a été trouvée
+     */
+    public boolean estTrouve() {
+        return indiceCible >= 0;
+    }
+}
@@ -0,0 +1,140 @@
+package simulation.chemin;
+
+import java.util.Arrays;
+
+/**
+ * Table de hachage à adressage ouvert de clés long vers des valeurs long, sans objet par entrée.
+ * Les collisions sont résolues par sondage linéaire et les suppressions par décalage arrière,
+ * sans marqueur de case supprimée. La clé {@link Long#MIN_VALUE} est réservée.
+ */
+final class TableHachageLong {
+    static final long ABSENTE = Long.MIN_VALUE;
+
+    private long[] cles;
+    private long[] valeurs;
+    private int taille;
+
+    /**
+     * Crée une table vide.
+     *
+     * @param capaciteInitiale nombre d'entrées prévu
+     */
+    TableHachageLong(int capaciteInitiale) {
+        int capacite = Integer.highestOneBit(Math.max(8, capaciteInitiale * 2 - 1)) * 2;
+        cles = new long[capacite];
+        valeurs = new long[capacite];
+        Arrays.fill(cles, ABSENTE);
+    }
+
+    /**
+     * Retourne la valeur associée à une clé.
+     *
+     * @param cle    la clé
+     * @param defaut la valeur retournée si la clé est absente
+     * @return la valeur associée, ou defaut
+     */
+    long get(long cle, long defaut) {
+        int masque = cles.length - 1;
+        for (int i = position(cle, masque); ; i = (i + 1) & masque) {
+            if (cles[i] == cle) {
+                return valeurs[i];
+            }
+            if (cles[i] == ABSENTE) {
+                return defaut;
+            }
+        }
+    }
+
+    /**
+     * Associe une valeur à une clé, en remplaçant la valeur précédente.
+     *
+     * @param cle    la clé
+     * @param valeur la valeur
+     */
+    void put(long cle, long valeur) {
+        if (2 * (taille + 1) > cles.length) {
+            agrandir();
+        }
+        int masque = cles.length - 1;
+        int i = position(cle, masque);
+        while (cles[i] != ABSENTE && cles[i] != cle) {
+            i = (i + 1) & masque;
+        }
+        if (cles[i] == ABSENTE) {
+            cles[i] = cle;
+            taille++;
+        }
+        valeurs[i] = valeur;
+    }
+
+    /**
+     * Retire une clé de la table.
+     *
+     * @param cle la clé
+     * @return true si la clé était présente
+     */
+    boolean remove(long cle) {
+        int masque = cles.length - 1;
+        int i = position(cle, masque);
+        while (cles[i] != cle) {
+            if (cles[i] == ABSENTE) {
+                return false;
+            }
+            i = (i + 1) & masque;
+        }
+        // Décalage arrière : les entrées suivantes du même groupe se rapprochent de leur position idéale
+        int trou = i;
+        for (int j = (i + 1) & masque; cles[j] != ABSENTE; j = (j + 1) & masque) {
+            int ideale = position(cles[j], masque);
+            if (((j - ideale) & masque) >= ((j - trou) & masque)) {
+                cles[trou] = cles[j];
+                valeurs[trou] = valeurs[j];
+                trou = j;
+            }
+        }
+        cles[trou] = ABSENTE;
+        taille--;
+        return true;
+    }
+
+    /**
+     * Retourne le nombre d'entrées de la table.
+     *
+     * @return le nombre d'entrées
+     */
+    int taille() {
+        return taille;
+    }
+
+    /**
+     * Vide la table en conservant sa capacité.
+     */
+    void vider() {
+        Arrays.fill(cles, ABSENTE);
+        taille = 0;
+    }
+
+    private void agrandir() {
+        long[] anciennesCles = cles;
+        long[] anciennesValeurs = valeurs;
+        cles = new long[anciennesCles.length * 2];
+        valeurs = new long[anciennesCles.length * 2];
+        Arrays.fill(cles, ABSENTE);
+        int masque = cles.length - 1;
+        for (int k = 0; k < anciennesCles.length; k++) {
+            if (anciennesCles[k] != ABSENTE) {
+                int i = position(anciennesCles[k], masque);
+                while (cles[i] != ABSENTE) {
+                    i = (i + 1) & masque;
+                }
+                cles[i] = anciennesCles[k];
+                valeurs[i] = anciennesValeurs[k];
+            }
+        }
+    }
+
+    private static int position(long cle, int masque) {
+        long z = cle * 0x9E3779B97F4A7C15L;
+        return (int) (z ^ (z >>> 32)) & masque;
+    }
+}
@@ -0,0 +1,214 @@
+package simulation.chemin;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Table de réservation espace-temps : quelle case est tenue par quel robot, créneau par créneau.
+ * Le temps est découpé en créneaux de durée fixe ; un créneau est réservé pour une case par au plus
+ * un robot. Les réservations sont rangées dans une table de hachage primitive indexée par le couple
+ * (case, créneau).
+ *
+ * Un robot arrivé à destination y stationne pour une durée indéterminée : le stationnement bloque la case
+ * pour les autres robots à partir de son créneau de début, sans réserver un créneau par unité de temps.
+ */
+public class TableReservations {
+    private static final int AUCUN = -1;
+
+    private final int dureeCreneau; // Durée d'un créneau, dans l'unité des dates de la simulation
+    private final TableHachageLong creneaux = new TableHachageLong(1024); // (case, créneau) -> robot
+    private final TableHachageLong stationnements = new TableHachageLong(64); // case -> robot et créneau de début
+    private final TableHachageLong derniers = new TableHachageLong(1024); // case -> dernier créneau réservé
+    private final Map<Integer, Reservations> parRobot = new HashMap<>();
+
+    /**
+     * Constructeur de la classe TableReservations.
+     *
+     * @param dureeCreneau la durée d'un créneau, dans l'unité des dates de la simulation
+     */
+    public TableReservations(int dureeCreneau) {
+        if (dureeCreneau <= 0) {
+            throw new IllegalArgumentException("Durée de créneau invalide : " + dureeCreneau);
+        }
+        this.dureeCreneau = dureeCreneau;
+    }
+
+    /**
+     * Retourne la durée d'un créneau.
+     *
+     * @return la durée d'un créneau
+     */
+    public int getDureeCreneau() {
+        return dureeCreneau;
+    }
+
+    /**
+     * Retourne le créneau contenant une date.
+     *
+     * @param date la date
+     * @return le numéro du créneau
+     */
+    public long creneau(long date) {
+        return date / dureeCreneau;
+    }
+
+    /**
+     * Indique si une case est libre pour un robot pendant un créneau : ni réservée ni occupée par
+     * le stationnement d'un autre robot.
+     *
+     * @param index   indice de la case
+     * @param creneau le créneau
+     * @param robot   identifiant du robot demandeur
+     * @return true si la case est libre ou tenue par ce robot
+     */
+    public boolean estLibre(int index, long creneau, int robot) {
+        long tenant = creneaux.get(cle(index, creneau), AUCUN);
+        if (tenant != AUCUN && tenant != robot) {
+            return false;
+        }
+        long stationnement = stationnements.get(index, TableHachageLong.ABSENTE);
+        return stationnement == TableHachageLong.ABSENTE || (int) stationnement == robot
+                || (stationnement >>> 32) > creneau;
+    }
+
+    /**
+     * Indique si un robot peut stationner sur une case à partir d'un créneau : la case est libre
+     * à ce créneau et à tous les suivants.
+     *
+     * @param index   indice de la case
+     * @param creneau le premier créneau du stationnement
+     * @param robot   identifiant du robot demandeur
+     * @return true si la case est libre à partir de ce créneau
+     */
+    public boolean estLibreDepuis(int index, long creneau, int robot) {
+        long stationnement = stationnements.get(index, TableHachageLong.ABSENTE);
+        if (stationnement != TableHachageLong.ABSENTE && (int) stationnement != robot) {
+            return false;
+        }
+        long dernier = derniers.get(index, AUCUN);
+        for (long c = creneau; c <= dernier; c++) {
+            long tenant = creneaux.get(cle(index, c), AUCUN);
+            if (tenant != AUCUN && tenant != robot) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Réserve une case pour un robot sur un intervalle de créneaux.
+     *
+     * @param index indice de la case
+     * @param debut premier créneau réservé
+     * @param fin   dernier créneau réservé (inclus)
+     * @param robot identifiant du robot
+     * @throws IllegalStateException si un des créneaux est déjà tenu par un autre robot
+     */
+    public void reserver(int index, long debut, long fin, int robot) {
+        for (long c = debut; c <= fin; c++) {
+            if (!estLibre(index, c, robot)) {
+                throw new IllegalStateException("Case " + index + " déjà réservée au créneau " + c);
+            }
+        }
+        Reservations reservations = parRobot.computeIfAbsent(robot, id -> new Reservations());
+        for (long c = debut; c <= fin; c++) {
+            long cle = cle(index, c);
+            if (creneaux.get(cle, AUCUN) == AUCUN) {
+                creneaux.put(cle, robot);
+                reservations.ajouter(cle);
+            }
+        }
+        if (derniers.get(index, AUCUN) < fin) {
+            derniers.put(index, fin);
+        }
+    }
+
+    /**
+     * Fait stationner un robot sur une case à partir d'un créneau, en remplaçant son stationnement précédent.
+     *
+     * @param index indice de la case
+     * @param debut premier créneau du stationnement
+     * @param robot identifiant du robot
+     * @throws IllegalStateException si un autre robot stationne déjà sur la case
+     */
+    public void stationner(int index, long debut, int robot) {
+        long stationnement = stationnements.get(index, TableHachageLong.ABSENTE);
+        if (stationnement != TableHachageLong.ABSENTE && (int) stationnement != robot) {
+            throw new IllegalStateException("Case " + index + " déjà occupée par le robot " + (int) stationnement);
+        }
+        Reservations reservations = parRobot.computeIfAbsent(robot, id -> new Reservations());
+        if (reservations.stationnement != AUCUN) {
+            stationnements.remove(reservations.stationnement);
+        }
+        reservations.stationnement = index;
+        stationnements.put(index, (debut << 32) | Integer.toUnsignedLong(robot));
+    }
+
+    /**
+     * Retire toutes les réservations et le stationnement d'un robot, avant de replanifier son trajet.
+     *
+     * @param robot identifiant du robot
+     */
+    public void liberer(int robot) {
+        Reservations reservations = parRobot.remove(robot);
+        if (reservations == null) {
+            return;
+        }
+        for (int i = 0; i < reservations.nb; i++) {
+            creneaux.remove(reservations.cles[i]);
+        }
+        if (reservations.stationnement != AUCUN) {
+            stationnements.remove(reservations.stationnement);
+        }
+    }
+
+    /**
+     * Oublie les réservations des créneaux passés, pour borner la taille de la table.
+     *
+     * @param creneau le premier créneau à conserver
+     */
+    public void purger(long creneau) {
+        for (Reservations reservations : parRobot.values()) {
+            int conservees = 0;
+            for (int i = 0; i < reservations.nb; i++) {
+                long cle = reservations.cles[i];
+                if ((cle >>> 32) < creneau) {
+                    creneaux.remove(cle);
+                } else {
+                    reservations.cles[conservees++] = cle;
+                }
+            }
+            reservations.nb = conservees;
+        }
+    }
+
+    /**
+     * Retourne le nombre de couples (case, créneau) réservés.
+     *
+     * @return le nombre de réservations
+     */
+    public int getNbReservations() {
+        return creneaux.taille();
+    }
+
+    private static long cle(int index, long creneau) {
+        return (creneau << 32) | index;
+    }
+
+    /**
+     * Réservations d'un robot, pour les retirer d'un coup.
+     */
+    private static final class Reservations {
+        private long[] cles = new long[16];
+        private int nb;
+        private int stationnement = AUCUN; // Case de stationnement, AUCUN si le robot ne stationne pas
+
+        private void ajouter(long cle) {
+            if (nb == cles.length) {
+                cles = Arrays.copyOf(cles, nb * 2);
+            }
+            cles[nb++] = cle;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package simulation.chemin;
+
+import java.util.Arrays;
+
+/**
+ * Tas binaire minimum sur des entiers primitifs (noeud, clé), sans allocation d'objets.
+ * La mise à jour d'une clé se fait par réinsertion : les entrées périmées doivent être
+ * ignorées par l'appelant lorsqu'elles sont retirées.
+ */
+public class TasMinimum {
+    private int[] noeuds;
+    private int[] cles;
+    private int taille;
+
+    /**
+     * Constructeur de la classe TasMinimum.
+     *
+     * @param capaciteInitiale capacité initiale du tas
+     */
+    public TasMinimum(int capaciteInitiale) {
+        int capacite = Math.max(16, capaciteInitiale);
+        this.noeuds = new int[capacite];
+        this.cles = new int[capacite];
+        this.taille = 0;
+    }
+
+    /**
+     * Ajoute un noeud avec sa clé.
+     *
+     * @param noeud le noeud à ajouter
+     * @param cle   la priorité du noeud (plus petite = prioritaire)
+     */
+    public void ajouter(int noeud, int cle) {
+        if (taille == noeuds.length) {
+            noeuds = Arrays.copyOf(noeuds, taille * 2);
+            cles = Arrays.copyOf(cles, taille * 2);
+        }
+        int i = taille++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (cles[parent] <= cle) {
+                break;
+            }
+            noeuds[i] = noeuds[parent];
+            cles[i] = cles[parent];
+            i = parent;
+        }
+        noeuds[i] = noeud;
+        cles[i] = cle;
+    }
+
+    /**
+     * Retourne la clé minimale sans retirer le noeud.
+     *
+     * @return la clé du sommet du tas
+     */
+    public int cleMin() {
+        return cles[0];
+    }
+
+    /**
+     * Retourne le noeud de clé minimale sans le retirer.
+     *
+     * @return le noeud au sommet du tas
+     */
+    public int noeudMin() {
+        return noeuds[0];
+    }
+
+    /**
+     * Retire le noeud de clé minimale.
+     *
+     * @return le noeud retiré
+     */
+    public int retirerMin() {
+        int res = noeuds[0];
+        int dernierNoeud = noeuds[--taille];
+        int derniereCle = cles[taille];
+        int i = 0;
+        int moitie = taille >>> 1;
+        while (i < moitie) {
+            int enfant = 2 * i + 1;
+            if (enfant + 1 < taille && cles[enfant + 1] < cles[enfant]) {
+                enfant++;
+            }
+            if (derniereCle <= cles[enfant]) {
+                break;
+            }
+            noeuds[i] = noeuds[enfant];
+            cles[i] = cles[enfant];
+            i = enfant;
+        }
+        noeuds[i] = dernierNoeud;
+        cles[i] = derniereCle;
+        return res;
+    }
+
+    /**
+     * Indique si le tas est vide.
+     *
+     * @return true si le tas ne contient aucun noeud
+     */
+    public boolean estVide() {
+        return taille == 0;
+    }
+
+    /**
+     * Retourne le nombre d'entrées dans le tas (entrées périmées comprises).
+     *
+     * @return la taille du tas
+     */
+    public int taille() {
+        return taille;
+    }
+
+    /**
+     * Vide le tas en conservant sa capacité.
+     */
+    public void vider() {
+        taille = 0;
+    }
+}
@@ -0,0 +1,53 @@
+package simulation.chemin;
+
+import simulation.environment.Direction;
+
+import java.util.List;
+
+/**
+ * Chemin réservé dans une {@link TableReservations} : chaque déplacement a une date de départ, et les
+ * attentes nécessaires pour laisser passer les autres robots sont les intervalles entre l'arrivée
+ * d'un déplacement et le départ du suivant.
+ */
+public class TrajetReserve extends Chemin {
+    private final long[] datesDepart; // Date de départ de chaque déplacement
+    private final long dateArrivee; // Date d'arrivée sur la case finale
+
+    /**
+     * Constructeur de la classe TrajetReserve.
+     *
+     * @param directions  la liste des directions à suivre
+     * @param datesDepart la date de départ de chaque déplacement
+     * @param dateArrivee la date d'arrivée sur la case finale
+     * @param temps       le temps de déplacement en secondes, attentes non comprises
+     */
+    public TrajetReserve(List<Direction> directions, long[] datesDepart, long dateArrivee, int temps) {
+        super(directions, temps);
+        this.datesDepart = datesDepart;
+        this.dateArrivee = dateArrivee;
+    }
+
+    /**
+     * Retourne la date de départ d'un déplacement.
+     *
+     * @param i le rang du déplacement
+     * @return la date à laquelle le robot doit commencer ce déplacement
+     */
+    public long getDateDepart(int i) {
+        return datesDepart[i];
+    }
+
+    /**
+     * Retourne la date d'arrivée sur la case finale.
+     *
+     * @return la date d'arrivée
+     */
+    public long getDateArrivee() {
+        return dateArrivee;
+    }
+
+    @Override
+    public String toString() {
+        return "TrajetReserve{temps=" + getTemps() + ", arrivee=" + dateArrivee + ", directions=" + getDirections() + '}';
+    }
+}
@@ -2,13 +2,19 @@ package simulation.environment;
 
 import simulation.Setting;
 import java.util.ArrayList;
+import java.util.List;
 
 public class Carte {
+    private static final NatureTerrain[] NATURES = NatureTerrain.values();
+
     private final int nbLignes; // Nombre de lignes dans la carte
     private final int nbColones; // Nombre de colonnes dans la carte
-    private final Case[][] cases; // Matrice de cases représentant la carte
+    private final Case[][] cases; // Matrice de cases représentant la carte, null en mode compact
+    private final StockageCases stockage; // Stockage compact des cases, null si la carte est une matrice de cases
 
-    private static final ArrayList<Case> sourceEauList = new ArrayList<>(); // Liste des cases d'eau
+    private final ArrayList<Case> sourceEauList = new ArrayList<>(); // Liste des cases d'eau de cette carte
+    private final List<ObservateurTerrain> observateurs = new ArrayList<>(); // Observateurs des changements de terrain
+    private int finRemplissage; // Cases [0, finRemplissage) remplies en bloc sur la carte vierge, -1 si le terrain a été modifié autrement
 
     /**
      * Constructeur de la classe Carte.
@@ -23,6 +29,7 @@ public class Carte {
 
         // Initialisation de la matrice des cases
         this.cases = new Case[nbColones][nbLignes];
+        this.stockage = null;
 
         // Création des objets Case avec un terrain par défaut
         for (int i = 0; i < nbColones; i++) {
@@ -33,19 +40,160 @@ public class Carte {
     }
 
     /**
-     * Définit la nature d'une case spécifique et ajoute les sources d'eau à la liste.
+     * Constructeur d'une carte dont l'état des cases est conservé dans un stockage externe
+     * (par exemple {@link StockageCompact}) plutôt que dans une matrice d'objets Case.
+     * Les cases renvoyées par {@link #getCase(int, int)} sont alors des vues créées à la demande :
+     * deux vues sur la même case sont égales au sens de equals() mais pas de ==.
+     *
+     * Le stockage peut déjà contenir un terrain (fichier de tuiles rouvert, stockage rempli à l'avance) :
+     * ses sources d'eau sont relevées, et les états de cases laissés par une exécution précédente
+     * (OCCUPIED, TARGETED) sont remis à LIBRE, aucun robot n'étant encore placé sur la carte.
+     *
+     * @param nbLignes  nombre de lignes de la carte
+     * @param nbColones nombre de colonnes de la carte
+     * @param stockage  stockage des cases, dimensionné pour nbLignes * nbColones cases
+     */
+    public Carte(int nbLignes, int nbColones, StockageCases stockage) {
+        this.nbLignes = nbLignes;
+        this.nbColones = nbColones;
+        this.cases = null;
+        this.stockage = stockage;
+
+        // Relevé du terrain déjà présent dans le stockage
+        int nbCases = nbLignes * nbColones;
+        for (int i = 0; i < nbCases; i++) {
+            NatureTerrain nature = stockage.getNature(i);
+            if (nature != NatureTerrain.TERRAIN_LIBRE) {
+                finRemplissage = -1; // Terrain déjà défini : les chargements passent par setCaseNature
+                if (nature == NatureTerrain.EAU) {
+                    sourceEauList.add(getCase(i));
+                }
+            }
+            if (stockage.getState(i) != CaseState.LIBRE) {
+                stockage.setState(i, CaseState.LIBRE);
+            }
+        }
+    }
+
+    /**
+     * Définit la nature d'une case spécifique et tient à jour la liste des sources d'eau.
      *
      * @param colone        indice de la colonne de la case
      * @param ligne         indice de la ligne de la case
      * @param natureTerrain type de terrain à affecter à la case
      */
     public void setCaseNature(int colone, int ligne, NatureTerrain natureTerrain) {
-        this.cases[colone][ligne].setNature(natureTerrain);
-        if (natureTerrain == NatureTerrain.EAU) {
-            sourceEauList.add(this.cases[colone][ligne]);
+        Case c = this.getCase(colone, ligne);
+        NatureTerrain ancienne = c.getNature();
+        c.setNature(natureTerrain);
+        if (ancienne != natureTerrain) {
+            finRemplissage = -1;
+            if (natureTerrain == NatureTerrain.EAU) {
+                sourceEauList.add(c);
+            } else if (ancienne == NatureTerrain.EAU) {
+                sourceEauList.remove(c);
+            }
+            for (ObservateurTerrain observateur : observateurs) {
+                observateur.natureModifiee(c, ancienne);
+            }
+        }
+    }
+
+    /**
+     * Définit en bloc la nature de cases consécutives, dans l'ordre des indices de la carte, à partir des
+     * ordinaux de {@link NatureTerrain}. Destinée au chargement : tant que la carte n'a pas d'observateur et n'a été
+     * remplie que par des blocs successifs depuis la case 0, le terrain est copié directement dans le stockage et
+     * les sources d'eau sont relevées au passage ; sinon, chaque case passe par
+     * {@link #setCaseNature(int, int, NatureTerrain)}.
+     *
+     * @param debut    indice de la première case
+     * @param ordinaux ordinaux des natures
+     * @param decalage position du premier ordinal dans le tableau
+     * @param longueur nombre de cases à définir
+     * @throws IllegalArgumentException si un ordinal ne correspond à aucune nature
+     */
+    public void remplirNatures(int debut, byte[] ordinaux, int decalage, int longueur) {
+        int nbNatures = NATURES.length;
+        for (int i = decalage; i < decalage + longueur; i++) {
+            if (ordinaux[i] < 0 || ordinaux[i] >= nbNatures) {
+                throw new IllegalArgumentException("Nature de terrain inconnue : " + ordinaux[i]
+                        + " (case " + (debut + i - decalage) + ")");
+            }
+        }
+        if (!observateurs.isEmpty() || debut != finRemplissage) {
+            for (int i = 0; i < longueur; i++) {
+                int index = debut + i;
+                setCaseNature(index / nbLignes, index % nbLignes, NATURES[ordinaux[decalage + i]]);
+            }
+            return;
+        }
+        if (stockage != null) {
+            stockage.setNatures(debut, ordinaux, decalage, longueur);
+        } else {
+            for (int i = 0; i < longueur; i++) {
+                int index = debut + i;
+                cases[index / nbLignes][index % nbLignes].setNature(NATURES[ordinaux[decalage + i]]);
+            }
+        }
+        finRemplissage = debut + longueur;
+        byte eau = (byte) NatureTerrain.EAU.ordinal();
+        for (int i = 0; i < longueur; i++) {
+            if (ordinaux[decalage + i] == eau) {
+                sourceEauList.add(getCase(debut + i));
+            }
         }
     }
 
+    /**
+     * Enregistre un observateur notifié à chaque changement de nature d'une case.
+     *
+     * @param observateur observateur à ajouter
+     */
+    public void addObservateur(ObservateurTerrain observateur) {
+        observateurs.add(observateur);
+    }
+
+    /**
+     * Retire un observateur précédemment enregistré.
+     *
+     * @param observateur observateur à retirer
+     */
+    public void removeObservateur(ObservateurTerrain observateur) {
+        observateurs.remove(observateur);
+    }
+
+    /**
+     * Calcule l'indice linéaire d'une case, utilisé par les structures de données compactes
+     * (tableaux de distances, ensembles de bits...).
+     *
+     * @param col indice de la colonne de la case
+     * @param lig indice de la ligne de la case
+     * @return l'indice col * nbLignes + lig
+     */
+    public int indexCase(int col, int lig) {
+        return col * nbLignes + lig;
+    }
+
+    /**
+     * Calcule l'indice linéaire d'une case.
+     *
+     * @param c la case
+     * @return l'indice de la case dans la carte
+     */
+    public int indexCase(Case c) {
+        return indexCase(c.getColonne(), c.getLigne());
+    }
+
+    /**
+     * Récupère la case correspondant à un indice linéaire.
+     *
+     * @param index indice calculé par {@link #indexCase(int, int)}
+     * @return la case correspondante
+     */
+    public Case getCase(int index) {
+        return getCase(index / nbLignes, index % nbLignes);
+    }
+
     /**
      * Récupère la case située aux coordonnées spécifiées.
      *
@@ -54,9 +202,96 @@ public class Carte {
      * @return la case située aux coordonnées (col, lig)
      */
     public Case getCase(int col, int lig) {
+        if (stockage != null) {
+            return new Case(stockage, indexCase(col, lig), col, lig);
+        }
         return cases[col][lig];
     }
 
+    /**
+     * Retourne la nature du terrain d'une case sans passer par un objet Case.
+     *
+     * @param index indice calculé par {@link #indexCase(int, int)}
+     * @return la nature du terrain de la case
+     */
+    public NatureTerrain getNature(int index) {
+        if (stockage != null) {
+            return stockage.getNature(index);
+        }
+        return cases[index / nbLignes][index % nbLignes].getNature();
+    }
+
+    /**
+     * Retourne l'état d'une case sans passer par un objet Case.
+     *
+     * @param index indice calculé par {@link #indexCase(int, int)}
+     * @return l'état de la case
+     */
+    public CaseState getState(int index) {
+        if (stockage != null) {
+            return stockage.getState(index);
+        }
+        return cases[index / nbLignes][index % nbLignes].getState();
+    }
+
+    /**
+     * Définit l'état d'une case sans passer par un objet Case.
+     *
+     * @param index indice calculé par {@link #indexCase(int, int)}
+     * @param state nouvel état de la case
+     */
+    public void setState(int index, CaseState state) {
+        if (stockage != null) {
+            stockage.setState(index, state);
+        } else {
+            cases[index / nbLignes][index % nbLignes].setState(state);
+        }
+    }
+
+    /**
+     * Indique si la carte utilise un stockage externe et des vues de cases.
+     *
+     * @return true si les cases sont des vues sur un stockage
+     */
+    public boolean estCompacte() {
+        return stockage != null;
+    }
+
+    /**
+     * Annonce au stockage des cases les cases d'un trajet planifié, pour qu'il les charge à l'avance
+     * (voir {@link StockageTuiles}). Sans effet sur une carte matricielle.
+     *
+     * @param depart     case de départ du trajet
+     * @param directions directions successives du trajet
+     */
+    public void prechargerTrajet(Case depart, List<Direction> directions) {
+        if (stockage == null) {
+            return;
+        }
+        int col = depart.getColonne();
+        int lig = depart.getLigne();
+        stockage.precharger(indexCase(col, lig));
+        for (Direction direction : directions) {
+            switch (direction) {
+                case NORD:
+                    lig--;
+                    break;
+                case SUD:
+                    lig++;
+                    break;
+                case OUEST:
+                    col--;
+                    break;
+                case EST:
+                    col++;
+                    break;
+                default:
+                    break;
+            }
+            stockage.precharger(indexCase(col, lig));
+        }
+    }
+
     /**
      * Retourne le nombre de lignes de la carte.
      *
@@ -83,30 +318,21 @@ public class Carte {
      * @return la case voisine dans la direction donnée, ou null si elle n'existe pas
      */
     public Case getVoisin(Case c, Direction direction) {
-        Case res = null;
+        if (!voisinExiste(c, direction)) {
+            return null;
+        }
         switch (direction) {
             case OUEST:
-                if (c.getColonne() >= 1) {
-                    res = cases[c.getColonne() - 1][c.getLigne()];
-                }
-                break;
+                return getCase(c.getColonne() - 1, c.getLigne());
             case EST:
-                if (c.getColonne() <= this.nbColones - 1) {
-                    res = cases[c.getColonne() + 1][c.getLigne()];
-                }
-                break;
+                return getCase(c.getColonne() + 1, c.getLigne());
             case NORD:
-                if (c.getLigne() >= 1) {
-                    res = cases[c.getColonne()][c.getLigne() - 1];
-                }
-                break;
+                return getCase(c.getColonne(), c.getLigne() - 1);
             case SUD:
-                if (c.getLigne() <= this.nbLignes - 1) {
-                    res = cases[c.getColonne()][c.getLigne() + 1];
-                }
-                break;
+                return getCase(c.getColonne(), c.getLigne() + 1);
+            default:
+                return null;
         }
-        return res;
     }
 
     /**
@@ -147,7 +373,7 @@ public class Carte {
      *
      * @return liste des cases contenant de l'eau
      */
-    public static ArrayList<Case> getSourceEauList() {
+    public ArrayList<Case> getSourceEauList() {
         return sourceEauList;
     }
 
@@ -2,12 +2,29 @@ package simulation.environment;
 
 import simulation.robot.Robot;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
 public class Case {
+    private static final VarHandle STATE; // Accès atomique à l'état d'une case qui porte son propre état
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(Case.class, "state", CaseState.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private int ligne; // Ligne de la case dans la carte
     private int colonne; // Colonne de la case dans la carte
     private NatureTerrain nature; // Nature du terrain de la case (e.g., EAU, TERRAIN_LIBRE)
     private Incendie incendie; // Incendie présent sur la case, s'il y en a un
-    private CaseState state; // État de la case (libre ou occupée)
+    private volatile CaseState state; // État de la case (libre ou occupée)
+
+    // Mode vue : l'état de la case est lu et écrit dans le stockage de la carte
+    private final StockageCases stockage; // Stockage de la carte, null si la case porte son propre état
+    private final int index; // Indice de la case dans le stockage
 
     /**
      * Constructeur de la classe Case.
@@ -23,6 +40,24 @@ public class Case {
         this.nature = nature;
         this.state = CaseState.LIBRE;
         this.incendie = null;
+        this.stockage = null;
+        this.index = -1;
+    }
+
+    /**
+     * Constructeur d'une vue légère sur une case d'un stockage compact.
+     * La vue ne contient que ses coordonnées ; nature, état et incendie sont ceux du stockage.
+     *
+     * @param stockage le stockage de la carte
+     * @param index    indice de la case dans le stockage
+     * @param colonne  colonne de la case dans la carte
+     * @param ligne    ligne de la case dans la carte
+     */
+    Case(StockageCases stockage, int index, int colonne, int ligne) {
+        this.ligne = ligne;
+        this.colonne = colonne;
+        this.stockage = stockage;
+        this.index = index;
     }
 
     /**
@@ -49,7 +84,7 @@ public class Case {
      * @return l'incendie sur la case, ou null si aucun incendie n'est présent
      */
     public Incendie getIncendie() {
-        return incendie;
+        return stockage == null ? incendie : stockage.getIncendie(index);
     }
 
     /**
@@ -58,7 +93,7 @@ public class Case {
      * @return la nature du terrain de la case
      */
     public NatureTerrain getNature() {
-        return nature;
+        return stockage == null ? nature : stockage.getNature(index);
     }
 
     /**
@@ -67,7 +102,11 @@ public class Case {
      * @param nature nouvelle nature du terrain pour la case
      */
     public void setNature(NatureTerrain nature) {
-        this.nature = nature;
+        if (stockage == null) {
+            this.nature = nature;
+        } else {
+            stockage.setNature(index, nature);
+        }
     }
 
     /**
@@ -76,7 +115,7 @@ public class Case {
      * @return l'état de la case
      */
     public CaseState getState() {
-        return state;
+        return stockage == null ? state : stockage.getState(index);
     }
 
     /**
@@ -85,7 +124,51 @@ public class Case {
      * @param state nouvel état de la case
      */
     public void setState(CaseState state) {
-        this.state = state;
+        if (stockage == null) {
+            this.state = state;
+        } else {
+            stockage.setState(index, state);
+        }
+    }
+
+    /**
+     * Remplace atomiquement l'état de la case s'il vaut l'état attendu.
+     *
+     * @param attendu l'état attendu
+     * @param nouveau le nouvel état
+     * @return true si l'état a été remplacé, false si la case n'était pas dans l'état attendu
+     */
+    public boolean compareAndSetState(CaseState attendu, CaseState nouveau) {
+        if (stockage == null) {
+            return STATE.compareAndSet(this, attendu, nouveau);
+        }
+        return stockage.compareAndSetState(index, attendu, nouveau);
+    }
+
+    /**
+     * Réserve la case pour un robot qui s'y dirige : passe atomiquement de LIBRE à TARGETED.
+     * Deux robots ne peuvent pas réserver la même case.
+     *
+     * @return true si la case a été réservée, false si elle était déjà réservée ou occupée
+     */
+    public boolean reserver() {
+        return compareAndSetState(CaseState.LIBRE, CaseState.TARGETED);
+    }
+
+    /**
+     * Libère la case quittée par un robot.
+     */
+    public void liberate() {
+        setState(CaseState.LIBRE);
+    }
+
+    /**
+     * Marque la case comme occupée par le robot qui vient d'y arriver.
+     *
+     * @param robot le robot occupant
+     */
+    public void setOccupyingRobot(Robot robot) {
+        setState(CaseState.OCCUPIED);
     }
 
     /**
@@ -94,7 +177,11 @@ public class Case {
      * @param incendie incendie à affecter à la case
      */
     public void setIncendie(Incendie incendie) {
-        this.incendie = incendie;
+        if (stockage == null) {
+            this.incendie = incendie;
+        } else {
+            stockage.setIncendie(index, incendie);
+        }
     }
 
     /**
@@ -103,7 +190,29 @@ public class Case {
      * @return true si un incendie actif est présent, false sinon
      */
     public boolean hasActiveIncendie() {
-        return (this.incendie != null && this.incendie.getEtat() == EtatIncendie.ACTIVE);
+        Incendie i = this.getIncendie();
+        return (i != null && i.getEtat() == EtatIncendie.ACTIVE);
+    }
+
+    /**
+     * Deux vues sur la même case d'un stockage sont égales ; une case qui porte son propre état
+     * n'est égale qu'à elle-même.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (stockage == null || !(o instanceof Case)) {
+            return false;
+        }
+        Case autre = (Case) o;
+        return stockage == autre.stockage && index == autre.index;
+    }
+
+    @Override
+    public int hashCode() {
+        return stockage == null ? System.identityHashCode(this) : index;
     }
 
     /**
@@ -1,5 +1,11 @@
 package simulation.environment;
 
+import simulation.journal.Journal;
+import simulation.journal.TypeEvenementJournal;
+
+import java.util.ArrayList;
+import java.util.List;
+
 public class Incendie {
     private int id;
     private Case position;
@@ -8,6 +14,7 @@ public class Incendie {
     private int coutEau;
     private int coutEauInitial;
     private EtatIncendie etat;
+    private List<ObservateurIncendie> observateurs; // Observateurs des changements d'état, créés au premier ajout
 
     /**
      * Constructeur de la classe Incendie.
@@ -61,17 +68,41 @@ public class Incendie {
     public int reduceCoutEau(int quteEau) {
         if (quteEau < this.coutEau) {
             this.coutEau -= quteEau;
-            System.out.printf("%s Incendie %s: reçoit %d eau, coût actuel = %d \n %s", PrintColor.BLUE, this.id, quteEau, this.coutEau, PrintColor.RESET);
+            Journal.enregistrer(TypeEvenementJournal.INCENDIE_ARROSE, this.id, quteEau, this.coutEau);
             return quteEau;
         } else {
             this.coutEau = 0;
             this.setEtat(EtatIncendie.ETEINT);
             this.position.setIncendie(null);
-            System.out.printf("%s Incendie %d : éteint \n %s", PrintColor.YELLOW, this.id, PrintColor.RESET);
+            Journal.enregistrer(TypeEvenementJournal.INCENDIE_ETEINT, this.id);
             return this.coutEau;
         }
     }
 
+    /**
+     * Retourne la quantité d'eau qui était nécessaire pour éteindre l'incendie à son apparition.
+     *
+     * @return Le coût en eau initial
+     */
+    public int getCoutEauInitial() {
+        return coutEauInitial;
+    }
+
+    /**
+     * Rétablit l'état de l'incendie enregistré dans une sauvegarde.
+     * La case de l'incendie est mise à jour : un incendie éteint n'y figure plus.
+     *
+     * @param coutEau        Le coût en eau restant
+     * @param coutEauInitial Le coût en eau initial
+     * @param etat           L'état de l'incendie
+     */
+    public void restaurer(int coutEau, int coutEauInitial, EtatIncendie etat) {
+        this.coutEau = coutEau;
+        this.coutEauInitial = coutEauInitial;
+        this.position.setIncendie(etat == EtatIncendie.ETEINT ? null : this);
+        this.setEtat(etat);
+    }
+
     /**
      * Modifie la position de l'incendie.
      * 
@@ -96,14 +127,45 @@ public class Incendie {
      * @param etat Le nouvel état de l'incendie
      */
     private void setEtat(EtatIncendie etat) {
+        EtatIncendie ancien = this.etat;
         this.etat = etat;
+        if (observateurs != null && ancien != etat) {
+            for (ObservateurIncendie observateur : observateurs) {
+                observateur.etatModifie(this, ancien);
+            }
+        }
     }
 
     /**
      * Marque l'incendie comme "ciblé" par un robot.
      */
     public void setEtatToTarget() {
-        this.etat = EtatIncendie.TARGETED;
+        this.setEtat(EtatIncendie.TARGETED);
+    }
+
+    /**
+     * Enregistre un observateur notifié à chaque changement d'état de l'incendie.
+     *
+     * @param observateur L'observateur à ajouter
+     */
+    public void addObservateur(ObservateurIncendie observateur) {
+        if (observateurs == null) {
+            observateurs = new ArrayList<>(2);
+        }
+        if (!observateurs.contains(observateur)) {
+            observateurs.add(observateur);
+        }
+    }
+
+    /**
+     * Retire un observateur précédemment enregistré.
+     *
+     * @param observateur L'observateur à retirer
+     */
+    public void removeObservateur(ObservateurIncendie observateur) {
+        if (observateurs != null) {
+            observateurs.remove(observateur);
+        }
     }
 
     /**
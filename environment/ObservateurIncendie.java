@@ -0,0 +1,15 @@
+package simulation.environment;
+
+/**
+ * Observateur notifié à chaque changement d'état d'un incendie (ACTIVE, TARGETED, ETEINT).
+ */
+public interface ObservateurIncendie {
+
+    /**
+     * Appelée après le changement d'état d'un incendie.
+     *
+     * @param incendie l'incendie (son état est déjà le nouveau)
+     * @param ancien   l'état de l'incendie avant le changement
+     */
+    void etatModifie(Incendie incendie, EtatIncendie ancien);
+}
@@ -0,0 +1,17 @@
+package simulation.environment;
+
+/**
+ * Observateur notifié lorsque la nature du terrain d'une case de la carte change.
+ * Permet aux structures précalculées (champs de distance, caches de chemins...)
+ * de ne se reconstruire que lorsque c'est nécessaire.
+ */
+public interface ObservateurTerrain {
+
+    /**
+     * Appelée après la modification de la nature d'une case.
+     *
+     * @param c       la case modifiée (sa nature est déjà la nouvelle)
+     * @param ancienne nature du terrain avant la modification
+     */
+    void natureModifiee(Case c, NatureTerrain ancienne);
+}
@@ -0,0 +1,281 @@
+package simulation.environment;
+
+import simulation.journal.Journal;
+import simulation.journal.TypeEvenementJournal;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Propagation des incendies aux cases inflammables voisines ({@link NatureTerrain#FORET} et
+ * {@link NatureTerrain#HABITAT} par défaut).
+ *
+ * Seule la frontière est parcourue à chaque pas : les incendies non éteints ayant au moins une case voisine
+ * inflammable et jamais brûlée. Un incendie en sort dès qu'il n'a plus de voisin à embraser ou qu'il est éteint,
+ * et y revient si une case voisine devient inflammable (observation du terrain). Le coût d'un pas est donc
+ * proportionnel à la frontière, pas à la carte.
+ *
+ * À chaque pas, chaque incendie de la frontière embrase chaque voisin inflammable avec la probabilité de la
+ * nature de ce voisin. Le tirage est un mélange de la graine, du pas et des deux cases : pour une même graine,
+ * les cases embrasées ne dépendent pas de l'ordre de parcours. Les nouveaux incendies sont numérotés à la suite des
+ * incendies connus et transmis au consommateur donné à la construction (typiquement la liste des incendies
+ * actifs du chef pompier) ; ils ne se propagent qu'à partir du pas suivant.
+ */
+public class PropagationIncendies implements ObservateurTerrain {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Carte carte;
+    private final long graine;
+    private final Consumer<Incendie> nouveauxIncendies; // Destinataire des incendies créés par la propagation
+    private final EnumMap<NatureTerrain, Double> probabilites = new EnumMap<>(NatureTerrain.class);
+    private final EnumMap<NatureTerrain, Integer> coutsEau = new EnumMap<>(NatureTerrain.class);
+
+    private final BitSet brulees = new BitSet(); // Cases ayant déjà porté un incendie
+    private final BitSet enFrontiere = new BitSet(); // Cases des incendies de la frontière
+    private List<Incendie> frontiere = new ArrayList<>(); // Incendies pouvant encore se propager
+    private List<Incendie> suivante = new ArrayList<>(); // Frontière du pas suivant, en construction
+    private int prochainId; // Identifiant du prochain incendie créé
+    private long nbPas; // Nombre de pas de propagation effectués
+
+    /**
+     * Constructeur de la classe PropagationIncendies.
+     * S'enregistre comme observateur du terrain de la carte.
+     *
+     * @param carte             la carte
+     * @param graine            la graine des tirages de propagation
+     * @param nouveauxIncendies destinataire des incendies créés par la propagation
+     */
+    public PropagationIncendies(Carte carte, long graine, Consumer<Incendie> nouveauxIncendies) {
+        this.carte = carte;
+        this.graine = graine;
+        this.nouveauxIncendies = nouveauxIncendies;
+        probabilites.put(NatureTerrain.FORET, 0.10);
+        probabilites.put(NatureTerrain.HABITAT, 0.05);
+        coutsEau.put(NatureTerrain.FORET, 10000);
+        coutsEau.put(NatureTerrain.HABITAT, 20000);
+        carte.addObservateur(this);
+    }
+
+    /**
+     * Définit la probabilité, à chaque pas, qu'un incendie embrase une case voisine de la nature donnée.
+     * Une probabilité nulle rend la nature ininflammable.
+     *
+     * @param nature      la nature du terrain
+     * @param probabilite la probabilité, entre 0 et 1
+     */
+    public void setProbabilite(NatureTerrain nature, double probabilite) {
+        if (probabilite < 0 || probabilite > 1) {
+            throw new IllegalArgumentException("Probabilité invalide : " + probabilite);
+        }
+        if (probabilite == 0) {
+            probabilites.remove(nature);
+        } else {
+            probabilites.put(nature, probabilite);
+        }
+    }
+
+    /**
+     * Définit la quantité d'eau nécessaire pour éteindre un incendie né sur une case de la nature donnée.
+     *
+     * @param nature  la nature du terrain
+     * @param coutEau la quantité d'eau
+     */
+    public void setCoutEau(NatureTerrain nature, int coutEau) {
+        coutsEau.put(nature, coutEau);
+    }
+
+    /**
+     * Ajoute un incendie existant (par exemple un incendie initial du scénario) à la propagation.
+     * Les incendies créés ensuite sont numérotés après le plus grand identifiant ajouté.
+     *
+     * @param incendie l'incendie
+     */
+    public void ajouter(Incendie incendie) {
+        int index = carte.indexCase(incendie.getPosition());
+        brulees.set(index);
+        prochainId = Math.max(prochainId, incendie.getId() + 1);
+        if (incendie.getEtat() != EtatIncendie.ETEINT && !enFrontiere.get(index)) {
+            enFrontiere.set(index);
+            frontiere.add(incendie);
+        }
+    }
+
+    /**
+     * Effectue un pas de propagation : les incendies de la frontière embrasent leurs voisins inflammables.
+     *
+     * @return le nombre d'incendies créés
+     */
+    public int avancer() {
+        long pas = nbPas++;
+        List<Incendie> nouveaux = new ArrayList<>();
+        for (Incendie incendie : frontiere) {
+            Case source = incendie.getPosition();
+            int indexSource = carte.indexCase(source);
+            if (incendie.getEtat() == EtatIncendie.ETEINT) {
+                enFrontiere.clear(indexSource);
+                continue;
+            }
+            boolean voisinInflammable = false;
+            for (Direction direction : DIRECTIONS) {
+                Case voisin = carte.getVoisin(source, direction);
+                if (voisin == null) {
+                    continue;
+                }
+                int index = carte.indexCase(voisin);
+                Double probabilite = probabilites.get(voisin.getNature());
+                if (probabilite == null || brulees.get(index)) {
+                    continue;
+                }
+                if (tirage(pas, indexSource, index) < probabilite) {
+                    brulees.set(index);
+                    Incendie nouveau = new Incendie(coutsEau.getOrDefault(voisin.getNature(), 10000), voisin);
+                    nouveau.setId(prochainId++);
+                    nouveaux.add(nouveau);
+                    Journal.enregistrer(TypeEvenementJournal.INCENDIE_PROPAGE, nouveau.getId(), incendie.getId(),
+                            voisin.getColonne(), voisin.getLigne());
+                } else {
+                    voisinInflammable = true;
+                }
+            }
+            if (voisinInflammable) {
+                suivante.add(incendie);
+            } else {
+                enFrontiere.clear(indexSource);
+            }
+        }
+        for (Incendie nouveau : nouveaux) {
+            enFrontiere.set(carte.indexCase(nouveau.getPosition()));
+            suivante.add(nouveau);
+        }
+
+        List<Incendie> ancienne = frontiere;
+        frontiere = suivante;
+        suivante = ancienne;
+        suivante.clear();
+        for (Incendie nouveau : nouveaux) {
+            nouveauxIncendies.accept(nouveau);
+        }
+        return nouveaux.size();
+    }
+
+    /**
+     * Remet dans la frontière les incendies voisins d'une case devenue inflammable.
+     */
+    @Override
+    public void natureModifiee(Case c, NatureTerrain ancienne) {
+        if (!probabilites.containsKey(c.getNature()) || brulees.get(carte.indexCase(c))) {
+            return;
+        }
+        for (Direction direction : DIRECTIONS) {
+            Case voisin = carte.getVoisin(c, direction);
+            if (voisin == null) {
+                continue;
+            }
+            int index = carte.indexCase(voisin);
+            Incendie incendie = voisin.getIncendie();
+            if (incendie != null && brulees.get(index) && !enFrontiere.get(index)
+                    && incendie.getEtat() != EtatIncendie.ETEINT) {
+                enFrontiere.set(index);
+                frontiere.add(incendie);
+            }
+        }
+    }
+
+    /**
+     * Retourne le nombre d'incendies de la frontière, éteints depuis le dernier pas compris.
+     *
+     * @return la taille de la frontière
+     */
+    public int getTailleFrontiere() {
+        return frontiere.size();
+    }
+
+    /**
+     * Retourne le nombre de pas de propagation effectués.
+     *
+     * @return le nombre de pas
+     */
+    public long getNbPas() {
+        return nbPas;
+    }
+
+    /**
+     * Retourne la graine des tirages de propagation.
+     *
+     * @return la graine
+     */
+    public long getGraine() {
+        return graine;
+    }
+
+    /**
+     * Retourne l'identifiant qui sera attribué au prochain incendie créé par la propagation.
+     *
+     * @return le prochain identifiant
+     */
+    public int getProchainId() {
+        return prochainId;
+    }
+
+    /**
+     * Retourne une copie de l'ensemble des indices des cases ayant déjà porté un incendie.
+     *
+     * @return les cases brûlées
+     */
+    public BitSet getBrulees() {
+        return (BitSet) brulees.clone();
+    }
+
+    /**
+     * Retourne une copie de la frontière, dans l'ordre de parcours du prochain pas.
+     *
+     * @return les incendies de la frontière
+     */
+    public List<Incendie> getFrontiere() {
+        return new ArrayList<>(frontiere);
+    }
+
+    /**
+     * Rétablit l'état de la propagation enregistré dans une sauvegarde, à la place de l'état courant.
+     * Les pas suivants sont alors ceux de la simulation sauvegardée, pour la même graine.
+     *
+     * @param nbPas      le nombre de pas effectués
+     * @param prochainId l'identifiant du prochain incendie créé
+     * @param brulees    les indices des cases ayant déjà porté un incendie
+     * @param frontiere  les incendies de la frontière, dans leur ordre de parcours
+     */
+    public void restaurer(long nbPas, int prochainId, BitSet brulees, List<Incendie> frontiere) {
+        this.nbPas = nbPas;
+        this.prochainId = prochainId;
+        this.brulees.clear();
+        this.brulees.or(brulees);
+        this.frontiere.clear();
+        this.suivante.clear();
+        this.enFrontiere.clear();
+        for (Incendie incendie : frontiere) {
+            enFrontiere.set(carte.indexCase(incendie.getPosition()));
+            this.frontiere.add(incendie);
+        }
+    }
+
+    /**
+     * Désenregistre la propagation auprès de la carte.
+     */
+    public void detacher() {
+        carte.removeObservateur(this);
+    }
+
+    /**
+     * Tirage uniforme dans [0, 1) pour la propagation d'une case à une autre lors d'un pas.
+     */
+    private double tirage(long pas, int source, int cible) {
+        long z = graine + pas * 0x9E3779B97F4A7C15L + source * 0xBF58476D1CE4E5B9L + cible * 0x94D049BB133111EBL;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (z >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,209 @@
+package simulation.environment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Registre des incendies, rangés par identifiant dans des tableaux denses et chaînés par état
+ * (ACTIVE, TARGETED, ETEINT). Chaque état a sa propre liste doublement chaînée, dont les liens sont
+ * des identifiants d'incendies : le registre est observateur des incendies, qui lui signalent eux-mêmes
+ * leurs changements d'état, et passe l'incendie d'une liste à l'autre en temps constant.
+ *
+ * Les incendies d'un état se parcourent ainsi sans examiner les autres, et sans recherche pour les retirer.
+ * Les identifiants doivent être distincts et positifs ; ils sont attribués de façon dense par la simulation
+ * (numérotation à la suite), les tableaux grandissent avec le plus grand identifiant.
+ *
+ * Une instance ne doit pas être partagée entre plusieurs threads.
+ */
+public class RegistreIncendies implements ObservateurIncendie {
+    private static final int AUCUN = -1;
+    private static final EtatIncendie[] ETATS = EtatIncendie.values();
+
+    private Incendie[] incendies = new Incendie[64]; // Incendie d'identifiant i, null si inconnu
+    private int[] precedents = new int[64]; // Incendie précédent dans la liste de son état
+    private int[] suivants = new int[64]; // Incendie suivant dans la liste de son état
+    private byte[] etats = new byte[64]; // État sous lequel l'incendie est chaîné
+    private final int[] premiers = new int[ETATS.length]; // Tête de la liste de chaque état
+    private final int[] tailles = new int[ETATS.length]; // Nombre d'incendies de chaque état
+    private int nbIncendies;
+
+    /**
+     * Constructeur de la classe RegistreIncendies.
+     */
+    public RegistreIncendies() {
+        Arrays.fill(premiers, AUCUN);
+    }
+
+    /**
+     * Ajoute un incendie au registre, dans la liste de son état actuel, et s'enregistre comme son observateur.
+     *
+     * @param incendie l'incendie
+     * @throws IllegalArgumentException si l'identifiant est négatif ou déjà attribué à un autre incendie
+     */
+    public void ajouter(Incendie incendie) {
+        int id = incendie.getId();
+        if (id < 0) {
+            throw new IllegalArgumentException("Identifiant d'incendie invalide : " + id);
+        }
+        if (id >= incendies.length) {
+            agrandir(id + 1);
+        }
+        if (incendies[id] == incendie) {
+            return;
+        }
+        if (incendies[id] != null) {
+            throw new IllegalArgumentException("Identifiant d'incendie déjà attribué : " + id);
+        }
+        incendies[id] = incendie;
+        nbIncendies++;
+        chainer(id, incendie.getEtat().ordinal());
+        incendie.addObservateur(this);
+    }
+
+    /**
+     * Ajoute des incendies au registre.
+     *
+     * @param liste les incendies
+     */
+    public void ajouterTous(Iterable<Incendie> liste) {
+        for (Incendie incendie : liste) {
+            ajouter(incendie);
+        }
+    }
+
+    /**
+     * Retourne l'incendie d'identifiant donné.
+     *
+     * @param id l'identifiant
+     * @return l'incendie, ou null s'il n'est pas dans le registre
+     */
+    public Incendie get(int id) {
+        return id >= 0 && id < incendies.length ? incendies[id] : null;
+    }
+
+    /**
+     * Retourne le nombre d'incendies du registre.
+     *
+     * @return le nombre d'incendies
+     */
+    public int getNbIncendies() {
+        return nbIncendies;
+    }
+
+    /**
+     * Retourne le nombre d'incendies dans un état.
+     *
+     * @param etat l'état
+     * @return le nombre d'incendies dans cet état
+     */
+    public int getNb(EtatIncendie etat) {
+        return tailles[etat.ordinal()];
+    }
+
+    /**
+     * Retourne le premier incendie d'un état, pour un parcours avec {@link #suivant(Incendie)}.
+     *
+     * @param etat l'état
+     * @return le premier incendie de l'état, ou null s'il n'y en a aucun
+     */
+    public Incendie premier(EtatIncendie etat) {
+        int id = premiers[etat.ordinal()];
+        return id == AUCUN ? null : incendies[id];
+    }
+
+    /**
+     * Retourne l'incendie suivant dans la liste de l'état de l'incendie donné. Si l'incendie change d'état
+     * pendant le parcours, il change de liste : le suivant doit donc être lu avant de le modifier.
+     *
+     * @param incendie l'incendie courant
+     * @return l'incendie suivant du même état, ou null en fin de liste
+     */
+    public Incendie suivant(Incendie incendie) {
+        int id = suivants[incendie.getId()];
+        return id == AUCUN ? null : incendies[id];
+    }
+
+    /**
+     * Retourne une copie de la liste des incendies d'un état.
+     *
+     * @param etat l'état
+     * @return les incendies de cet état
+     */
+    public List<Incendie> getIncendies(EtatIncendie etat) {
+        List<Incendie> liste = new ArrayList<>(tailles[etat.ordinal()]);
+        for (int id = premiers[etat.ordinal()]; id != AUCUN; id = suivants[id]) {
+            liste.add(incendies[id]);
+        }
+        return liste;
+    }
+
+    /**
+     * Déplace l'incendie de la liste de son ancien état vers celle du nouveau.
+     */
+    @Override
+    public void etatModifie(Incendie incendie, EtatIncendie ancien) {
+        int id = incendie.getId();
+        if (get(id) != incendie) {
+            return;
+        }
+        dechainer(id);
+        chainer(id, incendie.getEtat().ordinal());
+    }
+
+    /**
+     * Retire le registre des observateurs de ses incendies et le vide.
+     */
+    public void detacher() {
+        for (int id = 0; id < incendies.length; id++) {
+            if (incendies[id] != null) {
+                incendies[id].removeObservateur(this);
+                incendies[id] = null;
+            }
+        }
+        Arrays.fill(premiers, AUCUN);
+        Arrays.fill(tailles, 0);
+        nbIncendies = 0;
+    }
+
+    /**
+     * Insère l'incendie en tête de la liste d'un état.
+     */
+    private void chainer(int id, int etat) {
+        int tete = premiers[etat];
+        precedents[id] = AUCUN;
+        suivants[id] = tete;
+        if (tete != AUCUN) {
+            precedents[tete] = id;
+        }
+        premiers[etat] = id;
+        etats[id] = (byte) etat;
+        tailles[etat]++;
+    }
+
+    /**
+     * Retire l'incendie de la liste de l'état sous lequel il est chaîné.
+     */
+    private void dechainer(int id) {
+        int etat = etats[id];
+        int precedent = precedents[id];
+        int suivant = suivants[id];
+        if (precedent != AUCUN) {
+            suivants[precedent] = suivant;
+        } else {
+            premiers[etat] = suivant;
+        }
+        if (suivant != AUCUN) {
+            precedents[suivant] = precedent;
+        }
+        tailles[etat]--;
+    }
+
+    private void agrandir(int capaciteMin) {
+        int capacite = Math.max(capaciteMin, incendies.length * 2);
+        incendies = Arrays.copyOf(incendies, capacite);
+        precedents = Arrays.copyOf(precedents, capacite);
+        suivants = Arrays.copyOf(suivants, capacite);
+        etats = Arrays.copyOf(etats, capacite);
+    }
+}
@@ -0,0 +1,92 @@
+package simulation.environment;
+
+/**
+ * Stockage de l'état des cases d'une carte hors des objets {@link Case}.
+ * Les cases sont désignées par leur indice linéaire ({@link Carte#indexCase(int, int)}) ;
+ * les objets Case ne sont alors que des vues créées à la demande sur ce stockage.
+ */
+public interface StockageCases {
+
+    /**
+     * Retourne la nature du terrain d'une case.
+     *
+     * @param index indice de la case
+     * @return la nature du terrain
+     */
+    NatureTerrain getNature(int index);
+
+    /**
+     * Définit la nature du terrain d'une case.
+     *
+     * @param index  indice de la case
+     * @param nature nouvelle nature du terrain
+     */
+    void setNature(int index, NatureTerrain nature);
+
+    /**
+     * Définit en bloc la nature du terrain de cases consécutives, à partir des ordinaux de {@link NatureTerrain}.
+     * Les ordinaux sont supposés valides.
+     *
+     * @param debut     indice de la première case
+     * @param ordinaux  ordinaux des natures
+     * @param decalage  position du premier ordinal dans le tableau
+     * @param longueur  nombre de cases à définir
+     */
+    default void setNatures(int debut, byte[] ordinaux, int decalage, int longueur) {
+        NatureTerrain[] natures = NatureTerrain.values();
+        for (int i = 0; i < longueur; i++) {
+            setNature(debut + i, natures[ordinaux[decalage + i]]);
+        }
+    }
+
+    /**
+     * Retourne l'état d'une case.
+     *
+     * @param index indice de la case
+     * @return l'état de la case
+     */
+    CaseState getState(int index);
+
+    /**
+     * Définit l'état d'une case.
+     *
+     * @param index indice de la case
+     * @param state nouvel état de la case
+     */
+    void setState(int index, CaseState state);
+
+    /**
+     * Remplace atomiquement l'état d'une case s'il vaut l'état attendu.
+     *
+     * @param index   indice de la case
+     * @param attendu l'état attendu
+     * @param nouveau le nouvel état
+     * @return true si l'état a été remplacé
+     */
+    boolean compareAndSetState(int index, CaseState attendu, CaseState nouveau);
+
+    /**
+     * Retourne l'incendie présent sur une case.
+     *
+     * @param index indice de la case
+     * @return l'incendie, ou null s'il n'y en a pas
+     */
+    Incendie getIncendie(int index);
+
+    /**
+     * Définit l'incendie présent sur une case.
+     *
+     * @param index    indice de la case
+     * @param incendie l'incendie, ou null pour retirer l'incendie
+     */
+    void setIncendie(int index, Incendie incendie);
+
+    /**
+     * Indique qu'une case sera bientôt lue, pour les stockages qui peuvent la charger à l'avance.
+     * Par défaut, sans effet.
+     *
+     * @param index indice de la case
+     */
+    default void precharger(int index) {
+    }
+}
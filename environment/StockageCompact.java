@@ -0,0 +1,120 @@
+package simulation.environment;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Stockage compact des cases en tableaux de types primitifs :
+ * un octet pour la nature du terrain, un octet pour l'état, un entier pour l'incendie.
+ * Évite un objet Case (et ses références) par case sur les très grandes cartes.
+ *
+ * L'entier d'une case est le numéro d'un emplacement de la table des incendies, et non l'identifiant de
+ * l'incendie : un incendie est posé sur sa case dès sa construction, avant qu'on lui attribue son identifiant.
+ * L'emplacement est libéré quand l'incendie quitte sa case et réutilisé par le suivant : la table ne retient
+ * que les incendies présents sur la carte.
+ */
+public class StockageCompact implements StockageCases {
+    private static final NatureTerrain[] NATURES = NatureTerrain.values();
+    private static final CaseState[] ETATS = CaseState.values();
+    private static final VarHandle OCTET = MethodHandles.arrayElementVarHandle(byte[].class); // Accès atomique aux états
+
+    private final byte[] terrain; // Ordinal de la nature du terrain
+    private final byte[] etat; // Ordinal de l'état de la case
+    private final int[] incendie; // Numéro de l'incendie dans la table (+1), 0 si aucun
+    private final ArrayList<Incendie> incendies = new ArrayList<>(); // Table des incendies posés sur la carte
+    private int[] libres = new int[16]; // Emplacements libérés de la table, réutilisés en priorité
+    private int nbLibres;
+
+    /**
+     * Constructeur de la classe StockageCompact.
+     * Toutes les cases sont initialement en terrain libre, libres et sans incendie.
+     *
+     * @param nbCases nombre de cases de la carte
+     */
+    public StockageCompact(int nbCases) {
+        this.terrain = new byte[nbCases];
+        this.etat = new byte[nbCases];
+        this.incendie = new int[nbCases];
+        Arrays.fill(terrain, (byte) NatureTerrain.TERRAIN_LIBRE.ordinal());
+        Arrays.fill(etat, (byte) CaseState.LIBRE.ordinal());
+    }
+
+    @Override
+    public NatureTerrain getNature(int index) {
+        return NATURES[terrain[index]];
+    }
+
+    @Override
+    public void setNature(int index, NatureTerrain nature) {
+        terrain[index] = (byte) nature.ordinal();
+    }
+
+    @Override
+    public void setNatures(int debut, byte[] ordinaux, int decalage, int longueur) {
+        System.arraycopy(ordinaux, decalage, terrain, debut, longueur);
+    }
+
+    @Override
+    public CaseState getState(int index) {
+        return ETATS[(byte) OCTET.getVolatile(etat, index)];
+    }
+
+    @Override
+    public void setState(int index, CaseState state) {
+        OCTET.setVolatile(etat, index, (byte) state.ordinal());
+    }
+
+    @Override
+    public boolean compareAndSetState(int index, CaseState attendu, CaseState nouveau) {
+        return OCTET.compareAndSet(etat, index, (byte) attendu.ordinal(), (byte) nouveau.ordinal());
+    }
+
+    @Override
+    public Incendie getIncendie(int index) {
+        int numero = incendie[index];
+        return numero == 0 ? null : incendies.get(numero - 1);
+    }
+
+    @Override
+    public void setIncendie(int index, Incendie i) {
+        int numero = incendie[index];
+        if (numero != 0) {
+            if (incendies.get(numero - 1) == i) {
+                return;
+            }
+            liberer(numero - 1);
+        }
+        if (i == null) {
+            incendie[index] = 0;
+            return;
+        }
+        int emplacement;
+        if (nbLibres > 0) {
+            emplacement = libres[--nbLibres];
+            incendies.set(emplacement, i);
+        } else {
+            emplacement = incendies.size();
+            incendies.add(i);
+        }
+        incendie[index] = emplacement + 1;
+    }
+
+    /**
+     * Retourne le nombre d'incendies présents sur la carte.
+     *
+     * @return le nombre d'incendies
+     */
+    public int getNbIncendies() {
+        return incendies.size() - nbLibres;
+    }
+
+    private void liberer(int emplacement) {
+        incendies.set(emplacement, null);
+        if (nbLibres == libres.length) {
+            libres = Arrays.copyOf(libres, nbLibres * 2);
+        }
+        libres[nbLibres++] = emplacement;
+    }
+}
@@ -0,0 +1,424 @@
+package simulation.environment;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stockage des cases hors du tas, dans un fichier découpé en tuiles carrées de cote x cote cases,
+ * pour les cartes trop grandes pour une matrice d'objets Case ou même un {@link StockageCompact}.
+ *
+ * Chaque tuile occupe 2 * cote * cote octets dans le fichier : la nature de ses cases, puis leur état,
+ * case (c, l) de la tuile à la position c * cote + l. La nature est stockée en ou exclusif avec l'ordinal
+ * de {@link NatureTerrain#TERRAIN_LIBRE} : un fichier neuf (ou creux) est donc une carte de terrain libre
+ * dont toutes les cases sont libres.
+ *
+ * Seul un nombre borné de tuiles est en mémoire, dans des tampons directs ; une tuile absente est lue
+ * à son premier accès, en évinçant la tuile utilisée le moins récemment (réécrite dans le fichier si elle
+ * a été modifiée). {@link #precharger(int)} lit les tuiles à l'avance dans un thread dédié, par exemple
+ * le long du trajet planifié d'un robot ({@link Carte#prechargerTrajet}).
+ *
+ * Les incendies, peu nombreux, restent dans le tas. Toutes les opérations sont synchronisées sur le stockage,
+ * ce qui rend {@link #compareAndSetState} atomique entre threads.
+ */
+public class StockageTuiles implements StockageCases, AutoCloseable {
+    private static final NatureTerrain[] NATURES = NatureTerrain.values();
+    private static final CaseState[] ETATS = CaseState.values();
+    private static final int LIBRE = NatureTerrain.TERRAIN_LIBRE.ordinal(); // Nature d'un octet nul du fichier
+
+    private final int nbLignes; // Nombre de lignes de la carte
+    private final int decalage; // log2 du côté des tuiles
+    private final int masque; // Côté des tuiles - 1
+    private final int nbTuilesLignes; // Nombre de tuiles sur la hauteur de la carte
+    private final int casesParTuile; // Nombre de cases d'une tuile
+    private final int tailleTuile; // Taille d'une tuile en octets
+
+    private final FileChannel canal; // Fichier des tuiles
+    private final ByteBuffer memoire; // Tuiles en mémoire, une par emplacement
+    private final int[] emplacementDeTuile; // Par tuile : son emplacement en mémoire, -1 si absente
+    private final int[] versions; // Par tuile : nombre de réécritures dans le fichier
+    private final int[] tuileDEmplacement; // Par emplacement : la tuile qu'il contient
+    private final boolean[] modifie; // Par emplacement : tuile modifiée depuis sa lecture
+    private final int[] precedent; // Liste des emplacements du plus au moins récemment utilisé
+    private final int[] suivant;
+    private int tete = -1; // Emplacement le plus récemment utilisé
+    private int queue = -1; // Emplacement le moins récemment utilisé
+    private int nbOccupes; // Emplacements utilisés (les premiers du tableau)
+
+    private final Map<Integer, Incendie> incendies = new HashMap<>(); // Incendies par indice de case
+    private final Set<Integer> prechargements = ConcurrentHashMap.newKeySet(); // Tuiles en cours de préchargement
+    private ExecutorService executeurPrechargement; // Thread de préchargement, créé au premier préchargement
+    private ByteBuffer tamponPrechargement; // Tampon de lecture du thread de préchargement
+    private volatile boolean ferme; // Stockage fermé : plus de préchargement
+
+    private long nbLectures; // Tuiles lues dans le fichier à la demande
+    private long nbPrechargees; // Tuiles lues dans le fichier par préchargement
+    private long nbEcritures; // Tuiles réécrites dans le fichier
+
+    /**
+     * Constructeur de la classe StockageTuiles.
+     * Le fichier est créé s'il n'existe pas ; s'il existe, il doit avoir été écrit par un stockage
+     * de mêmes dimensions et de même côté de tuile.
+     *
+     * @param fichier          le fichier des tuiles
+     * @param nbLignes         nombre de lignes de la carte
+     * @param nbColones        nombre de colonnes de la carte
+     * @param cote             côté des tuiles en cases, puissance de deux
+     * @param nbTuilesMemoire  nombre maximal de tuiles en mémoire
+     * @throws IOException en cas d'erreur d'ouverture du fichier
+     */
+    public StockageTuiles(Path fichier, int nbLignes, int nbColones, int cote, int nbTuilesMemoire) throws IOException {
+        if (cote <= 0 || Integer.bitCount(cote) != 1) {
+            throw new IllegalArgumentException("Côté de tuile invalide : " + cote);
+        }
+        if (nbTuilesMemoire <= 0 || (long) nbTuilesMemoire * 2 * cote * cote > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Nombre de tuiles en mémoire invalide : " + nbTuilesMemoire);
+        }
+        this.nbLignes = nbLignes;
+        this.decalage = Integer.numberOfTrailingZeros(cote);
+        this.masque = cote - 1;
+        this.nbTuilesLignes = (nbLignes + masque) >> decalage;
+        int nbTuiles = Math.multiplyExact(nbTuilesLignes, (nbColones + masque) >> decalage);
+        this.casesParTuile = cote * cote;
+        this.tailleTuile = 2 * casesParTuile;
+
+        this.canal = FileChannel.open(fichier, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.memoire = ByteBuffer.allocateDirect(nbTuilesMemoire * tailleTuile);
+        this.emplacementDeTuile = new int[nbTuiles];
+        Arrays.fill(emplacementDeTuile, -1);
+        this.versions = new int[nbTuiles];
+        this.tuileDEmplacement = new int[nbTuilesMemoire];
+        this.modifie = new boolean[nbTuilesMemoire];
+        this.precedent = new int[nbTuilesMemoire];
+        this.suivant = new int[nbTuilesMemoire];
+    }
+
+    @Override
+    public synchronized NatureTerrain getNature(int index) {
+        return NATURES[memoire.get(position(index)) ^ LIBRE];
+    }
+
+    @Override
+    public synchronized void setNature(int index, NatureTerrain nature) {
+        int position = position(index);
+        memoire.put(position, (byte) (nature.ordinal() ^ LIBRE));
+        modifie[tete] = true;
+    }
+
+    @Override
+    public synchronized void setNatures(int debut, byte[] ordinaux, int decalage, int longueur) {
+        for (int i = 0; i < longueur; i++) {
+            int position = position(debut + i);
+            memoire.put(position, (byte) (ordinaux[decalage + i] ^ LIBRE));
+            modifie[tete] = true;
+        }
+    }
+
+    @Override
+    public synchronized CaseState getState(int index) {
+        return ETATS[memoire.get(position(index) + casesParTuile)];
+    }
+
+    @Override
+    public synchronized void setState(int index, CaseState state) {
+        int position = position(index) + casesParTuile;
+        memoire.put(position, (byte) state.ordinal());
+        modifie[tete] = true;
+    }
+
+    @Override
+    public synchronized boolean compareAndSetState(int index, CaseState attendu, CaseState nouveau) {
+        int position = position(index) + casesParTuile;
+        if (memoire.get(position) != attendu.ordinal()) {
+            return false;
+        }
+        memoire.put(position, (byte) nouveau.ordinal());
+        modifie[tete] = true;
+        return true;
+    }
+
+    @Override
+    public synchronized Incendie getIncendie(int index) {
+        return incendies.get(index);
+    }
+
+    @Override
+    public synchronized void setIncendie(int index, Incendie incendie) {
+        if (incendie == null) {
+            incendies.remove(index);
+        } else {
+            incendies.put(index, incendie);
+        }
+    }
+
+    /**
+     * Demande la lecture anticipée de la tuile d'une case, dans le thread de préchargement.
+     * Sans effet si la tuile est déjà en mémoire ou en cours de lecture, ou si les préchargements
+     * en attente occupent déjà la moitié des emplacements.
+     *
+     * @param index indice de la case
+     */
+    @Override
+    public void precharger(int index) {
+        int tuile = tuile(index);
+        if (ferme || emplacementDeTuile[tuile] >= 0 || prechargements.size() >= (tuileDEmplacement.length + 1) / 2
+                || !prechargements.add(tuile)) {
+            return;
+        }
+        executeurPrechargement().execute(() -> {
+            try {
+                prechargerTuile(tuile);
+            } catch (IOException e) {
+                // Préchargement abandonné : la tuile sera lue à son premier accès
+            } finally {
+                prechargements.remove(tuile);
+            }
+        });
+    }
+
+    /**
+     * Réécrit dans le fichier toutes les tuiles modifiées présentes en mémoire.
+     *
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public synchronized void ecrireTuilesModifiees() throws IOException {
+        for (int e = 0; e < nbOccupes; e++) {
+            if (modifie[e]) {
+                ecrire(e);
+            }
+        }
+        canal.force(false);
+    }
+
+    /**
+     * Réécrit les tuiles modifiées, arrête le thread de préchargement et ferme le fichier.
+     *
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    @Override
+    public void close() throws IOException {
+        ExecutorService executeur;
+        synchronized (this) {
+            ferme = true;
+            executeur = executeurPrechargement;
+            executeurPrechargement = null;
+        }
+        if (executeur != null) {
+            executeur.shutdown();
+            try {
+                executeur.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            ecrireTuilesModifiees();
+            canal.close();
+        }
+    }
+
+    /**
+     * Retourne le nombre de tuiles lues dans le fichier au moment d'un accès.
+     *
+     * @return le nombre de lectures à la demande
+     */
+    public synchronized long getNbLectures() {
+        return nbLectures;
+    }
+
+    /**
+     * Retourne le nombre de tuiles lues dans le fichier par préchargement.
+     *
+     * @return le nombre de tuiles préchargées
+     */
+    public synchronized long getNbPrechargees() {
+        return nbPrechargees;
+    }
+
+    /**
+     * Retourne le nombre de tuiles réécrites dans le fichier.
+     *
+     * @return le nombre d'écritures
+     */
+    public synchronized long getNbEcritures() {
+        return nbEcritures;
+    }
+
+    private int tuile(int index) {
+        int col = index / nbLignes;
+        int lig = index - col * nbLignes;
+        return (col >> decalage) * nbTuilesLignes + (lig >> decalage);
+    }
+
+    /**
+     * Retourne la position dans la mémoire de la nature d'une case, en lisant sa tuile si nécessaire.
+     * L'emplacement de la tuile devient le plus récemment utilisé ({@link #tete}).
+     */
+    private int position(int index) {
+        int col = index / nbLignes;
+        int lig = index - col * nbLignes;
+        int tuile = (col >> decalage) * nbTuilesLignes + (lig >> decalage);
+        int e = emplacementDeTuile[tuile];
+        if (e < 0) {
+            e = allouer(tuile);
+            try {
+                lire(tuile, memoire.duplicate().position(e * tailleTuile).limit((e + 1) * tailleTuile));
+            } catch (IOException ex) {
+                liberer(e);
+                throw new UncheckedIOException(ex);
+            }
+            nbLectures++;
+        } else if (e != tete) {
+            retirer(e);
+            placerEnTete(e);
+        }
+        return e * tailleTuile + (((col & masque) << decalage) | (lig & masque));
+    }
+
+    /**
+     * Attribue un emplacement à une tuile, en évinçant la tuile la moins récemment utilisée s'il n'y en a
+     * plus de libre. L'emplacement est placé en tête de liste.
+     */
+    private int allouer(int tuile) {
+        int e;
+        if (nbOccupes < tuileDEmplacement.length) {
+            e = nbOccupes++;
+        } else {
+            e = queue;
+            if (modifie[e]) {
+                try {
+                    ecrire(e);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+            emplacementDeTuile[tuileDEmplacement[e]] = -1;
+            retirer(e);
+        }
+        tuileDEmplacement[e] = tuile;
+        emplacementDeTuile[tuile] = e;
+        modifie[e] = false;
+        placerEnTete(e);
+        return e;
+    }
+
+    /**
+     * Rend un emplacement dont la lecture a échoué : il devient le moins récemment utilisé.
+     */
+    private void liberer(int e) {
+        emplacementDeTuile[tuileDEmplacement[e]] = -1;
+        retirer(e);
+        precedent[e] = queue;
+        suivant[e] = -1;
+        if (queue >= 0) {
+            suivant[queue] = e;
+        } else {
+            tete = e;
+        }
+        queue = e;
+    }
+
+    private void retirer(int e) {
+        if (precedent[e] >= 0) {
+            suivant[precedent[e]] = suivant[e];
+        } else {
+            tete = suivant[e];
+        }
+        if (suivant[e] >= 0) {
+            precedent[suivant[e]] = precedent[e];
+        } else {
+            queue = precedent[e];
+        }
+    }
+
+    private void placerEnTete(int e) {
+        precedent[e] = -1;
+        suivant[e] = tete;
+        if (tete >= 0) {
+            precedent[tete] = e;
+        } else {
+            queue = e;
+        }
+        tete = e;
+    }
+
+    private void ecrire(int e) throws IOException {
+        int tuile = tuileDEmplacement[e];
+        ByteBuffer tranche = memoire.duplicate().position(e * tailleTuile).limit((e + 1) * tailleTuile);
+        long position = (long) tuile * tailleTuile;
+        while (tranche.hasRemaining()) {
+            position += canal.write(tranche, position);
+        }
+        modifie[e] = false;
+        versions[tuile]++;
+        nbEcritures++;
+    }
+
+    /**
+     * Lit une tuile du fichier ; la partie au-delà de la fin du fichier est une tuile neuve.
+     */
+    private void lire(int tuile, ByteBuffer tranche) throws IOException {
+        long position = (long) tuile * tailleTuile;
+        while (tranche.hasRemaining()) {
+            int n = canal.read(tranche, position);
+            if (n < 0) {
+                while (tranche.hasRemaining()) {
+                    tranche.put((byte) 0);
+                }
+                break;
+            }
+            position += n;
+        }
+    }
+
+    /**
+     * Lit une tuile hors du verrou puis l'installe, sauf si elle a été lue ou réécrite entre-temps :
+     * la copie lue serait alors périmée.
+     */
+    private void prechargerTuile(int tuile) throws IOException {
+        int version;
+        synchronized (this) {
+            if (emplacementDeTuile[tuile] >= 0) {
+                return;
+            }
+            version = versions[tuile];
+        }
+        if (tamponPrechargement == null) {
+            tamponPrechargement = ByteBuffer.allocateDirect(tailleTuile);
+        }
+        tamponPrechargement.clear();
+        lire(tuile, tamponPrechargement);
+        tamponPrechargement.flip();
+        synchronized (this) {
+            if (emplacementDeTuile[tuile] >= 0 || versions[tuile] != version) {
+                return;
+            }
+            int e = allouer(tuile);
+            memoire.duplicate().position(e * tailleTuile).put(tamponPrechargement);
+            nbPrechargees++;
+        }
+    }
+
+    private synchronized ExecutorService executeurPrechargement() {
+        if (executeurPrechargement == null) {
+            executeurPrechargement = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "prechargement-tuiles");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return executeurPrechargement;
+    }
+}
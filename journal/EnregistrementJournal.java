@@ -0,0 +1,64 @@
+package simulation.journal;
+
+/**
+ * Enregistrement du journal tel qu'il est remis aux sorties : un type, un instant et des arguments entiers.
+ * L'objet est réutilisé d'un enregistrement à l'autre ; une sortie ne doit pas le conserver.
+ */
+public final class EnregistrementJournal {
+    /** Nombre maximal d'arguments d'un enregistrement. */
+    public static final int NB_MAX_ARGUMENTS = 4;
+
+    private TypeEvenementJournal type;
+    private long instant;
+    private final int[] arguments = new int[NB_MAX_ARGUMENTS];
+
+    void remplir(TypeEvenementJournal type, long instant, int a, int b, int c, int d) {
+        this.type = type;
+        this.instant = instant;
+        arguments[0] = a;
+        arguments[1] = b;
+        arguments[2] = c;
+        arguments[3] = d;
+    }
+
+    /**
+     * Retourne le type de l'enregistrement.
+     *
+     * @return le type
+     */
+    public TypeEvenementJournal getType() {
+        return type;
+    }
+
+    /**
+     * Retourne l'instant de l'enregistrement, en nanosecondes ({@link System#nanoTime()}).
+     *
+     * @return l'instant
+     */
+    public long getInstant() {
+        return instant;
+    }
+
+    /**
+     * Retourne un argument de l'enregistrement.
+     *
+     * @param i le rang de l'argument, inférieur à {@link TypeEvenementJournal#getNbArguments()}
+     * @return la valeur de l'argument
+     */
+    public int getArgument(int i) {
+        return arguments[i];
+    }
+
+    /**
+     * Met en forme l'enregistrement selon le modèle de son type.
+     *
+     * @return le message
+     */
+    public String getMessage() {
+        Object[] valeurs = new Object[type.getNbArguments()];
+        for (int i = 0; i < valeurs.length; i++) {
+            valeurs[i] = arguments[i];
+        }
+        return String.format(type.getModele(), valeurs);
+    }
+}
@@ -0,0 +1,222 @@
+package simulation.journal;
+
+import simulation.environment.PrintColor;
+
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Journal structuré de la simulation.
+ *
+ * Les enregistrements sont typés ({@link TypeEvenementJournal}) et ne portent que des arguments entiers :
+ * l'appel d'enregistrement ne met rien en forme et n'alloue rien. Le test de niveau est fait en premier ;
+ * un niveau désactivé ne coûte qu'une comparaison.
+ *
+ * Par défaut, le journal écrit directement chaque enregistrement en texte coloré sur la sortie standard,
+ * comme le faisaient les anciens appels à printf. Après {@link #demarrer}, les enregistrements sont déposés
+ * dans un tampon circulaire préalloué et écrits par un thread de fond vers les sorties données.
+ */
+public final class Journal {
+    private static final long ATTENTE_VIDE_NS = 200_000; // Pause du thread de fond quand le tampon est vide
+
+    private static volatile int niveauMin = Niveau.DEBUG.ordinal();
+    private static volatile TamponJournal tampon; // null : écriture directe
+    private static volatile boolean enCours;
+    private static final SortieJournal SORTIE_DIRECTE = new SortieTexte(System.out, true);
+    private static SortieJournal[] sorties;
+    private static Thread videur;
+
+    private Journal() {
+    }
+
+    /**
+     * Définit le niveau minimal des enregistrements retenus.
+     *
+     * @param niveau le niveau minimal, AUCUN pour désactiver le journal
+     */
+    public static void setNiveau(Niveau niveau) {
+        niveauMin = niveau.ordinal();
+    }
+
+    /**
+     * Retourne le niveau minimal des enregistrements retenus.
+     *
+     * @return le niveau minimal
+     */
+    public static Niveau getNiveau() {
+        return Niveau.values()[niveauMin];
+    }
+
+    /**
+     * Indique si les enregistrements d'un niveau sont retenus.
+     *
+     * @param niveau le niveau
+     * @return true si le niveau est actif
+     */
+    public static boolean estActif(Niveau niveau) {
+        return niveau.ordinal() >= niveauMin;
+    }
+
+    /**
+     * Enregistre un événement sans argument.
+     *
+     * @param type le type de l'enregistrement
+     */
+    public static void enregistrer(TypeEvenementJournal type) {
+        if (type.getNiveau().ordinal() >= niveauMin) {
+            publier(type, 0, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Enregistre un événement à un argument.
+     *
+     * @param type le type de l'enregistrement
+     * @param a    le premier argument
+     */
+    public static void enregistrer(TypeEvenementJournal type, int a) {
+        if (type.getNiveau().ordinal() >= niveauMin) {
+            publier(type, a, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Enregistre un événement à deux arguments.
+     *
+     * @param type le type de l'enregistrement
+     * @param a    le premier argument
+     * @param b    le deuxième argument
+     */
+    public static void enregistrer(TypeEvenementJournal type, int a, int b) {
+        if (type.getNiveau().ordinal() >= niveauMin) {
+            publier(type, a, b, 0, 0);
+        }
+    }
+
+    /**
+     * Enregistre un événement à trois arguments.
+     *
+     * @param type le type de l'enregistrement
+     * @param a    le premier argument
+     * @param b    le deuxième argument
+     * @param c    le troisième argument
+     */
+    public static void enregistrer(TypeEvenementJournal type, int a, int b, int c) {
+        if (type.getNiveau().ordinal() >= niveauMin) {
+            publier(type, a, b, c, 0);
+        }
+    }
+
+    /**
+     * Enregistre un événement à quatre arguments.
+     *
+     * @param type le type de l'enregistrement
+     * @param a    le premier argument
+     * @param b    le deuxième argument
+     * @param c    le troisième argument
+     * @param d    le quatrième argument
+     */
+    public static void enregistrer(TypeEvenementJournal type, int a, int b, int c, int d) {
+        if (type.getNiveau().ordinal() >= niveauMin) {
+            publier(type, a, b, c, d);
+        }
+    }
+
+    private static void publier(TypeEvenementJournal type, int a, int b, int c, int d) {
+        TamponJournal t = tampon;
+        if (t != null) {
+            t.publier(type, a, b, c, d);
+            return;
+        }
+        synchronized (SORTIE_DIRECTE) {
+            EnregistrementJournal e = new EnregistrementJournal();
+            e.remplir(type, System.nanoTime(), a, b, c, d);
+            try {
+                SORTIE_DIRECTE.ecrire(e);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    /**
+     * Démarre l'écriture asynchrone : les enregistrements passent par un tampon circulaire et sont écrits
+     * vers les sorties par un thread de fond.
+     *
+     * @param niveau   le niveau minimal des enregistrements retenus
+     * @param capacite le nombre d'enregistrements du tampon
+     * @param sorties  les sorties du journal
+     */
+    public static synchronized void demarrer(Niveau niveau, int capacite, SortieJournal... sorties) {
+        if (videur != null) {
+            throw new IllegalStateException("Journal déjà démarré");
+        }
+        Journal.sorties = sorties.clone();
+        TamponJournal t = new TamponJournal(capacite);
+        enCours = true;
+        videur = new Thread(() -> vider(t), "journal");
+        videur.setDaemon(true);
+        videur.start();
+        setNiveau(niveau);
+        tampon = t;
+    }
+
+    /**
+     * Arrête l'écriture asynchrone : écrit les enregistrements restants, ferme les sorties et revient
+     * à l'écriture directe sur la sortie standard.
+     *
+     * @throws InterruptedException si l'attente du thread de fond est interrompue
+     */
+    public static synchronized void arreter() throws InterruptedException {
+        if (videur == null) {
+            return;
+        }
+        tampon = null;
+        enCours = false;
+        LockSupport.unpark(videur);
+        videur.join();
+        videur = null;
+        sorties = null;
+    }
+
+    /**
+     * Boucle du thread de fond : lit le tampon et écrit vers les sorties jusqu'à l'arrêt du journal,
+     * puis écrit les derniers enregistrements et ferme les sorties. Quand le thread s'arrête, normalement
+     * ou sur une erreur d'écriture, le tampon est fermé et le journal revient à l'écriture directe :
+     * aucun producteur ne reste bloqué sur un tampon plein que plus personne ne lit.
+     */
+    private static void vider(TamponJournal t) {
+        EnregistrementJournal e = new EnregistrementJournal();
+        SortieJournal[] destinations = sorties;
+        try {
+            while (true) {
+                boolean lu = false;
+                while (t.lire(e)) {
+                    lu = true;
+                    for (SortieJournal sortie : destinations) {
+                        sortie.ecrire(e);
+                    }
+                }
+                if (!lu) {
+                    if (!enCours && t.estVide()) {
+                        break;
+                    }
+                    for (SortieJournal sortie : destinations) {
+                        sortie.vider();
+                    }
+                    LockSupport.parkNanos(ATTENTE_VIDE_NS);
+                }
+            }
+            for (SortieJournal sortie : destinations) {
+                sortie.fermer();
+            }
+        } catch (IOException ex) {
+            System.err.println(PrintColor.RED + "Journal : erreur d'écriture " + ex + PrintColor.RESET);
+        } finally {
+            t.fermer();
+            if (tampon == t) {
+                tampon = null;
+            }
+        }
+    }
+}
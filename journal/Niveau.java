@@ -0,0 +1,13 @@
+package simulation.journal;
+
+/**
+ * Niveaux du journal, du plus détaillé au plus grave.
+ * AUCUN désactive le journal.
+ */
+public enum Niveau {
+    DEBUG,
+    INFO,
+    AVERTISSEMENT,
+    ERREUR,
+    AUCUN
+}
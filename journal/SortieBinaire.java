@@ -0,0 +1,44 @@
+package simulation.journal;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Sortie binaire du journal. Chaque enregistrement est écrit sous la forme :
+ * ordinal du type (octet), instant (long), puis ses arguments (int), en big-endian.
+ * Le nombre d'arguments se déduit du type.
+ */
+public class SortieBinaire implements SortieJournal {
+    private final DataOutputStream flux;
+
+    /**
+     * Constructeur de la classe SortieBinaire.
+     *
+     * @param flux le flux d'écriture, fermé avec la sortie
+     */
+    public SortieBinaire(OutputStream flux) {
+        this.flux = new DataOutputStream(new BufferedOutputStream(flux, 1 << 16));
+    }
+
+    @Override
+    public void ecrire(EnregistrementJournal enregistrement) throws IOException {
+        TypeEvenementJournal type = enregistrement.getType();
+        flux.writeByte(type.ordinal());
+        flux.writeLong(enregistrement.getInstant());
+        for (int i = 0; i < type.getNbArguments(); i++) {
+            flux.writeInt(enregistrement.getArgument(i));
+        }
+    }
+
+    @Override
+    public void vider() throws IOException {
+        flux.flush();
+    }
+
+    @Override
+    public void fermer() throws IOException {
+        flux.close();
+    }
+}
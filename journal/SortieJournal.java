@@ -0,0 +1,35 @@
+package simulation.journal;
+
+import java.io.IOException;
+
+/**
+ * Destination des enregistrements du journal.
+ * Les méthodes sont appelées par un seul thread à la fois.
+ */
+public interface SortieJournal {
+
+    /**
+     * Écrit un enregistrement.
+     *
+     * @param enregistrement l'enregistrement, à ne pas conserver après l'appel
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    void ecrire(EnregistrementJournal enregistrement) throws IOException;
+
+    /**
+     * Force l'écriture des enregistrements mis en mémoire tampon.
+     *
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    default void vider() throws IOException {
+    }
+
+    /**
+     * Ferme la sortie.
+     *
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    default void fermer() throws IOException {
+        vider();
+    }
+}
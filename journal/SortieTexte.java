@@ -0,0 +1,39 @@
+package simulation.journal;
+
+import simulation.environment.PrintColor;
+
+import java.io.PrintStream;
+
+/**
+ * Sortie texte du journal : une ligne par enregistrement, colorée ou non.
+ */
+public class SortieTexte implements SortieJournal {
+    private final PrintStream flux;
+    private final boolean couleurs;
+
+    /**
+     * Constructeur de la classe SortieTexte.
+     *
+     * @param flux     le flux d'écriture
+     * @param couleurs true pour colorer les lignes avec les codes ANSI de {@link PrintColor}
+     */
+    public SortieTexte(PrintStream flux, boolean couleurs) {
+        this.flux = flux;
+        this.couleurs = couleurs;
+    }
+
+    @Override
+    public void ecrire(EnregistrementJournal enregistrement) {
+        String couleur = couleurs ? enregistrement.getType().getCouleur() : null;
+        if (couleur == null) {
+            flux.println(enregistrement.getMessage());
+        } else {
+            flux.println(couleur + enregistrement.getMessage() + PrintColor.RESET);
+        }
+    }
+
+    @Override
+    public void vider() {
+        flux.flush();
+    }
+}
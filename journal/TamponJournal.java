@@ -0,0 +1,102 @@
+package simulation.journal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tampon circulaire préalloué des enregistrements du journal, à plusieurs producteurs et un seul consommateur.
+ *
+ * Chaque producteur réserve un rang par incrément atomique, écrit l'enregistrement dans des tableaux de
+ * types primitifs puis le publie par la séquence de sa case. Un producteur qui trouve le tampon plein
+ * attend que le consommateur ait libéré sa case : aucun enregistrement n'est perdu tant que le consommateur
+ * tourne. Une fois le tampon fermé (consommateur arrêté ou en échec), les enregistrements sont abandonnés
+ * au lieu d'attendre une case qui ne sera plus libérée.
+ */
+final class TamponJournal {
+    private final int masque;
+    private final TypeEvenementJournal[] types;
+    private final long[] instants;
+    private final int[] arguments; // NB_MAX_ARGUMENTS entiers par case
+    private final AtomicLongArray sequences; // rang + 1 : case publiée ; rang + capacité : case libérée
+    private final AtomicLong tete = new AtomicLong(); // Prochain rang à réserver
+    private long queue; // Prochain rang à lire (consommateur seul)
+    private volatile boolean ferme; // Plus de consommateur : les producteurs n'attendent plus
+
+    /**
+     * Constructeur de la classe TamponJournal.
+     *
+     * @param capacite le nombre de cases, arrondi à la puissance de deux supérieure
+     */
+    TamponJournal(int capacite) {
+        int taille = Integer.highestOneBit(Math.max(2, capacite - 1)) << 1;
+        this.masque = taille - 1;
+        this.types = new TypeEvenementJournal[taille];
+        this.instants = new long[taille];
+        this.arguments = new int[taille * EnregistrementJournal.NB_MAX_ARGUMENTS];
+        this.sequences = new AtomicLongArray(taille);
+        for (int i = 0; i < taille; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publie un enregistrement, en attendant une case libre si le tampon est plein.
+     * L'enregistrement est abandonné si le tampon est fermé.
+     */
+    void publier(TypeEvenementJournal type, int a, int b, int c, int d) {
+        if (ferme) {
+            return;
+        }
+        long rang = tete.getAndIncrement();
+        int i = (int) rang & masque;
+        while (sequences.get(i) != rang) {
+            if (ferme) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+        types[i] = type;
+        instants[i] = System.nanoTime();
+        int base = i * EnregistrementJournal.NB_MAX_ARGUMENTS;
+        arguments[base] = a;
+        arguments[base + 1] = b;
+        arguments[base + 2] = c;
+        arguments[base + 3] = d;
+        sequences.lazySet(i, rang + 1);
+    }
+
+    /**
+     * Lit le prochain enregistrement publié.
+     *
+     * @param enregistrement l'enregistrement à remplir
+     * @return false si aucun enregistrement n'est publié
+     */
+    boolean lire(EnregistrementJournal enregistrement) {
+        int i = (int) queue & masque;
+        if (sequences.get(i) != queue + 1) {
+            return false;
+        }
+        int base = i * EnregistrementJournal.NB_MAX_ARGUMENTS;
+        enregistrement.remplir(types[i], instants[i], arguments[base], arguments[base + 1],
+                arguments[base + 2], arguments[base + 3]);
+        types[i] = null;
+        sequences.lazySet(i, queue + masque + 1);
+        queue++;
+        return true;
+    }
+
+    /**
+     * Ferme le tampon quand le consommateur s'arrête : les producteurs en attente d'une case repartent
+     * et les publications suivantes sont abandonnées.
+     */
+    void fermer() {
+        ferme = true;
+    }
+
+    /**
+     * Indique si tous les rangs réservés ont été lus.
+     */
+    boolean estVide() {
+        return queue == tete.get();
+    }
+}
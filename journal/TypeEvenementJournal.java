@@ -0,0 +1,86 @@
+package simulation.journal;
+
+import simulation.environment.PrintColor;
+
+/**
+ * Types des enregistrements du journal. Chaque type fixe son niveau, la couleur et le modèle de sa
+ * forme texte, et le nom de ses arguments entiers (au plus {@link EnregistrementJournal#NB_MAX_ARGUMENTS}).
+ */
+public enum TypeEvenementJournal {
+    RESERVOIR_PLEIN(Niveau.INFO, PrintColor.BLUE, "Robot %d : reservoir Full", "robot"),
+    REMPLISSAGE(Niveau.DEBUG, PrintColor.BLUE, "Robot %d : remplir +%d dans reservoir", "robot", "quantite"),
+    REMPLISSAGE_MINUTES(Niveau.DEBUG, PrintColor.BLUE, "Robot %d : remplir %d min, reservoir %d/%d", "robot", "minutes", "volume", "capacite"),
+    RESERVOIR_VIDE(Niveau.INFO, PrintColor.YELLOW, "Robot %d : Reservoir emptied", "robot"),
+    VERSEMENT(Niveau.DEBUG, PrintColor.BLUE, "Robot %d : verse %d to incendie %d", "robot", "quantite", "incendie"),
+    VERSEMENT_MINUTES(Niveau.DEBUG, PrintColor.BLUE, "Robot %d : verse %d en %d min to incendie %d", "robot", "quantite", "minutes", "incendie"),
+    INCENDIE_ARROSE(Niveau.DEBUG, PrintColor.BLUE, "Incendie %d : reçoit %d eau, coût actuel = %d", "incendie", "quantite", "cout"),
+    INCENDIE_ETEINT(Niveau.INFO, PrintColor.YELLOW, "Incendie %d : éteint", "incendie"),
+    INCENDIE_PROPAGE(Niveau.INFO, PrintColor.RED, "Incendie %d : propagé depuis l'incendie %d en Case [%d; %d]", "incendie", "source", "colonne", "ligne"),
+    AUCUN_INCENDIE_ACCESSIBLE(Niveau.AVERTISSEMENT, null, "Chef Pompier : aucun incendie accessible pour le robot %d", "robot"),
+    AUCUN_ROBOT_LIBRE(Niveau.INFO, null, "Chef Pompier : pas de Robot libre pour affecter à l'incendie No %d", "incendie"),
+    INCENDIE_INACCESSIBLE(Niveau.AVERTISSEMENT, null, "Chef Pompier : Incendie %d inaccessible pour le robot %d", "incendie", "robot"),
+    AFFECTATION(Niveau.INFO, null, "Chef Pompier : Affect robot %d to Incendie %d", "robot", "incendie"),
+    AUCUNE_SOURCE_EAU(Niveau.AVERTISSEMENT, null, "Chef Pompier : try to send robot %d find water, no water source found", "robot"),
+    ENVOI_SOURCE_EAU(Niveau.INFO, null, "Chef Pompier : send robot %d to find water at sourceEau Case [%d; %d]", "robot", "colonne", "ligne"),
+    TRAJET_INTROUVABLE(Niveau.AVERTISSEMENT, null, "Chef Pompier : No trajet found for robot %d to get to Case [%d; %d]", "robot", "colonne", "ligne"),
+    ENVOI_CASE(Niveau.INFO, null, "Chef Pompier : send robot %d to Case [%d; %d]", "robot", "colonne", "ligne"),
+    ROBOT_NUL(Niveau.AVERTISSEMENT, null, "Chef Pompier : robot null");
+
+    private final Niveau niveau;
+    private final String couleur; // Couleur ANSI de la forme texte, null pour la couleur par défaut
+    private final String modele; // Modèle de la forme texte, un %d par argument
+    private final String[] champs; // Noms des arguments
+
+    TypeEvenementJournal(Niveau niveau, String couleur, String modele, String... champs) {
+        this.niveau = niveau;
+        this.couleur = couleur;
+        this.modele = modele;
+        this.champs = champs;
+    }
+
+    /**
+     * Retourne le niveau des enregistrements de ce type.
+     *
+     * @return le niveau
+     */
+    public Niveau getNiveau() {
+        return niveau;
+    }
+
+    /**
+     * Retourne la couleur ANSI de la forme texte.
+     *
+     * @return la couleur, ou null pour la couleur par défaut
+     */
+    public String getCouleur() {
+        return couleur;
+    }
+
+    /**
+     * Retourne le modèle de la forme texte.
+     *
+     * @return le modèle, au format de {@link String#format(String, Object...)}
+     */
+    public String getModele() {
+        return modele;
+    }
+
+    /**
+     * Retourne le nombre d'arguments des enregistrements de ce type.
+     *
+     * @return le nombre d'arguments
+     */
+    public int getNbArguments() {
+        return champs.length;
+    }
+
+    /**
+     * Retourne le nom d'un argument.
+     *
+     * @param i le rang de l'argument
+     * @return le nom de l'argument
+     */
+    public String getChamp(int i) {
+        return champs[i];
+    }
+}
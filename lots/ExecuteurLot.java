@@ -0,0 +1,114 @@
+package simulation.lots;
+
+import simulation.journal.Journal;
+import simulation.journal.Niveau;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exécution d'un lot de scénarios à graines fixées sur un nombre borné de threads.
+ *
+ * Les scénarios sont distribués dynamiquement : chaque thread prend la prochaine graine libre, exécute le
+ * scénario et ajoute son résultat à un résumé qui lui est propre. Les résumés des threads ne sont fusionnés
+ * qu'à la fin, si bien que les scénarios ne partagent aucun état pendant leur exécution.
+ *
+ * Le journal ({@link Journal}) est commun au processus : pendant l'exécution d'un lot, l'exécuteur le règle
+ * lui-même à son niveau (AUCUN par défaut), pour que les scénarios ne s'attendent pas sur l'écriture du journal
+ * et n'y mêlent pas leurs enregistrements, puis rétablit le niveau précédent. Deux lots ne doivent donc pas
+ * s'exécuter en même temps avec des niveaux différents.
+ *
+ * Un scénario qui lève une exception est compté en échec ; la graine et l'exception du premier échec
+ * sont conservées dans le résumé.
+ */
+public class ExecuteurLot {
+    private final int nbThreads;
+    private Niveau niveauJournal = Niveau.AUCUN; // Niveau du journal pendant l'exécution d'un lot
+
+    /**
+     * Constructeur de la classe ExecuteurLot.
+     *
+     * @param nbThreads le nombre maximal de scénarios exécutés en même temps
+     */
+    public ExecuteurLot(int nbThreads) {
+        if (nbThreads <= 0) {
+            throw new IllegalArgumentException("Nombre de threads invalide : " + nbThreads);
+        }
+        this.nbThreads = nbThreads;
+    }
+
+    /**
+     * Définit le niveau du journal pendant l'exécution d'un lot.
+     *
+     * @param niveauJournal le niveau, AUCUN par défaut
+     */
+    public void setNiveauJournal(Niveau niveauJournal) {
+        this.niveauJournal = niveauJournal;
+    }
+
+    /**
+     * Exécute un lot de scénarios.
+     * La graine du scénario i est dérivée de la graine du lot et de i : un même lot redonne les mêmes scénarios.
+     *
+     * @param scenario    l'exécution d'un scénario
+     * @param graineLot   la graine du lot
+     * @param nbScenarios le nombre de scénarios
+     * @return le résumé du lot
+     * @throws InterruptedException si l'attente des threads est interrompue
+     */
+    public ResumeLot executer(ExecutionScenario scenario, long graineLot, int nbScenarios) throws InterruptedException {
+        AtomicInteger prochain = new AtomicInteger();
+        int nbTaches = Math.min(nbThreads, Math.max(1, nbScenarios));
+        Niveau niveauPrecedent = Journal.getNiveau();
+        Journal.setNiveau(niveauJournal);
+        ExecutorService pool = Executors.newFixedThreadPool(nbTaches);
+        try {
+            List<Future<ResumeLot>> partiels = new ArrayList<>(nbTaches);
+            for (int t = 0; t < nbTaches; t++) {
+                partiels.add(pool.submit(() -> {
+                    ResumeLot resume = new ResumeLot();
+                    for (int i = prochain.getAndIncrement(); i < nbScenarios; i = prochain.getAndIncrement()) {
+                        long graine = graineScenario(graineLot, i);
+                        try {
+                            resume.ajouter(scenario.executer(graine));
+                        } catch (Exception e) {
+                            resume.ajouterEchec(i, graine, e);
+                        }
+                    }
+                    return resume;
+                }));
+            }
+            ResumeLot total = new ResumeLot();
+            for (Future<ResumeLot> partiel : partiels) {
+                try {
+                    total.fusionner(partiel.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Erreur d'exécution du lot", e.getCause());
+                }
+            }
+            return total;
+        } finally {
+            pool.shutdownNow();
+            Journal.setNiveau(niveauPrecedent);
+        }
+    }
+
+    /**
+     * Graine du scénario de rang i : mélange de la graine du lot et du rang (SplitMix64).
+     *
+     * @param graineLot la graine du lot
+     * @param i         le rang du scénario
+     * @return la graine du scénario
+     */
+    public static long graineScenario(long graineLot, int i) {
+        long z = graineLot + (i + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
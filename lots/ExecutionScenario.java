@@ -0,0 +1,20 @@
+package simulation.lots;
+
+/**
+ * Exécution complète d'un scénario pour une graine donnée.
+ *
+ * Chaque appel doit construire sa propre simulation (carte, robots, incendies, planificateur) :
+ * plusieurs scénarios s'exécutent en même temps sur des threads différents et ne partagent aucun état.
+ */
+@FunctionalInterface
+public interface ExecutionScenario {
+
+    /**
+     * Exécute le scénario jusqu'à son terme.
+     *
+     * @param graine la graine du scénario
+     * @return le résultat du scénario
+     * @throws Exception si le scénario échoue ; l'échec est compté dans le résumé du lot
+     */
+    ResultatScenario executer(long graine) throws Exception;
+}
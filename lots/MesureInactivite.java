@@ -0,0 +1,81 @@
+package simulation.lots;
+
+import simulation.robot.ObservateurRobot;
+import simulation.robot.Robot;
+import simulation.robot.RobotState;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Mesure du temps passé par les robots d'une simulation à l'état LIBRE, à partir de leurs changements d'état.
+ * Une mesure appartient à une seule simulation et n'est pas partagée entre threads.
+ */
+public class MesureInactivite implements ObservateurRobot {
+    private final LongSupplier horloge;
+    private final List<? extends Robot> robots;
+    private final Map<Robot, Integer> rangs = new IdentityHashMap<>(); // Rang de chaque robot dans la liste
+    private final long[] debutInactivite; // Par rang de robot : date de passage à LIBRE, -1 s'il est occupé
+    private long tempsInactif;
+
+    /**
+     * Constructeur de la classe MesureInactivite.
+     * S'enregistre auprès de chaque robot ; les robots à l'état LIBRE sont inactifs à partir de la date courante.
+     *
+     * @param robots  les robots de la simulation
+     * @param horloge la date courante de la simulation
+     */
+    public MesureInactivite(List<? extends Robot> robots, LongSupplier horloge) {
+        this.robots = robots;
+        this.horloge = horloge;
+        this.debutInactivite = new long[robots.size()];
+        long maintenant = horloge.getAsLong();
+        for (int i = 0; i < robots.size(); i++) {
+            Robot robot = robots.get(i);
+            debutInactivite[i] = robot.getState() == RobotState.LIBRE ? maintenant : -1;
+            rangs.put(robot, i);
+            robot.addObservateur(this);
+        }
+    }
+
+    @Override
+    public void etatModifie(Robot robot, RobotState ancien) {
+        Integer i = rangs.get(robot);
+        if (i == null) {
+            return;
+        }
+        if (ancien == RobotState.LIBRE && debutInactivite[i] >= 0) {
+            tempsInactif += horloge.getAsLong() - debutInactivite[i];
+            debutInactivite[i] = -1;
+        } else if (robot.getState() == RobotState.LIBRE) {
+            debutInactivite[i] = horloge.getAsLong();
+        }
+    }
+
+    /**
+     * Retourne le temps d'inactivité cumulé de tous les robots jusqu'à une date donnée.
+     *
+     * @param date la date de fin de la mesure
+     * @return le temps d'inactivité cumulé
+     */
+    public long getTempsInactif(long date) {
+        long total = tempsInactif;
+        for (long debut : debutInactivite) {
+            if (debut >= 0) {
+                total += date - debut;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Désenregistre la mesure auprès des robots.
+     */
+    public void detacher() {
+        for (Robot robot : robots) {
+            robot.removeObservateur(this);
+        }
+    }
+}
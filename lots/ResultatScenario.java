@@ -0,0 +1,80 @@
+package simulation.lots;
+
+/**
+ * Résultat d'un scénario : date d'extinction de tous les incendies et inactivité des robots.
+ */
+public class ResultatScenario {
+    /** Date d'extinction d'un scénario terminé avec des incendies encore actifs. */
+    public static final long NON_ETEINT = -1;
+
+    private final long graine;
+    private final long dateExtinction; // Date à laquelle le dernier incendie a été éteint, NON_ETEINT sinon
+    private final long tempsInactif; // Temps cumulé passé par les robots à l'état LIBRE
+    private final int nbRobots;
+
+    /**
+     * Constructeur de la classe ResultatScenario.
+     *
+     * @param graine         la graine du scénario
+     * @param dateExtinction la date d'extinction du dernier incendie, ou NON_ETEINT
+     * @param tempsInactif   le temps d'inactivité cumulé de tous les robots
+     * @param nbRobots       le nombre de robots du scénario
+     */
+    public ResultatScenario(long graine, long dateExtinction, long tempsInactif, int nbRobots) {
+        this.graine = graine;
+        this.dateExtinction = dateExtinction;
+        this.tempsInactif = tempsInactif;
+        this.nbRobots = nbRobots;
+    }
+
+    /**
+     * Retourne la graine du scénario.
+     *
+     * @return la graine
+     */
+    public long getGraine() {
+        return graine;
+    }
+
+    /**
+     * Retourne la date d'extinction du dernier incendie.
+     *
+     * @return la date, ou NON_ETEINT si des incendies sont restés actifs
+     */
+    public long getDateExtinction() {
+        return dateExtinction;
+    }
+
+    /**
+     * Indique si tous les incendies ont été éteints.
+     *
+     * @return true si le scénario s'est terminé sans incendie actif
+     */
+    public boolean estEteint() {
+        return dateExtinction != NON_ETEINT;
+    }
+
+    /**
+     * Retourne le temps d'inactivité cumulé de tous les robots.
+     *
+     * @return le temps d'inactivité
+     */
+    public long getTempsInactif() {
+        return tempsInactif;
+    }
+
+    /**
+     * Retourne le nombre de robots du scénario.
+     *
+     * @return le nombre de robots
+     */
+    public int getNbRobots() {
+        return nbRobots;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultatScenario{graine=" + graine + ", dateExtinction=" + dateExtinction
+                + ", tempsInactif=" + tempsInactif + ", nbRobots=" + nbRobots + '}';
+    }
+}
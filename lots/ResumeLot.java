@@ -0,0 +1,165 @@
+package simulation.lots;
+
+/**
+ * Résumé statistique d'un lot de scénarios.
+ * Un résumé est construit par un seul thread ; les résumés partiels se combinent avec {@link #fusionner}.
+ */
+public class ResumeLot {
+    private int nbScenarios;
+    private int nbEchecs; // Scénarios terminés par une exception
+    private int nbEteints; // Scénarios terminés sans incendie actif
+    private long sommeExtinction;
+    private long minExtinction = Long.MAX_VALUE;
+    private long maxExtinction = Long.MIN_VALUE;
+    private long sommeInactif;
+    private long sommeRobots;
+    private int rangPremierEchec = Integer.MAX_VALUE; // Rang du premier scénario en échec
+    private long grainePremierEchec;
+    private Throwable causePremierEchec; // Exception du premier scénario en échec, null si aucun
+
+    /**
+     * Ajoute le résultat d'un scénario au résumé.
+     *
+     * @param resultat le résultat du scénario
+     */
+    public void ajouter(ResultatScenario resultat) {
+        nbScenarios++;
+        sommeInactif += resultat.getTempsInactif();
+        sommeRobots += resultat.getNbRobots();
+        if (resultat.estEteint()) {
+            nbEteints++;
+            sommeExtinction += resultat.getDateExtinction();
+            minExtinction = Math.min(minExtinction, resultat.getDateExtinction());
+            maxExtinction = Math.max(maxExtinction, resultat.getDateExtinction());
+        }
+    }
+
+    /**
+     * Compte un scénario terminé par une exception. La graine et l'exception du scénario de plus petit rang
+     * en échec sont conservées, pour pouvoir le rejouer.
+     *
+     * @param rang   le rang du scénario dans le lot
+     * @param graine la graine du scénario
+     * @param cause  l'exception levée par le scénario
+     */
+    public void ajouterEchec(int rang, long graine, Throwable cause) {
+        nbScenarios++;
+        nbEchecs++;
+        if (rang < rangPremierEchec) {
+            rangPremierEchec = rang;
+            grainePremierEchec = graine;
+            causePremierEchec = cause;
+        }
+    }
+
+    /**
+     * Ajoute à ce résumé les scénarios d'un autre résumé.
+     *
+     * @param autre le résumé à fusionner
+     */
+    public void fusionner(ResumeLot autre) {
+        nbScenarios += autre.nbScenarios;
+        nbEchecs += autre.nbEchecs;
+        nbEteints += autre.nbEteints;
+        sommeExtinction += autre.sommeExtinction;
+        minExtinction = Math.min(minExtinction, autre.minExtinction);
+        maxExtinction = Math.max(maxExtinction, autre.maxExtinction);
+        sommeInactif += autre.sommeInactif;
+        sommeRobots += autre.sommeRobots;
+        if (autre.rangPremierEchec < rangPremierEchec) {
+            rangPremierEchec = autre.rangPremierEchec;
+            grainePremierEchec = autre.grainePremierEchec;
+            causePremierEchec = autre.causePremierEchec;
+        }
+    }
+
+    /**
+     * Retourne le nombre de scénarios du lot.
+     *
+     * @return le nombre de scénarios, échecs compris
+     */
+    public int getNbScenarios() {
+        return nbScenarios;
+    }
+
+    /**
+     * Retourne le nombre de scénarios terminés par une exception.
+     *
+     * @return le nombre d'échecs
+     */
+    public int getNbEchecs() {
+        return nbEchecs;
+    }
+
+    /**
+     * Retourne l'exception du premier scénario en échec (de plus petit rang dans le lot).
+     *
+     * @return l'exception, ou null si aucun scénario n'a échoué
+     */
+    public Throwable getCausePremierEchec() {
+        return causePremierEchec;
+    }
+
+    /**
+     * Retourne la graine du premier scénario en échec (de plus petit rang dans le lot).
+     *
+     * @return la graine, sans signification si aucun scénario n'a échoué
+     */
+    public long getGrainePremierEchec() {
+        return grainePremierEchec;
+    }
+
+    /**
+     * Retourne le nombre de scénarios où tous les incendies ont été éteints.
+     *
+     * @return le nombre de scénarios éteints
+     */
+    public int getNbEteints() {
+        return nbEteints;
+    }
+
+    /**
+     * Retourne la date d'extinction moyenne des scénarios éteints.
+     *
+     * @return la moyenne, ou NaN si aucun scénario n'a été éteint
+     */
+    public double getExtinctionMoyenne() {
+        return nbEteints == 0 ? Double.NaN : (double) sommeExtinction / nbEteints;
+    }
+
+    /**
+     * Retourne la plus petite date d'extinction des scénarios éteints.
+     *
+     * @return la date minimale, ou ResultatScenario.NON_ETEINT si aucun scénario n'a été éteint
+     */
+    public long getExtinctionMin() {
+        return nbEteints == 0 ? ResultatScenario.NON_ETEINT : minExtinction;
+    }
+
+    /**
+     * Retourne la plus grande date d'extinction des scénarios éteints.
+     *
+     * @return la date maximale, ou ResultatScenario.NON_ETEINT si aucun scénario n'a été éteint
+     */
+    public long getExtinctionMax() {
+        return nbEteints == 0 ? ResultatScenario.NON_ETEINT : maxExtinction;
+    }
+
+    /**
+     * Retourne le temps d'inactivité moyen d'un robot, sur tous les scénarios réussis.
+     *
+     * @return le temps d'inactivité moyen par robot, ou NaN s'il n'y a aucun robot
+     */
+    public double getInactiviteMoyenneParRobot() {
+        return sommeRobots == 0 ? Double.NaN : (double) sommeInactif / sommeRobots;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumeLot{scenarios=" + nbScenarios + ", echecs=" + nbEchecs + ", eteints=" + nbEteints
+                + ", extinction moyenne=" + getExtinctionMoyenne() + ", min=" + getExtinctionMin()
+                + ", max=" + getExtinctionMax() + ", inactivite moyenne par robot=" + getInactiviteMoyenneParRobot()
+                + (causePremierEchec == null ? "" : ", premier echec=" + causePremierEchec + " (graine " + grainePremierEchec + ")")
+                + '}';
+    }
+}
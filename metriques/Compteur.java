@@ -0,0 +1,35 @@
+package simulation.metriques;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteur cumulatif, incrémentable depuis plusieurs threads sans verrou.
+ */
+public class Compteur {
+    private final LongAdder valeur = new LongAdder();
+
+    /**
+     * Ajoute 1 au compteur.
+     */
+    public void incrementer() {
+        valeur.increment();
+    }
+
+    /**
+     * Ajoute une quantité au compteur.
+     *
+     * @param quantite la quantité à ajouter
+     */
+    public void ajouter(long quantite) {
+        valeur.add(quantite);
+    }
+
+    /**
+     * Retourne la valeur du compteur.
+     *
+     * @return la valeur
+     */
+    public long getValeur() {
+        return valeur.sum();
+    }
+}
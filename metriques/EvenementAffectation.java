@@ -0,0 +1,22 @@
+package simulation.metriques;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR : une décision d'affectation des robots libres aux incendies actifs.
+ */
+@Name("simulation.Affectation")
+@Label("Affectation des robots")
+@Category({"Simulation", "Affectation"})
+@Description("Appel de l'affectation des robots libres aux incendies actifs")
+public class EvenementAffectation extends Event {
+    @Label("Incendies en attente")
+    public int nbIncendies;
+
+    @Label("Incendies restant après affectation")
+    public int nbIncendiesRestants;
+}
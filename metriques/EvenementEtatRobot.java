@@ -0,0 +1,25 @@
+package simulation.metriques;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR : un robot quitte un état après y avoir passé une certaine durée de simulation.
+ */
+@Name("simulation.EtatRobot")
+@Label("État de robot")
+@Category({"Simulation", "Robots"})
+@Description("Durée de simulation passée par un robot dans un état")
+class EvenementEtatRobot extends Event {
+    @Label("Robot")
+    int robot;
+
+    @Label("État")
+    String etat;
+
+    @Label("Durée (simulation)")
+    long duree;
+}
@@ -0,0 +1,28 @@
+package simulation.metriques;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR : un incendie est éteint.
+ */
+@Name("simulation.Extinction")
+@Label("Extinction d'incendie")
+@Category({"Simulation", "Incendies"})
+@Description("Incendie éteint, avec son délai d'affectation et sa durée totale")
+class EvenementExtinction extends Event {
+    @Label("Incendie")
+    int incendie;
+
+    @Label("Coût en eau initial")
+    int coutEauInitial;
+
+    @Label("Attente d'affectation (simulation)")
+    long attenteAffectation;
+
+    @Label("Durée jusqu'à l'extinction (simulation)")
+    long duree;
+}
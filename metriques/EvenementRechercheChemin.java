@@ -0,0 +1,31 @@
+package simulation.metriques;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR : une recherche de chemin, avec sa durée d'exécution et le nombre de noeuds explorés.
+ */
+@Name("simulation.RechercheChemin")
+@Label("Recherche de chemin")
+@Category({"Simulation", "Chemins"})
+@Description("Recherche de plus court chemin d'un robot vers une ou plusieurs cibles")
+class EvenementRechercheChemin extends Event {
+    @Label("Robot")
+    int robot;
+
+    @Label("Nombre de cibles")
+    int nbCibles;
+
+    @Label("Noeuds explorés")
+    int noeudsExplores;
+
+    @Label("Trouvé")
+    boolean trouve;
+
+    @Label("Temps de trajet (s)")
+    int tempsTrajet;
+}
@@ -0,0 +1,118 @@
+package simulation.metriques;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramme de valeurs positives à classes logarithmiques : chaque puissance de deux est découpée en
+ * 8 classes, soit une erreur relative d'au plus 12,5 % sur les quantiles. Les valeurs de 0 à 15 ont
+ * chacune leur classe. L'enregistrement est sans verrou et n'alloue rien ; il peut être appelé depuis
+ * plusieurs threads.
+ */
+public class Histogramme {
+    private static final int BITS_SOUS_CLASSES = 3;
+    private static final int NB_SOUS_CLASSES = 1 << BITS_SOUS_CLASSES;
+    private static final int NB_CLASSES_EXACTES = 2 * NB_SOUS_CLASSES; // Valeurs 0 à 15
+    private static final int NB_CLASSES = NB_CLASSES_EXACTES + (63 - BITS_SOUS_CLASSES - 1) * NB_SOUS_CLASSES;
+
+    private final AtomicLongArray effectifs = new AtomicLongArray(NB_CLASSES);
+    private final LongAdder nombre = new LongAdder();
+    private final LongAdder somme = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Enregistre une valeur ; les valeurs négatives sont comptées comme 0.
+     *
+     * @param valeur la valeur
+     */
+    public void enregistrer(long valeur) {
+        long v = Math.max(0, valeur);
+        effectifs.incrementAndGet(classe(v));
+        nombre.increment();
+        somme.add(v);
+        long m = max.get();
+        while (v > m && !max.compareAndSet(m, v)) {
+            m = max.get();
+        }
+    }
+
+    /**
+     * Retourne le nombre de valeurs enregistrées.
+     *
+     * @return le nombre de valeurs
+     */
+    public long getNombre() {
+        return nombre.sum();
+    }
+
+    /**
+     * Retourne la somme des valeurs enregistrées.
+     *
+     * @return la somme
+     */
+    public long getSomme() {
+        return somme.sum();
+    }
+
+    /**
+     * Retourne la moyenne des valeurs enregistrées.
+     *
+     * @return la moyenne, ou NaN si aucune valeur n'a été enregistrée
+     */
+    public double getMoyenne() {
+        long n = getNombre();
+        return n == 0 ? Double.NaN : (double) getSomme() / n;
+    }
+
+    /**
+     * Retourne la plus grande valeur enregistrée.
+     *
+     * @return le maximum, 0 si aucune valeur n'a été enregistrée
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Retourne un quantile des valeurs enregistrées, arrondi à la borne inférieure de sa classe.
+     *
+     * @param q le quantile, entre 0 et 1
+     * @return la valeur du quantile, 0 si aucune valeur n'a été enregistrée
+     */
+    public long getQuantile(double q) {
+        long total = 0;
+        long[] copie = new long[NB_CLASSES];
+        for (int i = 0; i < NB_CLASSES; i++) {
+            copie[i] = effectifs.get(i);
+            total += copie[i];
+        }
+        long rang = Math.max(1, (long) Math.ceil(q * total));
+        long cumul = 0;
+        for (int i = 0; i < NB_CLASSES; i++) {
+            cumul += copie[i];
+            if (cumul >= rang) {
+                return borneInferieure(i);
+            }
+        }
+        return 0;
+    }
+
+    private static int classe(long v) {
+        if (v < NB_CLASSES_EXACTES) {
+            return (int) v;
+        }
+        int exposant = 63 - Long.numberOfLeadingZeros(v); // au moins 4
+        int mantisse = (int) (v >>> (exposant - BITS_SOUS_CLASSES)) & (NB_SOUS_CLASSES - 1);
+        return NB_CLASSES_EXACTES + (exposant - BITS_SOUS_CLASSES - 1) * NB_SOUS_CLASSES + mantisse;
+    }
+
+    private static long borneInferieure(int classe) {
+        if (classe < NB_CLASSES_EXACTES) {
+            return classe;
+        }
+        int exposant = (classe - NB_CLASSES_EXACTES) / NB_SOUS_CLASSES + BITS_SOUS_CLASSES + 1;
+        int mantisse = (classe - NB_CLASSES_EXACTES) % NB_SOUS_CLASSES;
+        return (long) (NB_SOUS_CLASSES + mantisse) << (exposant - BITS_SOUS_CLASSES);
+    }
+}
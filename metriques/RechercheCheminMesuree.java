@@ -0,0 +1,93 @@
+package simulation.metriques;
+
+import simulation.chemin.Chemin;
+import simulation.chemin.RechercheChemin;
+import simulation.chemin.ResultatPlusProche;
+import simulation.environment.Case;
+import simulation.robot.Robot;
+
+import java.util.List;
+
+/**
+ * Décorateur d'un moteur de recherche de chemin qui mesure chaque requête : latence
+ * ({@code chemin.latence_ns}), nombre de noeuds explorés ({@code chemin.noeuds}), requêtes sans
+ * solution ({@code chemin.introuvables}), et un événement JFR par requête.
+ */
+public class RechercheCheminMesuree implements RechercheChemin {
+    private final RechercheChemin moteur;
+    private final Histogramme latences;
+    private final Histogramme noeuds;
+    private final Compteur introuvables;
+
+    /**
+     * Constructeur de la classe RechercheCheminMesuree.
+     *
+     * @param moteur   le moteur mesuré
+     * @param registre le registre des métriques
+     */
+    public RechercheCheminMesuree(RechercheChemin moteur, RegistreMetriques registre) {
+        this.moteur = moteur;
+        this.latences = registre.histogramme("chemin.latence_ns");
+        this.noeuds = registre.histogramme("chemin.noeuds");
+        this.introuvables = registre.compteur("chemin.introuvables");
+    }
+
+    @Override
+    public Chemin chercher(Robot robot, Case cible) {
+        EvenementRechercheChemin evenement = new EvenementRechercheChemin();
+        evenement.begin();
+        long debut = System.nanoTime();
+        Chemin chemin = moteur.chercher(robot, cible);
+        mesurer(evenement, debut, robot, 1, chemin);
+        return chemin;
+    }
+
+    @Override
+    public ResultatPlusProche chercherPlusProche(Robot robot, List<Case> cibles) {
+        EvenementRechercheChemin evenement = new EvenementRechercheChemin();
+        evenement.begin();
+        long debut = System.nanoTime();
+        ResultatPlusProche res = moteur.chercherPlusProche(robot, cibles);
+        mesurer(evenement, debut, robot, cibles.size(), res.getChemin());
+        return res;
+    }
+
+    private void mesurer(EvenementRechercheChemin evenement, long debut, Robot robot, int nbCibles, Chemin chemin) {
+        latences.enregistrer(System.nanoTime() - debut);
+        int nbNoeuds = moteur.getNbNoeudsExplores();
+        if (nbNoeuds >= 0) {
+            noeuds.enregistrer(nbNoeuds);
+        }
+        if (!chemin.estTrouve()) {
+            introuvables.incrementer();
+        }
+        evenement.end();
+        if (evenement.shouldCommit()) {
+            evenement.robot = robot.getId();
+            evenement.nbCibles = nbCibles;
+            evenement.noeudsExplores = nbNoeuds;
+            evenement.trouve = chemin.estTrouve();
+            evenement.tempsTrajet = chemin.estTrouve() ? chemin.getTemps() : -1;
+            evenement.commit();
+        }
+    }
+
+    @Override
+    public boolean estMultiCibles() {
+        return moteur.estMultiCibles();
+    }
+
+    @Override
+    public int getNbNoeudsExplores() {
+        return moteur.getNbNoeudsExplores();
+    }
+
+    /**
+     * Retourne le moteur mesuré.
+     *
+     * @return le moteur
+     */
+    public RechercheChemin getMoteur() {
+        return moteur;
+    }
+}
@@ -0,0 +1,82 @@
+package simulation.metriques;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Registre nommé des métriques d'une simulation : compteurs, histogrammes et jauges.
+ *
+ * Les métriques sont créées à la première demande d'un nom ; les composants instrumentés les obtiennent
+ * une fois puis enregistrent directement, sans repasser par le registre. Chaque simulation a son propre
+ * registre, si bien que des simulations exécutées en parallèle ne mélangent pas leurs mesures.
+ */
+public class RegistreMetriques {
+    private final Map<String, Compteur> compteurs = new ConcurrentHashMap<>();
+    private final Map<String, Histogramme> histogrammes = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> jauges = new ConcurrentHashMap<>();
+
+    /**
+     * Retourne le compteur d'un nom donné, en le créant si nécessaire.
+     *
+     * @param nom le nom du compteur
+     * @return le compteur
+     */
+    public Compteur compteur(String nom) {
+        return compteurs.computeIfAbsent(nom, n -> new Compteur());
+    }
+
+    /**
+     * Retourne l'histogramme d'un nom donné, en le créant si nécessaire.
+     *
+     * @param nom le nom de l'histogramme
+     * @return l'histogramme
+     */
+    public Histogramme histogramme(String nom) {
+        return histogrammes.computeIfAbsent(nom, n -> new Histogramme());
+    }
+
+    /**
+     * Enregistre une jauge : une valeur lue à la demande, lors de l'export du registre.
+     *
+     * @param nom    le nom de la jauge
+     * @param valeur la fonction qui lit la valeur
+     */
+    public void jauge(String nom, LongSupplier valeur) {
+        jauges.put(nom, valeur);
+    }
+
+    /**
+     * Retourne la valeur courante des compteurs et des jauges, par nom.
+     *
+     * @return les valeurs, triées par nom
+     */
+    public Map<String, Long> getValeurs() {
+        Map<String, Long> valeurs = new TreeMap<>();
+        compteurs.forEach((nom, compteur) -> valeurs.put(nom, compteur.getValeur()));
+        jauges.forEach((nom, jauge) -> valeurs.put(nom, jauge.getAsLong()));
+        return valeurs;
+    }
+
+    /**
+     * Retourne les histogrammes, par nom.
+     *
+     * @return les histogrammes, triés par nom
+     */
+    public Map<String, Histogramme> getHistogrammes() {
+        return new TreeMap<>(histogrammes);
+    }
+
+    /**
+     * Écrit toutes les métriques en texte, une par ligne, triées par nom.
+     *
+     * @param flux le flux d'écriture
+     */
+    public void ecrire(PrintStream flux) {
+        getValeurs().forEach((nom, valeur) -> flux.println(nom + " = " + valeur));
+        getHistogrammes().forEach((nom, h) -> flux.printf("%s : n=%d moyenne=%.1f p50=%d p99=%d max=%d%n",
+                nom, h.getNombre(), h.getMoyenne(), h.getQuantile(0.5), h.getQuantile(0.99), h.getMax()));
+    }
+}
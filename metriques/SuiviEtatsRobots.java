@@ -0,0 +1,109 @@
+package simulation.metriques;
+
+import simulation.robot.ObservateurRobot;
+import simulation.robot.Robot;
+import simulation.robot.RobotState;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Suivi du temps de simulation passé par chaque robot dans chaque état.
+ *
+ * À chaque changement d'état, la durée passée dans l'état quitté est ajoutée au total du robot, enregistrée
+ * dans l'histogramme {@code robot.etat.<ETAT>.duree} et émise en événement JFR. Le total de chaque robot et
+ * de chaque état est exposé par la jauge {@code robot.<id>.etat.<ETAT>.temps}, état en cours compris.
+ * Les changements d'état doivent être notifiés par un seul thread à la fois.
+ */
+public class SuiviEtatsRobots implements ObservateurRobot {
+    private static final RobotState[] ETATS = RobotState.values();
+
+    private final LongSupplier horloge;
+    private final List<? extends Robot> robots;
+    private final Map<Robot, Integer> rangs = new IdentityHashMap<>();
+    private final long[][] temps; // Par rang de robot et ordinal d'état : temps cumulé des passages terminés
+    private final long[] debutEtat; // Par rang de robot : date d'entrée dans l'état courant
+    private final Histogramme[] durees; // Par ordinal d'état
+
+    /**
+     * Constructeur de la classe SuiviEtatsRobots.
+     * S'enregistre auprès de chaque robot et déclare les jauges et histogrammes dans le registre.
+     *
+     * @param robots   les robots suivis
+     * @param horloge  la date courante de la simulation
+     * @param registre le registre des métriques
+     */
+    public SuiviEtatsRobots(List<? extends Robot> robots, LongSupplier horloge, RegistreMetriques registre) {
+        this.robots = robots;
+        this.horloge = horloge;
+        this.temps = new long[robots.size()][ETATS.length];
+        this.debutEtat = new long[robots.size()];
+        this.durees = new Histogramme[ETATS.length];
+        for (RobotState etat : ETATS) {
+            durees[etat.ordinal()] = registre.histogramme("robot.etat." + etat + ".duree");
+        }
+        long maintenant = horloge.getAsLong();
+        for (int i = 0; i < robots.size(); i++) {
+            Robot robot = robots.get(i);
+            rangs.put(robot, i);
+            debutEtat[i] = maintenant;
+            for (RobotState etat : ETATS) {
+                int rang = i;
+                registre.jauge("robot." + robot.getId() + ".etat." + etat + ".temps", () -> getTemps(rang, etat));
+            }
+            robot.addObservateur(this);
+        }
+    }
+
+    @Override
+    public void etatModifie(Robot robot, RobotState ancien) {
+        Integer i = rangs.get(robot);
+        if (i == null) {
+            return;
+        }
+        long maintenant = horloge.getAsLong();
+        long duree = maintenant - debutEtat[i];
+        temps[i][ancien.ordinal()] += duree;
+        durees[ancien.ordinal()].enregistrer(duree);
+        debutEtat[i] = maintenant;
+
+        EvenementEtatRobot evenement = new EvenementEtatRobot();
+        if (evenement.shouldCommit()) {
+            evenement.robot = robot.getId();
+            evenement.etat = ancien.name();
+            evenement.duree = duree;
+            evenement.commit();
+        }
+    }
+
+    /**
+     * Retourne le temps passé par un robot dans un état, état en cours compris.
+     *
+     * @param robot le robot
+     * @param etat  l'état
+     * @return le temps de simulation passé dans l'état
+     */
+    public long getTemps(Robot robot, RobotState etat) {
+        Integer i = rangs.get(robot);
+        return i == null ? 0 : getTemps(i, etat);
+    }
+
+    private long getTemps(int i, RobotState etat) {
+        long total = temps[i][etat.ordinal()];
+        if (robots.get(i).getState() == etat) {
+            total += horloge.getAsLong() - debutEtat[i];
+        }
+        return total;
+    }
+
+    /**
+     * Désenregistre le suivi auprès des robots.
+     */
+    public void detacher() {
+        for (Robot robot : robots) {
+            robot.removeObservateur(this);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package simulation.metriques;
+
+import simulation.environment.EtatIncendie;
+import simulation.environment.Incendie;
+import simulation.environment.ObservateurIncendie;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Suivi du cycle de vie des incendies : délai entre l'apparition et l'affectation d'un robot
+ * ({@code incendie.attente_affectation}), et entre l'apparition et l'extinction ({@code incendie.duree_extinction}).
+ * Chaque extinction est aussi émise en événement JFR.
+ */
+public class SuiviIncendies implements ObservateurIncendie {
+    private final LongSupplier horloge;
+    private final Map<Incendie, long[]> dates = new IdentityHashMap<>(); // Apparition, affectation (-1 si pas encore)
+    private final Histogramme attentes;
+    private final Histogramme durees;
+    private final Compteur eteints;
+
+    /**
+     * Constructeur de la classe SuiviIncendies.
+     *
+     * @param horloge  la date courante de la simulation
+     * @param registre le registre des métriques
+     */
+    public SuiviIncendies(LongSupplier horloge, RegistreMetriques registre) {
+        this.horloge = horloge;
+        this.attentes = registre.histogramme("incendie.attente_affectation");
+        this.durees = registre.histogramme("incendie.duree_extinction");
+        this.eteints = registre.compteur("incendie.eteints");
+    }
+
+    /**
+     * Commence le suivi d'un incendie, apparu à la date courante.
+     *
+     * @param incendie l'incendie
+     */
+    public void suivre(Incendie incendie) {
+        dates.put(incendie, new long[]{horloge.getAsLong(), -1});
+        incendie.addObservateur(this);
+    }
+
+    @Override
+    public void etatModifie(Incendie incendie, EtatIncendie ancien) {
+        long[] d = dates.get(incendie);
+        if (d == null) {
+            return;
+        }
+        long maintenant = horloge.getAsLong();
+        if (incendie.getEtat() == EtatIncendie.TARGETED && d[1] < 0) {
+            d[1] = maintenant;
+            attentes.enregistrer(maintenant - d[0]);
+        } else if (incendie.getEtat() == EtatIncendie.ETEINT) {
+            dates.remove(incendie);
+            durees.enregistrer(maintenant - d[0]);
+            eteints.incrementer();
+
+            EvenementExtinction evenement = new EvenementExtinction();
+            if (evenement.shouldCommit()) {
+                evenement.incendie = incendie.getId();
+                evenement.coutEauInitial = incendie.getCoutEauInitial();
+                evenement.attenteAffectation = d[1] < 0 ? -1 : d[1] - d[0];
+                evenement.duree = maintenant - d[0];
+                evenement.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package simulation.ordonnancement;
+
+import simulation.environment.Case;
+import simulation.robot.Robot;
+
+/**
+ * Action d'un robot exécutable dans un tick parallèle ({@link ExecuteurTickParallele}).
+ *
+ * L'exécution est découpée en deux temps : {@link #executer()} est appelée en parallèle pour toutes
+ * les actions retenues et ne doit modifier que l'état propre du robot ; {@link #valider()} est appelée
+ * ensuite, une action après l'autre dans un ordre déterministe, et porte les effets partagés
+ * (déplacement sur la carte, eau versée sur un incendie, notifications des observateurs).
+ */
+public interface ActionParallele {
+
+    /**
+     * Retourne le robot qui exécute l'action.
+     *
+     * @return le robot
+     */
+    Robot getRobot();
+
+    /**
+     * Retourne la case que l'action doit réserver avant de s'exécuter.
+     *
+     * @return la case visée, ou null si l'action ne réserve aucune case
+     */
+    Case getCaseVisee();
+
+    /**
+     * Partie de l'action exécutée en parallèle avec celles des autres robots.
+     */
+    default void executer() {
+    }
+
+    /**
+     * Partie de l'action exécutée séquentiellement, dans l'ordre de priorité du tick.
+     */
+    void valider();
+}
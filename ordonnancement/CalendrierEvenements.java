@@ -0,0 +1,300 @@
+package simulation.ordonnancement;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * File d'événements datés implémentée par une roue temporelle hiérarchique.
+ *
+ * Les dates sont des entiers positifs. Chaque niveau de la roue compte 64 cases et couvre 64 fois
+ * la durée du niveau inférieur ; un événement est rangé au niveau correspondant au bit de poids fort
+ * qui distingue sa date de la date courante. Les cases occupées d'un niveau sont repérées par un masque
+ * de 64 bits, si bien que l'insertion et le retrait se font en temps constant amorti. Les dates trop
+ * lointaines pour la roue attendent dans une table triée et y sont ramenées dès qu'elles entrent
+ * dans la portée de la roue.
+ *
+ * Consulter la prochaine date avance la roue jusqu'à cet événement sans le retirer ; un événement ajouté
+ * ensuite à une date antérieure (mais pas avant le dernier événement retiré) attend dans une table triée
+ * d'événements anticipés, qui passent avant ceux de la roue.
+ *
+ * Ordre de sortie : par date croissante, puis par ordre d'insertion pour une même date. C'est exactement
+ * l'ordre d'un tri stable par date ; les événements d'une même date peuvent être retirés par lot.
+ *
+ * @param <E> le type des événements
+ */
+public class CalendrierEvenements<E> {
+    private static final int BITS_NIVEAU = 6;
+    private static final int NB_CASES = 1 << BITS_NIVEAU; // 64 cases par niveau
+    private static final int MASQUE_CASE = NB_CASES - 1;
+    private static final int NB_NIVEAUX = 6; // portée de la roue : 2^36 unités de temps
+
+    private final Noeud<E>[][] tetes;
+    private final Noeud<E>[][] queues;
+    private final long[] occupees; // Bit i du niveau k : la case i du niveau k contient des événements
+    private final TreeMap<Long, ArrayDeque<E>> lointains = new TreeMap<>(); // Hors de portée de la roue
+    private final TreeMap<Long, ArrayDeque<E>> anticipes = new TreeMap<>(); // Antérieurs à la date courante de la roue
+
+    private long dateCourante; // Position de la roue, jusqu'au prochain événement après une consultation
+    private long datePlancher; // Date du dernier événement retiré : aucun ajout avant cette date
+    private int taille;
+    private Noeud<E> libres; // Noeuds recyclés
+
+    /**
+     * Constructeur de la classe CalendrierEvenements.
+     *
+     * @param dateInitiale la date à partir de laquelle les événements peuvent être ajoutés
+     */
+    @SuppressWarnings("unchecked")
+    public CalendrierEvenements(long dateInitiale) {
+        if (dateInitiale < 0) {
+            throw new IllegalArgumentException("Date négative : " + dateInitiale);
+        }
+        this.tetes = (Noeud<E>[][]) new Noeud<?>[NB_NIVEAUX][NB_CASES];
+        this.queues = (Noeud<E>[][]) new Noeud<?>[NB_NIVEAUX][NB_CASES];
+        this.occupees = new long[NB_NIVEAUX];
+        this.dateCourante = dateInitiale;
+        this.datePlancher = dateInitiale;
+    }
+
+    /**
+     * Ajoute un événement à une date donnée.
+     *
+     * @param date      la date de l'événement, au moins égale à celle du dernier événement retiré
+     * @param evenement l'événement
+     */
+    public void ajouter(long date, E evenement) {
+        if (date < datePlancher) {
+            throw new IllegalArgumentException("Date " + date + " antérieure à la date courante " + datePlancher);
+        }
+        taille++;
+        if (date < dateCourante) {
+            // la roue a déjà été avancée jusqu'au prochain événement par une consultation
+            anticipes.computeIfAbsent(date, d -> new ArrayDeque<>()).add(evenement);
+        } else {
+            ranger(date, evenement);
+        }
+    }
+
+    /**
+     * Indique si la file est vide.
+     *
+     * @return true si aucun événement n'est en attente
+     */
+    public boolean estVide() {
+        return taille == 0;
+    }
+
+    /**
+     * Retourne le nombre d'événements en attente.
+     *
+     * @return le nombre d'événements
+     */
+    public int taille() {
+        return taille;
+    }
+
+    /**
+     * Retourne la date du prochain événement, sans le retirer.
+     *
+     * @return la date du prochain événement
+     * @throws IllegalStateException si la file est vide
+     */
+    public long prochaineDate() {
+        if (!anticipes.isEmpty()) {
+            return anticipes.firstKey();
+        }
+        avancer();
+        return dateCourante;
+    }
+
+    /**
+     * Retire le prochain événement (plus petite date, puis premier inséré).
+     *
+     * @return l'événement retiré
+     * @throws IllegalStateException si la file est vide
+     */
+    public E retirer() {
+        if (!anticipes.isEmpty()) {
+            Map.Entry<Long, ArrayDeque<E>> e = anticipes.firstEntry();
+            E evenement = e.getValue().poll();
+            if (e.getValue().isEmpty()) {
+                anticipes.pollFirstEntry();
+            }
+            taille--;
+            datePlancher = e.getKey();
+            return evenement;
+        }
+        int c = avancer();
+        Noeud<E> n = tetes[0][c];
+        tetes[0][c] = n.suivant;
+        if (n.suivant == null) {
+            queues[0][c] = null;
+            occupees[0] &= ~(1L << c);
+        }
+        taille--;
+        datePlancher = dateCourante;
+        return recycler(n);
+    }
+
+    /**
+     * Retire tous les événements de la prochaine date, dans leur ordre d'insertion.
+     * Les événements ajoutés ensuite à cette même date feront partie du lot suivant.
+     *
+     * @return le lot d'événements de même date
+     * @throws IllegalStateException si la file est vide
+     */
+    public List<E> retirerLot() {
+        if (!anticipes.isEmpty()) {
+            Map.Entry<Long, ArrayDeque<E>> e = anticipes.pollFirstEntry();
+            taille -= e.getValue().size();
+            datePlancher = e.getKey();
+            return new ArrayList<>(e.getValue());
+        }
+        int c = avancer();
+        List<E> lot = new ArrayList<>();
+        for (Noeud<E> n = tetes[0][c]; n != null; ) {
+            Noeud<E> suivant = n.suivant;
+            lot.add(recycler(n));
+            n = suivant;
+        }
+        tetes[0][c] = null;
+        queues[0][c] = null;
+        occupees[0] &= ~(1L << c);
+        taille -= lot.size();
+        datePlancher = dateCourante;
+        return lot;
+    }
+
+    /**
+     * Amène la date courante sur le prochain événement, en descendant les cases des niveaux supérieurs
+     * si nécessaire.
+     *
+     * @return la case du niveau 0 qui contient le prochain événement
+     */
+    private int avancer() {
+        if (taille == 0) {
+            throw new IllegalStateException("Aucun événement en attente");
+        }
+        while (true) {
+            int c0 = (int) (dateCourante & MASQUE_CASE);
+            long m = occupees[0] & (-1L << c0);
+            if (m != 0) {
+                int c = Long.numberOfTrailingZeros(m);
+                dateCourante = (dateCourante & ~(long) MASQUE_CASE) | c;
+                return c;
+            }
+            if (!descendre()) {
+                // roue vide : on saute directement à la première date lointaine
+                dateCourante = lointains.firstKey();
+                rapatrier();
+            }
+        }
+    }
+
+    /**
+     * Cherche, en remontant les niveaux, la prochaine case occupée après la position courante ;
+     * avance la date courante au début de cette case et redistribue ses événements vers les niveaux
+     * inférieurs.
+     *
+     * @return false si aucun niveau ne contient d'événement
+     */
+    private boolean descendre() {
+        for (int k = 1; k < NB_NIVEAUX; k++) {
+            int decalage = k * BITS_NIVEAU;
+            int ck = (int) ((dateCourante >>> decalage) & MASQUE_CASE);
+            long m = occupees[k] & (-2L << ck);
+            if (m == 0) {
+                continue;
+            }
+            int c = Long.numberOfTrailingZeros(m);
+            long hauts = dateCourante & (-1L << (decalage + BITS_NIVEAU));
+            dateCourante = hauts | ((long) c << decalage);
+            Noeud<E> n = tetes[k][c];
+            tetes[k][c] = null;
+            queues[k][c] = null;
+            occupees[k] &= ~(1L << c);
+            rapatrier();
+            // l'ordre d'insertion est conservé : les noeuds sont rangés à nouveau dans l'ordre de la case
+            while (n != null) {
+                Noeud<E> suivant = n.suivant;
+                n.suivant = null;
+                chainer(niveau(n.date), n);
+                n = suivant;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Ramène dans la roue les événements lointains entrés dans sa portée depuis l'avancée de la date courante.
+     */
+    private void rapatrier() {
+        while (!lointains.isEmpty() && niveau(lointains.firstKey()) < NB_NIVEAUX) {
+            Map.Entry<Long, ArrayDeque<E>> e = lointains.pollFirstEntry();
+            for (E evenement : e.getValue()) {
+                ranger(e.getKey(), evenement);
+            }
+        }
+    }
+
+    private void ranger(long date, E evenement) {
+        int k = niveau(date);
+        if (k >= NB_NIVEAUX) {
+            lointains.computeIfAbsent(date, d -> new ArrayDeque<>()).add(evenement);
+            return;
+        }
+        Noeud<E> n = libres;
+        if (n != null) {
+            libres = n.suivant;
+            n.suivant = null;
+        } else {
+            n = new Noeud<>();
+        }
+        n.date = date;
+        n.evenement = evenement;
+        chainer(k, n);
+    }
+
+    private void chainer(int k, Noeud<E> n) {
+        int c = (int) ((n.date >>> (k * BITS_NIVEAU)) & MASQUE_CASE);
+        if (queues[k][c] == null) {
+            tetes[k][c] = n;
+            occupees[k] |= 1L << c;
+        } else {
+            queues[k][c].suivant = n;
+        }
+        queues[k][c] = n;
+    }
+
+    /**
+     * Niveau de la roue d'une date : celui du bit de poids fort qui la distingue de la date courante.
+     */
+    private int niveau(long date) {
+        long difference = date ^ dateCourante;
+        if (difference == 0) {
+            return 0;
+        }
+        return (63 - Long.numberOfLeadingZeros(difference)) / BITS_NIVEAU;
+    }
+
+    private E recycler(Noeud<E> n) {
+        E evenement = n.evenement;
+        n.evenement = null;
+        n.suivant = libres;
+        libres = n;
+        return evenement;
+    }
+
+    /**
+     * Maillon d'une liste d'événements d'une case de la roue.
+     */
+    private static final class Noeud<E> {
+        private long date;
+        private E evenement;
+        private Noeud<E> suivant;
+    }
+}
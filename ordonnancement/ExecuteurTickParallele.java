@@ -0,0 +1,163 @@
+package simulation.ordonnancement;
+
+import simulation.environment.Carte;
+import simulation.environment.Case;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Exécution en parallèle des actions de tous les robots dues à une même date.
+ *
+ * Un tick se déroule en quatre phases :
+ * <ol>
+ *     <li>chaque action qui vise une case y propose sa priorité ; seule la plus petite est conservée (minimum atomique
+ *     dans une table primitive sans verrou, {@link TablePrioritesCases}) ;</li>
+ *     <li>l'action de plus petite priorité de chaque case la réserve par compare-and-set LIBRE → TARGETED ;
+ *     une case déjà réservée ou occupée reste à son détenteur ;</li>
+ *     <li>les actions retenues exécutent en parallèle leur partie propre ({@link ActionParallele#executer()}) ;</li>
+ *     <li>leurs effets partagés sont validés un par un, par priorité croissante ({@link ActionParallele#valider()}).</li>
+ * </ol>
+ *
+ * La priorité d'un robot est tirée d'une permutation pseudo-aléatoire des identifiants, renouvelée à chaque
+ * tick et fixée par la graine : pour une même graine et une même suite de lots, les robots retenus et l'ordre
+ * de validation ne dépendent pas de l'ordonnancement des threads. Les identifiants des robots doivent être uniques.
+ */
+public class ExecuteurTickParallele {
+    private static final int SEUIL_DECOUPAGE = 64; // Nombre d'actions en dessous duquel une tâche n'est plus découpée
+
+    private final Carte carte;
+    private final ForkJoinPool pool;
+    private final long graine;
+    private final TablePrioritesCases prioritesCases = new TablePrioritesCases(); // Vidée au début de chaque tick
+    private long numeroTick; // Nombre de ticks exécutés, mêlé à la graine pour renouveler les priorités
+
+    /**
+     * Constructeur de la classe ExecuteurTickParallele.
+     *
+     * @param carte  la carte de la simulation
+     * @param pool   le pool de threads sur lequel répartir les actions
+     * @param graine la graine des priorités entre robots
+     */
+    public ExecuteurTickParallele(Carte carte, ForkJoinPool pool, long graine) {
+        this.carte = carte;
+        this.pool = pool;
+        this.graine = graine;
+    }
+
+    /**
+     * Exécute un lot d'actions de même date.
+     *
+     * @param actions les actions du lot, un robot au plus par action
+     * @return les actions qui n'ont pas obtenu leur case, par priorité croissante, à reprogrammer ou dont
+     * le trajet est à réparer ({@link simulation.robot.RobotChefPompier#replanifierTrajet})
+     */
+    public List<ActionParallele> executerTick(List<? extends ActionParallele> actions) {
+        int n = actions.size();
+        long tick = numeroTick++;
+        ActionParallele[] triees = actions.toArray(new ActionParallele[0]);
+        long[] priorites = new long[n];
+        for (int i = 0; i < n; i++) {
+            priorites[i] = priorite(tick, triees[i].getRobot().getId());
+        }
+        Integer[] ordre = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            ordre[i] = i;
+        }
+        Arrays.sort(ordre, Comparator.comparingLong(i -> priorites[i]));
+
+        // Indices des cases visées, -1 pour une action sans case
+        int[] cases = new int[n];
+        for (int i = 0; i < n; i++) {
+            Case visee = triees[i].getCaseVisee();
+            cases[i] = visee == null ? -1 : carte.indexCase(visee);
+        }
+
+        // Phase 1 : minimum atomique des priorités par case
+        prioritesCases.preparer(n);
+        enParallele(n, i -> {
+            if (cases[i] >= 0) {
+                prioritesCases.proposer(cases[i], priorites[i]);
+            }
+        });
+
+        // Phase 2 : seule l'action prioritaire de chaque case tente la réservation
+        boolean[] retenues = new boolean[n];
+        enParallele(n, i -> {
+            if (cases[i] < 0) {
+                retenues[i] = true;
+            } else if (prioritesCases.get(cases[i]) == priorites[i]) {
+                retenues[i] = triees[i].getCaseVisee().reserver();
+            }
+        });
+
+        // Phase 3 : partie propre de chaque action retenue
+        enParallele(n, i -> {
+            if (retenues[i]) {
+                triees[i].executer();
+            }
+        });
+
+        // Phase 4 : effets partagés, par priorité croissante
+        List<ActionParallele> differees = new ArrayList<>();
+        for (int i : ordre) {
+            if (retenues[i]) {
+                triees[i].valider();
+            } else {
+                differees.add(triees[i]);
+            }
+        }
+        return differees;
+    }
+
+    /**
+     * Priorité d'un robot pour un tick : un mélange de la graine, du tick et de l'identifiant dans les
+     * 32 bits de poids fort, l'identifiant dans les 32 bits de poids faible pour départager les égalités.
+     */
+    private long priorite(long tick, int idRobot) {
+        long z = graine + tick * 0x9E3779B97F4A7C15L + idRobot * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (z & 0xFFFFFFFF00000000L) ^ Integer.toUnsignedLong(idRobot);
+    }
+
+    private void enParallele(int n, IntConsumer corps) {
+        if (n > 0) {
+            pool.invoke(new Intervalle(corps, 0, n));
+        }
+    }
+
+    /**
+     * Tâche appliquant une phase à un intervalle d'actions, découpée récursivement en deux.
+     */
+    @SuppressWarnings("serial")
+    private static final class Intervalle extends RecursiveAction {
+        private final IntConsumer corps;
+        private final int debut;
+        private final int fin;
+
+        private Intervalle(IntConsumer corps, int debut, int fin) {
+            this.corps = corps;
+            this.debut = debut;
+            this.fin = fin;
+        }
+
+        @Override
+        protected void compute() {
+            if (fin - debut <= SEUIL_DECOUPAGE) {
+                for (int i = debut; i < fin; i++) {
+                    corps.accept(i);
+                }
+                return;
+            }
+            int milieu = (debut + fin) >>> 1;
+            invokeAll(new Intervalle(corps, debut, milieu), new Intervalle(corps, milieu, fin));
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package simulation.ordonnancement;
+
+import simulation.environment.EtatIncendie;
+import simulation.environment.Incendie;
+import simulation.robot.Robot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Phase d'extinction d'un incendie par un groupe de robots, avancée analytiquement.
+ *
+ * Tant que le groupe de robots ne change pas, chaque minute chaque robot verse son débit, sauf lors de
+ * la dernière minute avant que son réservoir soit vide. La date de fin de la phase (incendie éteint ou
+ * premier réservoir vide) se calcule donc directement, et un seul événement suffit à la place d'un
+ * événement par robot et par minute. La phase n'est découpée que lorsque le groupe change : arrivée
+ * ou départ d'un robot, ou fin de phase.
+ *
+ * Les minutes sont comptées depuis le début de la phase ; un robot qui rejoint la phase verse à partir
+ * de la minute suivante de ce décompte.
+ */
+public class PhaseExtinction {
+    private final Incendie incendie;
+    private final long dureeMinute; // Durée d'une minute dans l'unité des dates
+    private final List<Robot> robots = new ArrayList<>(); // Dans l'ordre d'arrivée, qui est l'ordre de versement
+    private long dateCourante; // Date jusqu'à laquelle les versements ont été appliqués
+
+    /**
+     * Constructeur de la classe PhaseExtinction.
+     *
+     * @param incendie    l'incendie à éteindre
+     * @param date        la date de début de la phase
+     * @param dureeMinute la durée d'une minute dans l'unité des dates
+     */
+    public PhaseExtinction(Incendie incendie, long date, long dureeMinute) {
+        if (dureeMinute <= 0) {
+            throw new IllegalArgumentException("Durée de minute invalide : " + dureeMinute);
+        }
+        this.incendie = incendie;
+        this.dateCourante = date;
+        this.dureeMinute = dureeMinute;
+    }
+
+    /**
+     * Ajoute un robot à la phase, après avoir appliqué les versements écoulés jusqu'à la date donnée.
+     *
+     * @param robot le robot qui rejoint l'incendie
+     * @param date  la date d'arrivée
+     */
+    public void ajouterRobot(Robot robot, long date) {
+        avancer(date);
+        if (!robots.contains(robot)) {
+            robots.add(robot);
+        }
+    }
+
+    /**
+     * Retire un robot de la phase, après avoir appliqué les versements écoulés jusqu'à la date donnée.
+     *
+     * @param robot le robot qui quitte l'incendie
+     * @param date  la date de départ
+     */
+    public void retirerRobot(Robot robot, long date) {
+        avancer(date);
+        robots.remove(robot);
+    }
+
+    /**
+     * Applique en une fois les versements de toutes les minutes entières écoulées jusqu'à la date donnée.
+     *
+     * @param date la date atteinte, au plus la date de fin de la phase
+     */
+    public void avancer(long date) {
+        if (date < dateCourante) {
+            throw new IllegalArgumentException("Date " + date + " antérieure au début de la phase " + dateCourante);
+        }
+        int minutes = (int) Math.min((date - dateCourante) / dureeMinute, Integer.MAX_VALUE);
+        if (minutes == 0) {
+            return;
+        }
+        for (Robot robot : robots) {
+            robot.verserEauIncendie(incendie, minutes);
+        }
+        dateCourante += minutes * dureeMinute;
+    }
+
+    /**
+     * Calcule la date de fin de la phase : extinction de l'incendie ou premier réservoir vide.
+     *
+     * @return la date de fin, Long.MAX_VALUE si la phase ne se termine pas d'elle-même
+     */
+    public long getDateFin() {
+        int minutes = getMinutesRestantes();
+        if (minutes == Integer.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return dateCourante + minutes * dureeMinute;
+    }
+
+    /**
+     * Calcule le nombre de minutes avant la fin de la phase.
+     * Jusqu'à la minute où le premier réservoir se vide, tous les robots versent leur plein débit ;
+     * la quantité versée est alors linéaire et la minute d'extinction s'obtient par une division.
+     *
+     * @return le nombre de minutes, Integer.MAX_VALUE si la phase ne se termine pas d'elle-même
+     */
+    public int getMinutesRestantes() {
+        if (robots.isEmpty() || incendie.getEtat() == EtatIncendie.ETEINT) {
+            return robots.isEmpty() ? Integer.MAX_VALUE : 0;
+        }
+        int premierVide = Integer.MAX_VALUE;
+        long debit = 0;
+        for (Robot robot : robots) {
+            premierVide = Math.min(premierVide, robot.getMinutesVersement());
+            debit += robot.getVersementPerMinute();
+        }
+        if (incendie.getEtat() != EtatIncendie.TARGETED || debit == 0) {
+            // l'eau n'atteint pas l'incendie : seuls les réservoirs se vident
+            return premierVide;
+        }
+        long cout = incendie.getCoutEau();
+        if (premierVide == Integer.MAX_VALUE || cout <= (premierVide - 1L) * debit) {
+            long extinction = (cout + debit - 1) / debit;
+            return (int) Math.min(Math.max(extinction, 1), premierVide);
+        }
+        // l'incendie ne peut s'éteindre qu'à la minute où le premier réservoir se vide, ou plus tard
+        return premierVide;
+    }
+
+    /**
+     * Retourne les robots dont le réservoir est vide, qui doivent quitter la phase pour se remplir.
+     *
+     * @return la liste des robots au réservoir vide
+     */
+    public List<Robot> getRobotsVides() {
+        List<Robot> vides = new ArrayList<>();
+        for (Robot robot : robots) {
+            if (robot.getMinutesVersement() == 0) {
+                vides.add(robot);
+            }
+        }
+        return vides;
+    }
+
+    /**
+     * Retourne les robots de la phase, dans leur ordre de versement.
+     *
+     * @return la liste non modifiable des robots
+     */
+    public List<Robot> getRobots() {
+        return Collections.unmodifiableList(robots);
+    }
+
+    /**
+     * Retourne l'incendie de la phase.
+     *
+     * @return l'incendie
+     */
+    public Incendie getIncendie() {
+        return incendie;
+    }
+
+    /**
+     * Retourne la date jusqu'à laquelle les versements ont été appliqués.
+     *
+     * @return la date courante de la phase
+     */
+    public long getDateCourante() {
+        return dateCourante;
+    }
+}
@@ -0,0 +1,86 @@
+package simulation.ordonnancement;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Table à adressage ouvert des plus petites priorités proposées pour chaque case pendant un tick,
+ * sans verrou ni objet par entrée : clés (indices de cases) et valeurs (priorités) sont rangées dans
+ * des tableaux de types primitifs et mises à jour par compare-and-set. Les collisions sont résolues
+ * par sondage linéaire.
+ *
+ * La table ne supporte que des propositions concurrentes, puis des lectures une fois toutes les propositions
+ * terminées ; elle est vidée en une fois au début de chaque tick, dimensionnée pour le nombre d'actions du tick.
+ */
+final class TablePrioritesCases {
+    private static final int VIDE = -1; // Clé d'une entrée libre : les indices de cases sont positifs
+    private static final VarHandle CLE = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle VALEUR = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private int[] cles = new int[0];
+    private long[] valeurs = new long[0];
+    private int masque;
+
+    /**
+     * Vide la table et l'agrandit si nécessaire pour recevoir un nombre de cases donné
+     * (taux de remplissage d'au plus un demi). Ne doit pas être appelée pendant des propositions.
+     *
+     * @param nbCases nombre maximal de cases proposées
+     */
+    void preparer(int nbCases) {
+        int capacite = Integer.highestOneBit(Math.max(8, nbCases * 2 - 1)) * 2;
+        if (capacite > cles.length) {
+            cles = new int[capacite];
+            valeurs = new long[capacite];
+        }
+        Arrays.fill(cles, VIDE);
+        Arrays.fill(valeurs, Long.MAX_VALUE);
+        masque = cles.length - 1;
+    }
+
+    /**
+     * Propose une priorité pour une case : seule la plus petite proposée est conservée (minimum atomique).
+     * Peut être appelée par plusieurs threads à la fois.
+     *
+     * @param index    indice de la case
+     * @param priorite la priorité proposée
+     */
+    void proposer(int index, long priorite) {
+        for (int i = position(index, masque); ; i = (i + 1) & masque) {
+            int cle = (int) CLE.getVolatile(cles, i);
+            if (cle == VIDE) {
+                cle = CLE.compareAndSet(cles, i, VIDE, index) ? index : (int) CLE.getVolatile(cles, i);
+            }
+            if (cle == index) {
+                long actuelle = (long) VALEUR.getVolatile(valeurs, i);
+                while (priorite < actuelle && !VALEUR.compareAndSet(valeurs, i, actuelle, priorite)) {
+                    actuelle = (long) VALEUR.getVolatile(valeurs, i);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retourne la plus petite priorité proposée pour une case, une fois les propositions terminées.
+     *
+     * @param index indice de la case
+     * @return la priorité, ou Long.MAX_VALUE si aucune n'a été proposée
+     */
+    long get(int index) {
+        for (int i = position(index, masque); ; i = (i + 1) & masque) {
+            if (cles[i] == index) {
+                return valeurs[i];
+            }
+            if (cles[i] == VIDE) {
+                return Long.MAX_VALUE;
+            }
+        }
+    }
+
+    private static int position(int index, int masque) {
+        long z = index * 0x9E3779B97F4A7C15L;
+        return (int) (z ^ (z >>> 32)) & masque;
+    }
+}
@@ -0,0 +1,279 @@
+package simulation.persistance;
+
+import simulation.environment.Carte;
+import simulation.environment.Case;
+import simulation.environment.Incendie;
+import simulation.environment.StockageCompact;
+import simulation.robot.Robot;
+import simulation.robot.RobotChenille;
+import simulation.robot.RobotPattes;
+import simulation.robot.RobotRoue;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Fichier binaire décrivant un scénario (terrain, incendies et robots au départ), lu par fichier projeté en mémoire.
+ *
+ * Format (petit-boutiste) :
+ * <pre>
+ * en-tête   : magique (int), version (int), nbLignes (int), nbColonnes (int)
+ * carte     : nature de chaque case (octet), dans l'ordre des indices de la carte
+ * incendies : nombre (int), puis pour chacun indice de la case, coutEau (int)
+ * robots    : nombre (int), puis pour chacun type (octet), indice de la case (int)
+ * fin       : CRC32 de tout ce qui précède (int)
+ * </pre>
+ *
+ * Le chargement lit le fichier en une seule passe : le terrain est copié par blocs dans la carte
+ * ({@link Carte#remplirNatures}), qui relève les sources d'eau au passage, et la somme de contrôle est
+ * calculée sur les mêmes blocs. Les incendies et les robots sont numérotés dans l'ordre du fichier.
+ */
+public final class FichierCarte {
+    private static final int MAGIQUE = 0x43415254; // "CART"
+    private static final int VERSION = 1;
+    private static final int TAILLE_EN_TETE = 16;
+    private static final int TAILLE_BLOC = 1 << 20; // Octets de terrain copiés par bloc
+
+    /**
+     * Types de robots représentables dans le fichier, dans l'ordre de leur code.
+     */
+    public enum TypeRobot {
+        ROUES,
+        CHENILLES,
+        PATTES;
+
+        /**
+         * Crée un robot de ce type.
+         *
+         * @param id       identifiant du robot
+         * @param position case de départ
+         * @return le robot créé
+         */
+        public Robot creer(int id, Case position) {
+            switch (this) {
+                case ROUES:
+                    return new RobotRoue(id, position);
+                case CHENILLES:
+                    return new RobotChenille(id, position);
+                default:
+                    return new RobotPattes(id, position);
+            }
+        }
+
+        /**
+         * Retourne le type d'un robot.
+         *
+         * @param robot le robot
+         * @return son type
+         * @throws IllegalArgumentException si le robot n'est d'aucun type représentable
+         */
+        public static TypeRobot de(Robot robot) {
+            if (robot instanceof RobotRoue) {
+                return ROUES;
+            } else if (robot instanceof RobotChenille) {
+                return CHENILLES;
+            } else if (robot instanceof RobotPattes) {
+                return PATTES;
+            }
+            throw new IllegalArgumentException("Type de robot non représentable : " + robot.getClass().getSimpleName());
+        }
+    }
+
+    private FichierCarte() {
+    }
+
+    /**
+     * Écrit un scénario dans un fichier.
+     *
+     * @param fichier   le fichier, remplacé s'il existe
+     * @param carte     la carte
+     * @param incendies les incendies au départ
+     * @param robots    les robots au départ
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public static void ecrire(Path fichier, Carte carte, List<Incendie> incendies,
+                              List<? extends Robot> robots) throws IOException {
+        int nbCases = carte.getNbLignes() * carte.getNbColones();
+        long taille = TAILLE_EN_TETE + (long) nbCases + 4 + 8L * incendies.size() + 4 + 5L * robots.size() + 4;
+        if (taille > Integer.MAX_VALUE) {
+            throw new IOException("Carte trop grande : " + taille + " octets");
+        }
+
+        Path temporaire = fichier.resolveSibling(fichier.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporaire, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer tampon = canal.map(FileChannel.MapMode.READ_WRITE, 0, taille);
+            tampon.order(ByteOrder.LITTLE_ENDIAN);
+            tampon.putInt(MAGIQUE).putInt(VERSION);
+            tampon.putInt(carte.getNbLignes()).putInt(carte.getNbColones());
+
+            byte[] bloc = new byte[Math.min(TAILLE_BLOC, Math.max(1, nbCases))];
+            for (int debut = 0; debut < nbCases; debut += bloc.length) {
+                int n = Math.min(bloc.length, nbCases - debut);
+                for (int i = 0; i < n; i++) {
+                    bloc[i] = (byte) carte.getNature(debut + i).ordinal();
+                }
+                tampon.put(bloc, 0, n);
+            }
+
+            tampon.putInt(incendies.size());
+            for (Incendie incendie : incendies) {
+                tampon.putInt(carte.indexCase(incendie.getPosition())).putInt(incendie.getCoutEauInitial());
+            }
+            tampon.putInt(robots.size());
+            for (Robot robot : robots) {
+                tampon.put((byte) TypeRobot.de(robot).ordinal()).putInt(carte.indexCase(robot.getPosition()));
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(tampon.duplicate().position(0).limit(tampon.position()));
+            tampon.putInt((int) crc.getValue());
+            tampon.force();
+        }
+        Files.move(temporaire, fichier, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Charge un scénario depuis un fichier.
+     *
+     * @param fichier  le fichier
+     * @param compacte true pour une carte à stockage compact ({@link StockageCompact}), recommandé pour les
+     *                 grandes cartes ; false pour une matrice d'objets Case
+     * @return la carte, les incendies et les robots du scénario
+     * @throws IOException en cas d'erreur de lecture ou de fichier invalide
+     */
+    public static Contenu charger(Path fichier, boolean compacte) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            if (taille < TAILLE_EN_TETE + 12 || taille > Integer.MAX_VALUE) {
+                throw new IOException("Fichier de carte invalide : taille " + taille);
+            }
+            MappedByteBuffer tampon = canal.map(FileChannel.MapMode.READ_ONLY, 0, taille);
+            tampon.order(ByteOrder.LITTLE_ENDIAN);
+            if (tampon.getInt() != MAGIQUE || tampon.getInt() != VERSION) {
+                throw new IOException("Fichier de carte inconnu ou de version différente");
+            }
+            int nbLignes = tampon.getInt();
+            int nbColonnes = tampon.getInt();
+            long nbCasesLong = (long) nbLignes * nbColonnes;
+            if (nbLignes <= 0 || nbColonnes <= 0 || TAILLE_EN_TETE + nbCasesLong + 12 > taille) {
+                throw new IOException("Fichier de carte invalide : dimensions " + nbLignes + "x" + nbColonnes);
+            }
+            int nbCases = (int) nbCasesLong;
+
+            Carte carte = compacte
+                    ? new Carte(nbLignes, nbColonnes, new StockageCompact(nbCases))
+                    : new Carte(nbLignes, nbColonnes);
+            CRC32 crc = new CRC32();
+            crc.update(tampon.duplicate().position(0).limit(TAILLE_EN_TETE));
+            byte[] bloc = new byte[Math.min(TAILLE_BLOC, nbCases)];
+            try {
+                for (int debut = 0; debut < nbCases; debut += bloc.length) {
+                    int n = Math.min(bloc.length, nbCases - debut);
+                    tampon.get(bloc, 0, n);
+                    crc.update(bloc, 0, n);
+                    carte.remplirNatures(debut, bloc, 0, n);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Fichier de carte invalide : " + e.getMessage(), e);
+            }
+
+            int debutObjets = tampon.position();
+            int nbIncendies = lireNombre(tampon, 8, taille);
+            List<Incendie> incendies = new ArrayList<>(nbIncendies);
+            for (int i = 0; i < nbIncendies; i++) {
+                Case position = carte.getCase(lireIndice(tampon, nbCases));
+                Incendie incendie = new Incendie(tampon.getInt(), position);
+                incendie.setId(i);
+                incendies.add(incendie);
+            }
+            int nbRobots = lireNombre(tampon, 5, taille);
+            List<Robot> robots = new ArrayList<>(nbRobots);
+            TypeRobot[] types = TypeRobot.values();
+            for (int i = 0; i < nbRobots; i++) {
+                int type = tampon.get();
+                if (type < 0 || type >= types.length) {
+                    throw new IOException("Fichier de carte invalide : type de robot " + type);
+                }
+                robots.add(types[type].creer(i, carte.getCase(lireIndice(tampon, nbCases))));
+            }
+            if (tampon.position() != taille - 4) {
+                throw new IOException("Fichier de carte invalide : " + (taille - 4 - tampon.position())
+                        + " octets inattendus");
+            }
+            crc.update(tampon.duplicate().position(debutObjets).limit(tampon.position()));
+            if ((int) crc.getValue() != tampon.getInt()) {
+                throw new IOException("Fichier de carte corrompu : somme de contrôle incorrecte");
+            }
+            return new Contenu(carte, incendies, robots);
+        }
+    }
+
+    private static int lireNombre(MappedByteBuffer tampon, int tailleElement, long taille) throws IOException {
+        int nombre = tampon.getInt();
+        if (nombre < 0 || tampon.position() + (long) nombre * tailleElement > taille - 4) {
+            throw new IOException("Fichier de carte invalide : nombre d'éléments " + nombre);
+        }
+        return nombre;
+    }
+
+    private static int lireIndice(MappedByteBuffer tampon, int nbCases) throws IOException {
+        int index = tampon.getInt();
+        if (index < 0 || index >= nbCases) {
+            throw new IOException("Fichier de carte invalide : case " + index);
+        }
+        return index;
+    }
+
+    /**
+     * Scénario chargé : la carte, les incendies et les robots au départ.
+     */
+    public static final class Contenu {
+        private final Carte carte;
+        private final List<Incendie> incendies;
+        private final List<Robot> robots;
+
+        private Contenu(Carte carte, List<Incendie> incendies, List<Robot> robots) {
+            this.carte = carte;
+            this.incendies = Collections.unmodifiableList(incendies);
+            this.robots = Collections.unmodifiableList(robots);
+        }
+
+        /**
+         * Retourne la carte du scénario, sources d'eau comprises.
+         *
+         * @return la carte
+         */
+        public Carte getCarte() {
+            return carte;
+        }
+
+        /**
+         * Retourne les incendies du scénario, numérotés dans l'ordre du fichier.
+         *
+         * @return les incendies
+         */
+        public List<Incendie> getIncendies() {
+            return incendies;
+        }
+
+        /**
+         * Retourne les robots du scénario, numérotés dans l'ordre du fichier.
+         *
+         * @return les robots
+         */
+        public List<Robot> getRobots() {
+            return robots;
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package simulation.persistance;
+
+import simulation.environment.Carte;
+import simulation.environment.Case;
+import simulation.environment.CaseState;
+import simulation.environment.EtatIncendie;
+import simulation.environment.Incendie;
+import simulation.environment.NatureTerrain;
+import simulation.environment.PropagationIncendies;
+import simulation.robot.Robot;
+import simulation.robot.RobotActionTypeEnum;
+import simulation.robot.RobotState;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Sauvegarde binaire de l'état complet d'une simulation, écrite et relue par fichier projeté en mémoire.
+ *
+ * Format (petit-boutiste) :
+ * <pre>
+ * en-tête   : magique (int), version (int), date (long), nbLignes (int), nbColonnes (int)
+ * carte     : nature de chaque case (octet), puis état de chaque case (octet), dans l'ordre des indices de la carte
+ * incendies : nombre (int), puis pour chacun id, colonne, ligne, coutEau, coutEauInitial (int), état (octet)
+ * robots    : nombre (int), puis pour chacun id, colonne, ligne, volEauEnReservoir (int), état (octet),
+ *             targetIncendieId (int), indice de la source d'eau cible ou -1 (int),
+ *             longueur du trajet restant ou -1 (int) et ses actions (octets)
+ * propagation : présence (octet 0 ou 1), puis si présente graine (long), nombre de pas (long),
+ *             prochain identifiant (int), nombre de mots (int) et mots (long) des cases brûlées,
+ *             taille de la frontière (int) et identifiants de ses incendies (int)
+ * fin       : CRC32 de tout ce qui précède (int)
+ * </pre>
+ *
+ * La sauvegarde est écrite dans un fichier temporaire puis renommée : un arrêt pendant l'écriture laisse
+ * la sauvegarde précédente intacte. La restauration s'applique à une simulation chargée depuis le même
+ * scénario, dont les robots et les incendies sont retrouvés par identifiant ; les incendies nés de la
+ * propagation après le début du scénario sont recréés à leur position.
+ */
+public final class Sauvegarde {
+    private static final int MAGIQUE = 0x53494D55; // "SIMU"
+    private static final int VERSION = 2;
+    private static final int TAILLE_BLOC = 1 << 16; // Octets de la carte copiés par bloc
+    private static final NatureTerrain[] NATURES = NatureTerrain.values();
+    private static final CaseState[] ETATS_CASE = CaseState.values();
+    private static final EtatIncendie[] ETATS_INCENDIE = EtatIncendie.values();
+    private static final RobotState[] ETATS_ROBOT = RobotState.values();
+    private static final RobotActionTypeEnum[] ACTIONS = RobotActionTypeEnum.values();
+
+    private Sauvegarde() {
+    }
+
+    /**
+     * Écrit une sauvegarde de la simulation.
+     *
+     * @param fichier   le fichier de sauvegarde, remplacé s'il existe
+     * @param date      la date de la simulation
+     * @param carte     la carte
+     * @param incendies les incendies, éteints compris
+     * @param robots    les robots
+     * @param trajets   les trajets restants par identifiant de robot (absents pour les robots sans trajet)
+     * @param propagation la propagation des incendies, ou null si la simulation n'en a pas
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public static void ecrire(Path fichier, long date, Carte carte, List<Incendie> incendies,
+                              List<? extends Robot> robots, Map<Integer, RobotActionTypeEnum[]> trajets,
+                              PropagationIncendies propagation) throws IOException {
+        int nbCases = carte.getNbLignes() * carte.getNbColones();
+        long taille = 4 + 4 + 8 + 4 + 4 + 2L * nbCases + 4 + 21L * incendies.size() + 4 + 4;
+        for (Robot robot : robots) {
+            RobotActionTypeEnum[] trajet = trajets.get(robot.getId());
+            taille += 29 + (trajet == null ? 0 : trajet.length);
+        }
+        long[] brulees = null;
+        List<Incendie> frontiere = null;
+        taille += 1;
+        if (propagation != null) {
+            brulees = propagation.getBrulees().toLongArray();
+            frontiere = propagation.getFrontiere();
+            taille += 8 + 8 + 4 + 4 + 8L * brulees.length + 4 + 4L * frontiere.size();
+        }
+        if (taille > Integer.MAX_VALUE) {
+            throw new IOException("Sauvegarde trop grande : " + taille + " octets");
+        }
+
+        Path temporaire = fichier.resolveSibling(fichier.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporaire, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer tampon = canal.map(FileChannel.MapMode.READ_WRITE, 0, taille);
+            tampon.order(ByteOrder.LITTLE_ENDIAN);
+            tampon.putInt(MAGIQUE).putInt(VERSION).putLong(date);
+            tampon.putInt(carte.getNbLignes()).putInt(carte.getNbColones());
+
+            byte[] bloc = new byte[Math.min(TAILLE_BLOC, Math.max(1, nbCases))];
+            for (int debut = 0; debut < nbCases; debut += bloc.length) {
+                int n = Math.min(bloc.length, nbCases - debut);
+                for (int i = 0; i < n; i++) {
+                    bloc[i] = (byte) carte.getNature(debut + i).ordinal();
+                }
+                tampon.put(bloc, 0, n);
+            }
+            for (int debut = 0; debut < nbCases; debut += bloc.length) {
+                int n = Math.min(bloc.length, nbCases - debut);
+                for (int i = 0; i < n; i++) {
+                    bloc[i] = (byte) carte.getState(debut + i).ordinal();
+                }
+                tampon.put(bloc, 0, n);
+            }
+
+            tampon.putInt(incendies.size());
+            for (Incendie incendie : incendies) {
+                Case position = incendie.getPosition();
+                tampon.putInt(incendie.getId()).putInt(position.getColonne()).putInt(position.getLigne());
+                tampon.putInt(incendie.getCoutEau()).putInt(incendie.getCoutEauInitial());
+                tampon.put((byte) incendie.getEtat().ordinal());
+            }
+
+            tampon.putInt(robots.size());
+            for (Robot robot : robots) {
+                Case position = robot.getPosition();
+                Case source = robot.getTargetSourceEau();
+                tampon.putInt(robot.getId()).putInt(position.getColonne()).putInt(position.getLigne());
+                tampon.putInt(robot.getVolEauEnReservoir());
+                tampon.put((byte) robot.getState().ordinal());
+                tampon.putInt(robot.getTargetIncendieId());
+                tampon.putInt(source == null ? -1 : carte.indexCase(source));
+                RobotActionTypeEnum[] trajet = trajets.get(robot.getId());
+                tampon.putInt(trajet == null ? -1 : trajet.length);
+                if (trajet != null) {
+                    for (RobotActionTypeEnum action : trajet) {
+                        tampon.put((byte) action.ordinal());
+                    }
+                }
+            }
+
+            tampon.put((byte) (propagation == null ? 0 : 1));
+            if (propagation != null) {
+                tampon.putLong(propagation.getGraine()).putLong(propagation.getNbPas());
+                tampon.putInt(propagation.getProchainId());
+                tampon.putInt(brulees.length);
+                for (long mot : brulees) {
+                    tampon.putLong(mot);
+                }
+                tampon.putInt(frontiere.size());
+                for (Incendie incendie : frontiere) {
+                    tampon.putInt(incendie.getId());
+                }
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(tampon.duplicate().position(0).limit(tampon.position()));
+            tampon.putInt((int) crc.getValue());
+            tampon.force();
+        }
+        Files.move(temporaire, fichier, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restaure une sauvegarde sur une simulation chargée depuis le même scénario.
+     * Seules les cases dont la nature a changé passent par {@link Carte#setCaseNature}, ce qui notifie
+     * les observateurs du terrain.
+     *
+     * Les incendies de la sauvegarde absents du scénario (nés de la propagation) sont recréés à leur position
+     * et ceux qui ne sont pas éteints sont transmis à nouveauxIncendies, comme ceux créés par
+     * {@link PropagationIncendies#avancer()}.
+     * Si la sauvegarde contient l'état de la propagation, il remplace celui de la propagation donnée.
+     *
+     * @param fichier           le fichier de sauvegarde
+     * @param carte             la carte, aux dimensions de la sauvegarde
+     * @param incendies         les incendies du scénario
+     * @param robots            les robots du scénario
+     * @param propagation       la propagation des incendies, ou null si la simulation n'en a pas
+     * @param nouveauxIncendies destinataire des incendies recréés (typiquement la liste des incendies
+     *                          actifs du chef pompier)
+     * @return la date et les trajets restants de la sauvegarde
+     * @throws IOException en cas d'erreur de lecture ou de sauvegarde invalide
+     */
+    public static Reprise restaurer(Path fichier, Carte carte, List<Incendie> incendies,
+                                    List<? extends Robot> robots, PropagationIncendies propagation,
+                                    Consumer<Incendie> nouveauxIncendies) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            if (taille < 32 || taille > Integer.MAX_VALUE) {
+                throw new IOException("Sauvegarde invalide : taille " + taille);
+            }
+            MappedByteBuffer tampon = canal.map(FileChannel.MapMode.READ_ONLY, 0, taille);
+            tampon.order(ByteOrder.LITTLE_ENDIAN);
+            CRC32 crc = new CRC32();
+            crc.update(tampon.duplicate().position(0).limit((int) taille - 4));
+            if ((int) crc.getValue() != tampon.getInt((int) taille - 4)) {
+                throw new IOException("Sauvegarde corrompue : somme de contrôle incorrecte");
+            }
+            if (tampon.getInt() != MAGIQUE || tampon.getInt() != VERSION) {
+                throw new IOException("Fichier de sauvegarde inconnu ou de version différente");
+            }
+            long date = tampon.getLong();
+            int nbLignes = tampon.getInt();
+            int nbColonnes = tampon.getInt();
+            if (nbLignes != carte.getNbLignes() || nbColonnes != carte.getNbColones()) {
+                throw new IllegalArgumentException("Dimensions de la sauvegarde " + nbLignes + "x" + nbColonnes
+                        + " différentes de la carte " + carte.getNbLignes() + "x" + carte.getNbColones());
+            }
+
+            int nbCases = nbLignes * nbColonnes;
+            int debutEtats = tampon.position() + nbCases;
+            for (int index = 0; index < nbCases; index++) {
+                NatureTerrain nature = NATURES[tampon.get()];
+                if (carte.getNature(index) != nature) {
+                    carte.setCaseNature(index / nbLignes, index % nbLignes, nature);
+                }
+            }
+            tampon.position(debutEtats);
+            for (int index = 0; index < nbCases; index++) {
+                carte.setState(index, ETATS_CASE[tampon.get()]);
+            }
+
+            Map<Integer, Incendie> incendiesParId = new HashMap<>();
+            for (Incendie incendie : incendies) {
+                incendiesParId.put(incendie.getId(), incendie);
+            }
+            List<Incendie> recrees = new ArrayList<>();
+            int nbIncendies = tampon.getInt();
+            for (int i = 0; i < nbIncendies; i++) {
+                int id = tampon.getInt();
+                int colonne = tampon.getInt();
+                int ligne = tampon.getInt();
+                int coutEau = tampon.getInt();
+                int coutEauInitial = tampon.getInt();
+                EtatIncendie etat = ETATS_INCENDIE[tampon.get()];
+                Incendie incendie = incendiesParId.get(id);
+                if (incendie == null) {
+                    // Incendie né de la propagation après le début du scénario
+                    incendie = new Incendie(coutEauInitial, carte.getCase(colonne, ligne));
+                    incendie.setId(id);
+                    incendiesParId.put(id, incendie);
+                    recrees.add(incendie);
+                }
+                incendie.restaurer(coutEau, coutEauInitial, etat);
+            }
+
+            Map<Integer, Robot> robotsParId = new HashMap<>();
+            for (Robot robot : robots) {
+                robotsParId.put(robot.getId(), robot);
+            }
+            Map<Integer, RobotActionTypeEnum[]> trajets = new HashMap<>();
+            int nbRobots = tampon.getInt();
+            for (int i = 0; i < nbRobots; i++) {
+                int id = tampon.getInt();
+                Case position = carte.getCase(tampon.getInt(), tampon.getInt());
+                int volEau = tampon.getInt();
+                RobotState etat = ETATS_ROBOT[tampon.get()];
+                int targetIncendieId = tampon.getInt();
+                int source = tampon.getInt();
+                int longueur = tampon.getInt();
+                if (longueur >= 0) {
+                    RobotActionTypeEnum[] trajet = new RobotActionTypeEnum[longueur];
+                    for (int k = 0; k < longueur; k++) {
+                        trajet[k] = ACTIONS[tampon.get()];
+                    }
+                    trajets.put(id, trajet);
+                }
+                Robot robot = robotsParId.get(id);
+                if (robot == null) {
+                    throw new IllegalArgumentException("Robot " + id + " absent de la simulation");
+                }
+                robot.restaurer(position, volEau, etat, targetIncendieId, source < 0 ? null : carte.getCase(source));
+            }
+
+            if (tampon.get() != 0) {
+                long graine = tampon.getLong();
+                long nbPas = tampon.getLong();
+                int prochainId = tampon.getInt();
+                long[] mots = new long[tampon.getInt()];
+                for (int k = 0; k < mots.length; k++) {
+                    mots[k] = tampon.getLong();
+                }
+                List<Incendie> frontiere = new ArrayList<>();
+                int tailleFrontiere = tampon.getInt();
+                for (int k = 0; k < tailleFrontiere; k++) {
+                    int id = tampon.getInt();
+                    Incendie incendie = incendiesParId.get(id);
+                    if (incendie == null) {
+                        throw new IOException("Sauvegarde invalide : incendie " + id + " de la frontière inconnu");
+                    }
+                    frontiere.add(incendie);
+                }
+                if (propagation != null) {
+                    if (propagation.getGraine() != graine) {
+                        throw new IllegalArgumentException("Graine de propagation " + propagation.getGraine()
+                                + " différente de celle de la sauvegarde " + graine);
+                    }
+                    propagation.restaurer(nbPas, prochainId, BitSet.valueOf(mots), frontiere);
+                }
+            }
+
+            // Transmis une fois la simulation entièrement restaurée ; les incendies éteints ne sont plus à traiter
+            for (Incendie incendie : recrees) {
+                if (incendie.getEtat() != EtatIncendie.ETEINT) {
+                    nouveauxIncendies.accept(incendie);
+                }
+            }
+            return new Reprise(date, trajets);
+        }
+    }
+
+    /**
+     * Données d'une sauvegarde qui ne sont pas portées par la carte, les incendies ou les robots :
+     * la date de reprise et les trajets restants, à remettre au planificateur.
+     */
+    public static final class Reprise {
+        private final long date;
+        private final Map<Integer, RobotActionTypeEnum[]> trajets;
+
+        private Reprise(long date, Map<Integer, RobotActionTypeEnum[]> trajets) {
+            this.date = date;
+            this.trajets = trajets;
+        }
+
+        /**
+         * Retourne la date de la simulation au moment de la sauvegarde.
+         *
+         * @return la date de reprise
+         */
+        public long getDate() {
+            return date;
+        }
+
+        /**
+         * Retourne les trajets restants des robots, par identifiant de robot.
+         *
+         * @return les trajets restants
+         */
+        public Map<Integer, RobotActionTypeEnum[]> getTrajets() {
+            return trajets;
+        }
+    }
+}
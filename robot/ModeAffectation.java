@@ -0,0 +1,6 @@
+package simulation.robot;
+
+public enum ModeAffectation {
+    GLOUTON, // chaque robot libre reçoit à tour de rôle l'incendie le plus proche
+    OPTIMAL // affectation de temps de trajet total minimal (méthode hongroise)
+}
@@ -0,0 +1,27 @@
+package simulation.robot;
+
+import simulation.environment.Case;
+
+/**
+ * Observateur notifié des déplacements et changements d'état d'un robot.
+ */
+public interface ObservateurRobot {
+
+    /**
+     * Appelée après le déplacement d'un robot.
+     *
+     * @param robot    le robot (sa position est déjà la nouvelle)
+     * @param ancienne la position du robot avant le déplacement
+     */
+    default void positionModifiee(Robot robot, Case ancienne) {
+    }
+
+    /**
+     * Appelée après le changement d'état d'un robot.
+     *
+     * @param robot  le robot (son état est déjà le nouveau)
+     * @param ancien l'état du robot avant le changement
+     */
+    default void etatModifie(Robot robot, RobotState ancien) {
+    }
+}
@@ -0,0 +1,138 @@
+package simulation.robot;
+
+import simulation.environment.NatureTerrain;
+
+import java.util.Arrays;
+
+/**
+ * Profil de vitesse d'un robot : sa vitesse sur chaque nature de terrain.
+ * Deux robots ayant les mêmes vitesses partagent le même profil, ce qui permet
+ * de mutualiser les calculs de chemins entre robots d'une même classe.
+ */
+public final class ProfilVitesse {
+    private static final NatureTerrain[] TERRAINS = NatureTerrain.values();
+
+    private final int[] vitesses; // Vitesse (km/h) indexée par l'ordinal de la nature du terrain
+    private final int vitesseMax; // Vitesse maximale sur l'ensemble des terrains
+    private final int hash;
+
+    private ProfilVitesse(int[] vitesses) {
+        this.vitesses = vitesses;
+        int max = 0;
+        for (int v : vitesses) {
+            max = Math.max(max, v);
+        }
+        this.vitesseMax = max;
+        this.hash = Arrays.hashCode(vitesses);
+    }
+
+    /**
+     * Construit le profil de vitesse d'un robot en interrogeant sa vitesse sur chaque terrain.
+     *
+     * @param robot le robot
+     * @return le profil de vitesse du robot
+     */
+    public static ProfilVitesse of(Robot robot) {
+        int[] vitesses = new int[TERRAINS.length];
+        for (NatureTerrain terrain : TERRAINS) {
+            vitesses[terrain.ordinal()] = Math.max(0, robot.getVitesse(terrain));
+        }
+        return new ProfilVitesse(vitesses);
+    }
+
+    /**
+     * Retourne la vitesse sur un type de terrain.
+     *
+     * @param terrain le type de terrain
+     * @return la vitesse en km/h, 0 si le terrain est inaccessible
+     */
+    public int getVitesse(NatureTerrain terrain) {
+        return vitesses[terrain.ordinal()];
+    }
+
+    /**
+     * Indique si le terrain est praticable pour ce profil.
+     *
+     * @param terrain le type de terrain
+     * @return true si la vitesse sur ce terrain est non nulle
+     */
+    public boolean estPraticable(NatureTerrain terrain) {
+        return vitesses[terrain.ordinal()] > 0;
+    }
+
+    /**
+     * Retourne la meilleure vitesse du profil, tous terrains confondus.
+     *
+     * @return la vitesse maximale en km/h
+     */
+    public int getVitesseMax() {
+        return vitesseMax;
+    }
+
+    /**
+     * Calcule le temps nécessaire pour traverser une case d'un terrain donné.
+     *
+     * @param terrain    le type de terrain de la case
+     * @param tailleCase la taille d'une case en mètres
+     * @return le temps de traversée en secondes, ou Integer.MAX_VALUE si le terrain est inaccessible
+     */
+    public int tempsTraversee(NatureTerrain terrain, int tailleCase) {
+        return temps(vitesses[terrain.ordinal()], tailleCase);
+    }
+
+    /**
+     * Calcule le temps minimal de traversée d'une case, à vitesse maximale.
+     * Sert de borne inférieure admissible pour les heuristiques de recherche.
+     *
+     * @param tailleCase la taille d'une case en mètres
+     * @return le temps de traversée minimal en secondes, ou Integer.MAX_VALUE si aucun terrain n'est praticable
+     */
+    public int tempsTraverseeMin(int tailleCase) {
+        return temps(vitesseMax, tailleCase);
+    }
+
+    /**
+     * Précalcule le temps de traversée de chaque terrain, indexé par l'ordinal de la nature.
+     *
+     * @param tailleCase la taille d'une case en mètres
+     * @return le tableau des temps de traversée en secondes (Integer.MAX_VALUE si inaccessible)
+     */
+    public int[] tempsParTerrain(int tailleCase) {
+        int[] temps = new int[vitesses.length];
+        for (int i = 0; i < vitesses.length; i++) {
+            temps[i] = temps(vitesses[i], tailleCase);
+        }
+        return temps;
+    }
+
+    private static int temps(int vitesse, int tailleCase) {
+        if (vitesse <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        // metres / (km/h) -> secondes, arrondi au supérieur
+        long numerateur = (long) tailleCase * 3600;
+        long denominateur = (long) vitesse * 1000;
+        return (int) ((numerateur + denominateur - 1) / denominateur);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProfilVitesse)) {
+            return false;
+        }
+        return Arrays.equals(vitesses, ((ProfilVitesse) o).vitesses);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "ProfilVitesse" + Arrays.toString(vitesses);
+    }
+}
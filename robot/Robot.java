@@ -2,6 +2,11 @@ package simulation.robot;
 
 import evenement.Evenement;
 import simulation.environment.*;
+import simulation.journal.Journal;
+import simulation.journal.TypeEvenementJournal;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public abstract class Robot {
     protected int id;
@@ -17,6 +22,8 @@ public abstract class Robot {
 
     private int targetIncendieId; // Identifiant de l'incendie cible
     private Case targetSourceEau; // Source d'eau cible pour remplir le réservoir
+    private ProfilVitesse profilVitesse; // Profil de vitesse calculé à la demande
+    private List<ObservateurRobot> observateurs; // Observateurs des déplacements et changements d'état
 
     /**
      * Constructeur de la classe Robot.
@@ -68,10 +75,66 @@ public abstract class Robot {
      * @param destination La case de destination du robot
      */
     public void setPosition(Case destination) {
+        Case ancienne = this.position;
         this.position.liberate(); // Libère la case actuelle
         this.position = destination;
         this.setState(RobotState.LIBRE);
         destination.setOccupyingRobot(this); // Définit le robot comme occupant de la nouvelle case
+        if (observateurs != null) {
+            for (ObservateurRobot observateur : observateurs) {
+                observateur.positionModifiee(this, ancienne);
+            }
+        }
+    }
+
+    /**
+     * Rétablit l'état du robot enregistré dans une sauvegarde.
+     * L'état des cases n'est pas modifié : il est rétabli avec la carte.
+     *
+     * @param position La position du robot
+     * @param volEauEnReservoir Le volume d'eau dans le réservoir
+     * @param state L'état du robot
+     * @param targetIncendieId L'identifiant de l'incendie cible, -1 si aucun
+     * @param targetSourceEau La source d'eau cible, null si aucune
+     */
+    public void restaurer(Case position, int volEauEnReservoir, RobotState state, int targetIncendieId, Case targetSourceEau) {
+        Case ancienne = this.position;
+        this.position = position;
+        this.volEauEnReservoir = volEauEnReservoir;
+        this.targetIncendieId = targetIncendieId;
+        this.targetSourceEau = targetSourceEau;
+        this.currentAction = null;
+        if (observateurs != null && !position.equals(ancienne)) {
+            for (ObservateurRobot observateur : observateurs) {
+                observateur.positionModifiee(this, ancienne);
+            }
+        }
+        this.setState(state);
+    }
+
+    /**
+     * Enregistre un observateur notifié des déplacements et changements d'état du robot.
+     *
+     * @param observateur L'observateur à ajouter
+     */
+    public void addObservateur(ObservateurRobot observateur) {
+        if (observateurs == null) {
+            observateurs = new ArrayList<>(2);
+        }
+        if (!observateurs.contains(observateur)) {
+            observateurs.add(observateur);
+        }
+    }
+
+    /**
+     * Retire un observateur précédemment enregistré.
+     *
+     * @param observateur L'observateur à retirer
+     */
+    public void removeObservateur(ObservateurRobot observateur) {
+        if (observateurs != null) {
+            observateurs.remove(observateur);
+        }
     }
 
     /**
@@ -98,6 +161,20 @@ public abstract class Robot {
      */
     public void setVitesse(int vitesse) {
         this.vitesse = vitesse;
+        this.profilVitesse = null;
+    }
+
+    /**
+     * Obtient le profil de vitesse du robot sur l'ensemble des terrains.
+     * Le profil est recalculé si la vitesse du robot a changé.
+     *
+     * @return Le profil de vitesse du robot
+     */
+    public ProfilVitesse getProfilVitesse() {
+        if (this.profilVitesse == null) {
+            this.profilVitesse = ProfilVitesse.of(this);
+        }
+        return this.profilVitesse;
     }
 
     /**
@@ -133,13 +210,41 @@ public abstract class Robot {
     public void remplirReservoir() {
         if (this.volEauEnReservoir + this.remplissagePerMinute >= this.reservoirEauCapacity) {
             this.volEauEnReservoir = this.reservoirEauCapacity;
-            System.out.printf("%s Robot %s : reservoir Full %s\n", PrintColor.BLUE, this.id, PrintColor.RESET);
+            Journal.enregistrer(TypeEvenementJournal.RESERVOIR_PLEIN, this.id);
         } else {
             this.volEauEnReservoir += this.remplissagePerMinute;
-            System.out.printf("%s Robot %s : remplir +%d dans reservoir %s\n", PrintColor.BLUE, this.id, this.remplissagePerMinute, PrintColor.RESET);
+            Journal.enregistrer(TypeEvenementJournal.REMPLISSAGE, this.id, this.remplissagePerMinute);
         }
     }
 
+    /**
+     * Remplit le réservoir en une seule fois de l'équivalent de plusieurs minutes de remplissage.
+     * Le résultat est celui de {@code minutes} appels successifs à {@link #remplirReservoir()}.
+     *
+     * @param minutes Le nombre de minutes de remplissage
+     */
+    public void remplirReservoir(int minutes) {
+        long volume = this.volEauEnReservoir + (long) minutes * this.remplissagePerMinute;
+        this.volEauEnReservoir = (int) Math.min(volume, this.reservoirEauCapacity);
+        Journal.enregistrer(TypeEvenementJournal.REMPLISSAGE_MINUTES, this.id, minutes, this.volEauEnReservoir, this.reservoirEauCapacity);
+    }
+
+    /**
+     * Calcule le nombre de minutes de remplissage nécessaires pour que le réservoir soit plein.
+     *
+     * @return Le nombre de minutes, 0 si le réservoir est déjà plein, Integer.MAX_VALUE si le robot ne peut pas se remplir
+     */
+    public int getMinutesRemplissage() {
+        int manque = this.reservoirEauCapacity - this.volEauEnReservoir;
+        if (manque <= 0) {
+            return 0;
+        }
+        if (this.remplissagePerMinute <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        return (manque + this.remplissagePerMinute - 1) / this.remplissagePerMinute;
+    }
+
     /**
      * Obtient l'état actuel du robot.
      *
@@ -155,7 +260,13 @@ public abstract class Robot {
      * @param state Le nouvel état du robot
      */
     public void setState(RobotState state) {
+        RobotState ancien = this.state;
         this.state = state;
+        if (observateurs != null && ancien != state) {
+            for (ObservateurRobot observateur : observateurs) {
+                observateur.etatModifie(this, ancien);
+            }
+        }
     }
 
     /**
@@ -257,7 +368,7 @@ public abstract class Robot {
     public void verserEauIncendie(Incendie incendie) {
         int versementEffectif;
         if (versementPerMinute >= this.volEauEnReservoir) {
-            System.out.printf("%s Robot %s: Reservoir emptied \n %s", PrintColor.YELLOW, this.id, PrintColor.RESET);
+            Journal.enregistrer(TypeEvenementJournal.RESERVOIR_VIDE, this.id);
             versementEffectif = this.volEauEnReservoir;
             this.volEauEnReservoir = 0;
         } else {
@@ -265,11 +376,50 @@ public abstract class Robot {
             versementEffectif = this.versementPerMinute;
         }
         if (incendie.getEtat() == EtatIncendie.TARGETED) {
-            System.out.printf("%s Robot %s : verse %d to incendie %s %s\n", PrintColor.BLUE, this.id, versementEffectif, incendie.getId(), PrintColor.RESET);
+            Journal.enregistrer(TypeEvenementJournal.VERSEMENT, this.id, versementEffectif, incendie.getId());
+            incendie.reduceCoutEau(versementEffectif);
+        }
+    }
+
+    /**
+     * Verse en une seule fois l'équivalent de plusieurs minutes de versement sur l'incendie.
+     * Le réservoir et l'incendie sont dans le même état qu'après {@code minutes} appels successifs
+     * à {@link #verserEauIncendie(Incendie)}.
+     *
+     * @param incendie L'incendie cible
+     * @param minutes Le nombre de minutes de versement
+     */
+    public void verserEauIncendie(Incendie incendie, int minutes) {
+        int versementEffectif = this.getVersementCumule(minutes);
+        this.volEauEnReservoir -= versementEffectif;
+        if (incendie.getEtat() == EtatIncendie.TARGETED) {
+            Journal.enregistrer(TypeEvenementJournal.VERSEMENT_MINUTES, this.id, versementEffectif, minutes, incendie.getId());
             incendie.reduceCoutEau(versementEffectif);
         }
     }
 
+    /**
+     * Calcule la quantité d'eau versée en un nombre de minutes donné, limitée par le contenu du réservoir.
+     *
+     * @param minutes Le nombre de minutes de versement
+     * @return La quantité d'eau versée
+     */
+    public int getVersementCumule(int minutes) {
+        return (int) Math.min((long) minutes * this.versementPerMinute, this.volEauEnReservoir);
+    }
+
+    /**
+     * Calcule le nombre de minutes de versement avant que le réservoir soit vide.
+     *
+     * @return Le nombre de minutes, 0 si le réservoir est déjà vide
+     */
+    public int getMinutesVersement() {
+        if (this.versementPerMinute <= 0) {
+            return this.volEauEnReservoir == 0 ? 0 : Integer.MAX_VALUE;
+        }
+        return (this.volEauEnReservoir + this.versementPerMinute - 1) / this.versementPerMinute;
+    }
+
     /**
      * Calcule le pourcentage du niveau d'eau restant dans le réservoir.
      *
@@ -2,13 +2,61 @@ package simulation.robot;
 
 import evenement.Planficateur;
 import simulation.DonneeSimulation;
+import simulation.affectation.AffectationHongroise;
+import simulation.chemin.CacheChemins;
+import simulation.chemin.ChampsSourcesEau;
+import simulation.chemin.Chemin;
+import simulation.chemin.Connexite;
+import simulation.chemin.IndexSpatial;
+import simulation.chemin.MatriceTempsTrajet;
+import simulation.chemin.PlanificateurCooperatif;
+import simulation.chemin.RechercheChemin;
+import simulation.chemin.RechercheDStarLite;
+import simulation.chemin.ResultatPlusProche;
+import simulation.chemin.TrajetReserve;
 import simulation.environment.*;
+import simulation.journal.Journal;
+import simulation.journal.TypeEvenementJournal;
+import simulation.metriques.EvenementAffectation;
+import simulation.metriques.RechercheCheminMesuree;
+import simulation.metriques.RegistreMetriques;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
 
 public class RobotChefPompier extends Robot {
+    private static final int CAPACITE_CACHE_CHEMINS = 4096;
+    private static final int TAILLE_SEAU_INDEX = 16; // Côté (en cases) des seaux des index spatiaux
+    private static final int TAILLE_MAX_MATRICE_DEFAUT = 40000; // 200 robots x 200 incendies
+
     private DonneeSimulation donneeSimulation;
     private Planficateur planficateur;
+    private ChampsSourcesEau champsSourcesEau; // Champs de distance vers l'eau, créés à la première utilisation
+    private RechercheChemin rechercheChemin; // Moteur de recherche de chemin, créé à la première utilisation
+    private RechercheDStarLite replanification; // Réparation des trajets bloqués, créée à la première utilisation
+    private PlanificateurCooperatif planificateurCooperatif; // Trajets réservés dans le temps, null si non utilisé
+    private LongSupplier horloge; // Date courante de la simulation, pour les trajets réservés
+    private final Map<Integer, TrajetReserve> trajetsReserves = new HashMap<>(); // Dernier trajet réservé par robot
+    private Connexite connexite; // Composantes connexes par profil, créées à la première utilisation
+    private MatriceTempsTrajet matriceTempsTrajet; // Calcul parallèle des temps de trajet, créé à la première utilisation
+    private IndexSpatial<Incendie> indexIncendies; // Incendies actifs connus, par position
+    private IndexSpatial<Robot> indexRobots; // Robots connus, par position
+    private final ObservateurIncendie observateurIncendies = (incendie, ancien) -> {
+        if (incendie.getEtat() != EtatIncendie.ACTIVE) {
+            indexIncendies.retirer(incendie);
+        }
+    };
+    private final ObservateurRobot observateurRobots = new ObservateurRobot() {
+        @Override
+        public void positionModifiee(Robot robot, Case ancienne) {
+            indexRobots.deplacer(robot, robot.getPosition());
+        }
+    };
+    private ModeAffectation modeAffectation = ModeAffectation.GLOUTON; // Mode d'affectation des robots aux incendies
+    private int tailleMaxMatrice = TAILLE_MAX_MATRICE_DEFAUT; // Au-delà, l'affectation optimale revient au mode glouton
+    private RegistreMetriques metriques = new RegistreMetriques(); // Latences d'affectation et de recherche de chemin
 
     /**
      * Constructeur de la classe RobotChefPompier.
@@ -31,6 +79,132 @@ public class RobotChefPompier extends Robot {
         this.planficateur = planficateur;
     }
 
+    /**
+     * Définit le moteur de recherche de chemin utilisé pour choisir et planifier les trajets.
+     * Par défaut, le calculateur de la simulation est utilisé derrière un cache de chemins.
+     * Comme le moteur par défaut, le moteur est mesuré dans le registre des métriques courant.
+     *
+     * @param rechercheChemin Le moteur de recherche de chemin
+     */
+    public void setRechercheChemin(RechercheChemin rechercheChemin) {
+        this.rechercheChemin = rechercheChemin instanceof RechercheCheminMesuree
+                ? rechercheChemin : new RechercheCheminMesuree(rechercheChemin, metriques);
+    }
+
+    /**
+     * Retourne le registre des métriques du chef pompier.
+     *
+     * @return Le registre des métriques
+     */
+    public RegistreMetriques getMetriques() {
+        return metriques;
+    }
+
+    /**
+     * Définit le registre des métriques du chef pompier.
+     * À appeler avant {@link #setRechercheChemin} et la première affectation pour que le moteur de recherche
+     * y soit mesuré.
+     *
+     * @param metriques Le registre des métriques
+     */
+    public void setMetriques(RegistreMetriques metriques) {
+        this.metriques = metriques;
+    }
+
+    /**
+     * Retourne le moteur de recherche de chemin, en créant le moteur par défaut si nécessaire.
+     *
+     * @return Le moteur de recherche de chemin
+     */
+    private RechercheChemin getRechercheChemin() {
+        if (rechercheChemin == null) {
+            RechercheChemin calculateur = (robot, cible) -> {
+                List<Direction> directions = donneeSimulation.calculateurChemin.calculerPlusCourtChemin3(robot, cible);
+                if (directions == null) {
+                    return Chemin.INTROUVABLE;
+                }
+                return new Chemin(directions, this.tempsTrajet(robot, directions));
+            };
+            rechercheChemin = new RechercheCheminMesuree(
+                    new CacheChemins(donneeSimulation.getCarte(), calculateur, CAPACITE_CACHE_CHEMINS), metriques);
+        }
+        return rechercheChemin;
+    }
+
+    /**
+     * Calcule le temps de trajet d'un robot le long d'une suite de directions depuis sa position :
+     * somme des temps de traversée des cases atteintes, comme pour les moteurs de recherche du paquetage chemin.
+     * Évite une seconde recherche pour obtenir le coût du chemin.
+     *
+     * @param robot Le robot
+     * @param directions Les directions à suivre
+     * @return Le temps de trajet en secondes
+     */
+    private int tempsTrajet(Robot robot, List<Direction> directions) {
+        Carte carte = donneeSimulation.getCarte();
+        int[] tempsTerrain = robot.getProfilVitesse().tempsParTerrain(carte.getTailleCase());
+        Case courante = robot.getPosition();
+        long temps = 0;
+        for (Direction direction : directions) {
+            courante = carte.getVoisin(courante, direction);
+            temps += tempsTerrain[courante.getNature().ordinal()];
+        }
+        return (int) Math.min(temps, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Définit le mode d'affectation des robots libres aux incendies.
+     *
+     * @param modeAffectation Le mode d'affectation
+     */
+    public void setModeAffectation(ModeAffectation modeAffectation) {
+        this.modeAffectation = modeAffectation;
+    }
+
+    /**
+     * Définit la taille maximale (robots x incendies) de la matrice des coûts résolue en mode optimal.
+     * Au-delà, l'affectation se fait en mode glouton pour borner le temps de décision.
+     *
+     * @param tailleMaxMatrice Le nombre maximal de cases de la matrice des coûts
+     */
+    public void setTailleMaxMatrice(int tailleMaxMatrice) {
+        this.tailleMaxMatrice = tailleMaxMatrice;
+    }
+
+    /**
+     * Définit le service de calcul parallèle des matrices de temps de trajet.
+     * Par défaut, les calculs sont répartis sur le pool commun de ForkJoin.
+     *
+     * @param matriceTempsTrajet Le service de calcul des matrices
+     */
+    public void setMatriceTempsTrajet(MatriceTempsTrajet matriceTempsTrajet) {
+        this.matriceTempsTrajet = matriceTempsTrajet;
+    }
+
+    /**
+     * Retourne le service de calcul des matrices de temps de trajet, en le créant si nécessaire.
+     *
+     * @return Le service de calcul des matrices
+     */
+    private MatriceTempsTrajet getMatriceTempsTrajet() {
+        if (matriceTempsTrajet == null) {
+            matriceTempsTrajet = new MatriceTempsTrajet(donneeSimulation.getCarte(), ForkJoinPool.commonPool());
+        }
+        return matriceTempsTrajet;
+    }
+
+    /**
+     * Retourne les composantes connexes de la carte, en les créant si nécessaire.
+     *
+     * @return La connexité de la carte
+     */
+    private Connexite getConnexite() {
+        if (connexite == null) {
+            connexite = new Connexite(donneeSimulation.getCarte());
+        }
+        return connexite;
+    }
+
     /**
      * Cherche un robot libre dans la simulation.
      *
@@ -46,20 +220,279 @@ public class RobotChefPompier extends Robot {
      * @param activeIncendies Liste des incendies actifs
      */
     public void assignRobotsToIncendies(LinkedList<Incendie> activeIncendies) {
-        while (!activeIncendies.isEmpty()) {
+        EvenementAffectation evenement = this.debutAffectation(activeIncendies.size());
+        long debut = System.nanoTime();
+        try {
+            this.assignRobotsLibresToIncendies(activeIncendies);
+        } finally {
+            this.finAffectation(evenement, debut, activeIncendies.size());
+        }
+    }
+
+    /**
+     * Assigne des robots libres aux incendies actifs du registre. Seuls les incendies actifs sont parcourus,
+     * et un incendie affecté quitte de lui-même la liste des actifs du registre en passant à l'état ciblé.
+     *
+     * @param registre Le registre des incendies
+     */
+    public void assignRobotsToIncendies(RegistreIncendies registre) {
+        EvenementAffectation evenement = this.debutAffectation(registre.getNb(EtatIncendie.ACTIVE));
+        long debut = System.nanoTime();
+        try {
+            this.assignRobotsLibresToIncendies(registre);
+        } finally {
+            this.finAffectation(evenement, debut, registre.getNb(EtatIncendie.ACTIVE));
+        }
+    }
+
+    /**
+     * Assigne les robots de la file des robots libres du planificateur aux incendies les plus proches.
+     * Un incendie n'est retiré de la liste que s'il a été affecté ; sinon il est écarté jusqu'à la fin de la passe.
+     *
+     * @param activeIncendies Liste des incendies actifs
+     */
+    private void assignRobotsLibresToIncendies(LinkedList<Incendie> activeIncendies) {
+        Set<Incendie> candidats = this.debutPasse(activeIncendies);
+        while (!candidats.isEmpty()) {
             if (!planficateur.robotFreeList_isEmpty()) {
                 Robot robot = donneeSimulation.getRobot(planficateur.getFirstFreeRobot());
-                Incendie closest_incendie = this.chercheIncendieLePlusProche(robot, activeIncendies);
-                boolean removeIncendie_success = activeIncendies.remove(closest_incendie);
-                assert (removeIncendie_success);
-                this.assignSingleRobotToIncendie(robot, closest_incendie);
+                Incendie closest_incendie = this.chercheIncendieLePlusProche(robot, activeIncendies, candidats);
+                if (closest_incendie == null) {
+                    Journal.enregistrer(TypeEvenementJournal.AUCUN_INCENDIE_ACCESSIBLE, robot.getId());
+                    break;
+                }
+                candidats.remove(closest_incendie);
+                if (this.assignSingleRobotToIncendie(robot, closest_incendie)) {
+                    activeIncendies.remove(closest_incendie);
+                }
             } else {
-                System.out.printf("Chef Pompier : pas de Robot libre pour affecter à l'incendie No %d\n", activeIncendies.peek().getId());
+                for (Incendie incendie : activeIncendies) {
+                    if (candidats.contains(incendie)) {
+                        Journal.enregistrer(TypeEvenementJournal.AUCUN_ROBOT_LIBRE, incendie.getId());
+                        break;
+                    }
+                }
                 break;
             }
         }
     }
 
+    /**
+     * Assigne les robots de la file des robots libres du planificateur aux incendies actifs du registre
+     * les plus proches. Un incendie dont l'affectation échoue est écarté jusqu'à la fin de la passe.
+     *
+     * @param registre Le registre des incendies
+     */
+    private void assignRobotsLibresToIncendies(RegistreIncendies registre) {
+        BitSet ecartes = new BitSet(); // Incendies dont l'affectation a échoué pendant la passe
+        Predicate<Incendie> estCandidat = incendie -> incendie.getEtat() == EtatIncendie.ACTIVE && !ecartes.get(incendie.getId());
+        this.indexerIncendiesActifs(registre);
+        while (registre.getNb(EtatIncendie.ACTIVE) > ecartes.cardinality()) {
+            if (!planficateur.robotFreeList_isEmpty()) {
+                Robot robot = donneeSimulation.getRobot(planficateur.getFirstFreeRobot());
+                Incendie closest_incendie = this.chercheIncendieLePlusProche(robot, registre, estCandidat);
+                if (closest_incendie == null) {
+                    Journal.enregistrer(TypeEvenementJournal.AUCUN_INCENDIE_ACCESSIBLE, robot.getId());
+                    break;
+                }
+                if (!this.assignSingleRobotToIncendie(robot, closest_incendie)) {
+                    ecartes.set(closest_incendie.getId());
+                }
+            } else {
+                Incendie incendie = registre.premier(EtatIncendie.ACTIVE);
+                while (ecartes.get(incendie.getId())) {
+                    incendie = registre.suivant(incendie);
+                }
+                Journal.enregistrer(TypeEvenementJournal.AUCUN_ROBOT_LIBRE, incendie.getId());
+                break;
+            }
+        }
+    }
+
+    /**
+     * Assigne des robots libres aux incendies actifs selon le mode d'affectation choisi.
+     * En mode OPTIMAL, la matrice des temps de trajet robots x incendies est résolue par la méthode
+     * hongroise ; si elle dépasse la taille maximale configurée, on revient au mode glouton.
+     * Les incendies et les robots affectés sont retirés des listes ; un incendie dont l'affectation échoue
+     * reste dans la liste des incendies actifs.
+     *
+     * @param activeIncendies Liste des incendies actifs
+     * @param robotsLibres Liste des identifiants des robots libres
+     */
+    public void assignRobotsToIncendies(LinkedList<Incendie> activeIncendies, List<Integer> robotsLibres) {
+        EvenementAffectation evenement = this.debutAffectation(activeIncendies.size());
+        long debut = System.nanoTime();
+        try {
+            this.assignRobotsListeToIncendies(activeIncendies, robotsLibres);
+        } finally {
+            this.finAffectation(evenement, debut, activeIncendies.size());
+        }
+    }
+
+    /**
+     * Assigne des robots libres aux incendies actifs du registre selon le mode d'affectation choisi.
+     * Les robots affectés sont retirés de la liste ; les incendies affectés quittent d'eux-mêmes
+     * la liste des actifs du registre.
+     *
+     * @param registre Le registre des incendies
+     * @param robotsLibres Liste des identifiants des robots libres
+     */
+    public void assignRobotsToIncendies(RegistreIncendies registre, List<Integer> robotsLibres) {
+        EvenementAffectation evenement = this.debutAffectation(registre.getNb(EtatIncendie.ACTIVE));
+        long debut = System.nanoTime();
+        try {
+            this.assignRobotsListeToIncendies(registre, robotsLibres);
+        } finally {
+            this.finAffectation(evenement, debut, registre.getNb(EtatIncendie.ACTIVE));
+        }
+    }
+
+    /**
+     * Commence la mesure d'une passe d'affectation.
+     *
+     * @param nbIncendies Nombre d'incendies actifs avant l'affectation
+     * @return L'événement JFR de la passe
+     */
+    private EvenementAffectation debutAffectation(int nbIncendies) {
+        EvenementAffectation evenement = new EvenementAffectation();
+        evenement.nbIncendies = nbIncendies;
+        evenement.begin();
+        return evenement;
+    }
+
+    /**
+     * Termine la mesure d'une passe d'affectation : latence dans le registre et événement JFR.
+     *
+     * @param evenement L'événement JFR de la passe
+     * @param debut La date de début de la passe, en nanosecondes
+     * @param nbIncendiesRestants Nombre d'incendies restant actifs après l'affectation
+     */
+    private void finAffectation(EvenementAffectation evenement, long debut, int nbIncendiesRestants) {
+        metriques.histogramme("affectation.latence_ns").enregistrer(System.nanoTime() - debut);
+        evenement.end();
+        if (evenement.shouldCommit()) {
+            evenement.nbIncendiesRestants = nbIncendiesRestants;
+            evenement.commit();
+        }
+    }
+
+    /**
+     * Assigne des robots de la liste donnée aux incendies actifs selon le mode d'affectation choisi.
+     *
+     * @param activeIncendies Liste des incendies actifs
+     * @param robotsLibres Liste des identifiants des robots libres
+     */
+    private void assignRobotsListeToIncendies(LinkedList<Incendie> activeIncendies, List<Integer> robotsLibres) {
+        if (modeAffectation == ModeAffectation.OPTIMAL
+                && (long) robotsLibres.size() * activeIncendies.size() <= tailleMaxMatrice) {
+            this.assignRobotsToIncendiesOptimal(activeIncendies, robotsLibres);
+            return;
+        }
+        Set<Incendie> candidats = this.debutPasse(activeIncendies);
+        Iterator<Integer> it = robotsLibres.iterator();
+        while (!candidats.isEmpty() && it.hasNext()) {
+            Robot robot = donneeSimulation.getRobot(it.next());
+            Incendie closest_incendie = this.chercheIncendieLePlusProche(robot, activeIncendies, candidats);
+            if (closest_incendie == null) {
+                continue;
+            }
+            candidats.remove(closest_incendie);
+            if (this.assignSingleRobotToIncendie(robot, closest_incendie)) {
+                activeIncendies.remove(closest_incendie);
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Assigne des robots de la liste donnée aux incendies actifs du registre selon le mode d'affectation choisi.
+     * Un incendie dont l'affectation échoue est écarté jusqu'à la fin de la passe.
+     *
+     * @param registre Le registre des incendies
+     * @param robotsLibres Liste des identifiants des robots libres
+     */
+    private void assignRobotsListeToIncendies(RegistreIncendies registre, List<Integer> robotsLibres) {
+        int nbActifs = registre.getNb(EtatIncendie.ACTIVE);
+        if (modeAffectation == ModeAffectation.OPTIMAL
+                && (long) robotsLibres.size() * nbActifs <= tailleMaxMatrice) {
+            this.affecterOptimal(registre.getIncendies(EtatIncendie.ACTIVE), robotsLibres);
+            return;
+        }
+        BitSet ecartes = new BitSet(); // Incendies dont l'affectation a échoué pendant la passe
+        Predicate<Incendie> estCandidat = incendie -> incendie.getEtat() == EtatIncendie.ACTIVE && !ecartes.get(incendie.getId());
+        this.indexerIncendiesActifs(registre);
+        Iterator<Integer> it = robotsLibres.iterator();
+        while (registre.getNb(EtatIncendie.ACTIVE) > ecartes.cardinality() && it.hasNext()) {
+            Robot robot = donneeSimulation.getRobot(it.next());
+            Incendie closest_incendie = this.chercheIncendieLePlusProche(robot, registre, estCandidat);
+            if (closest_incendie == null) {
+                continue;
+            }
+            if (this.assignSingleRobotToIncendie(robot, closest_incendie)) {
+                it.remove();
+            } else {
+                ecartes.set(closest_incendie.getId());
+            }
+        }
+    }
+
+    /**
+     * Affectation de temps de trajet total minimal entre robots libres et incendies actifs.
+     *
+     * @param activeIncendies Liste des incendies actifs
+     * @param robotsLibres Liste des identifiants des robots libres
+     */
+    private void assignRobotsToIncendiesOptimal(LinkedList<Incendie> activeIncendies, List<Integer> robotsLibres) {
+        Set<Incendie> affectes = Collections.newSetFromMap(new IdentityHashMap<>());
+        affectes.addAll(this.affecterOptimal(new ArrayList<>(activeIncendies), robotsLibres));
+        activeIncendies.removeIf(affectes::contains);
+    }
+
+    /**
+     * Résout l'affectation de temps de trajet total minimal entre robots libres et incendies, puis assigne
+     * chaque robot à son incendie. Les robots affectés sont retirés de la liste ; un incendie dont l'affectation
+     * échoue reste actif.
+     *
+     * @param incendies Les incendies actifs
+     * @param robotsLibres Liste des identifiants des robots libres
+     * @return Les incendies affectés
+     */
+    private List<Incendie> affecterOptimal(List<Incendie> incendies, List<Integer> robotsLibres) {
+        List<Incendie> affectes = new ArrayList<>();
+        List<Robot> robots = new ArrayList<>(robotsLibres.size());
+        for (Integer robotId : robotsLibres) {
+            robots.add(donneeSimulation.getRobot(robotId));
+        }
+        int[] affectation = AffectationHongroise.resoudre(this.calculerMatriceCouts(robots, incendies));
+        for (int i = 0; i < robots.size(); i++) {
+            if (affectation[i] < 0) {
+                continue;
+            }
+            Robot robot = robots.get(i);
+            Incendie incendie = incendies.get(affectation[i]);
+            if (this.assignSingleRobotToIncendie(robot, incendie)) {
+                affectes.add(incendie);
+                robotsLibres.remove(Integer.valueOf(robot.getId()));
+            }
+        }
+        return affectes;
+    }
+
+    /**
+     * Calcule, en parallèle, la matrice des temps de trajet de chaque robot vers chaque incendie.
+     *
+     * @param robots Les robots
+     * @param incendies Les incendies
+     * @return La matrice couts[robot][incendie], AffectationHongroise.IMPOSSIBLE si l'incendie est inaccessible
+     */
+    private int[][] calculerMatriceCouts(List<Robot> robots, List<Incendie> incendies) {
+        List<Case> positions = new ArrayList<>(incendies.size());
+        for (Incendie incendie : incendies) {
+            positions.add(incendie.getPosition());
+        }
+        return this.getMatriceTempsTrajet().calculer(robots, positions, this.getConnexite());
+    }
+
     /**
      * Cherche le robot le plus proche d'un incendie donné.
      *
@@ -68,11 +501,30 @@ public class RobotChefPompier extends Robot {
      * @return Le robot le plus proche de l'incendie
      */
     private Robot chercheRobotLePlusProche(Incendie incendie, LinkedList<Integer> libreRobotList) {
-        int min = Integer.MAX_VALUE;
-        Robot selected_robot = null;
+        if (indexRobots == null) {
+            indexRobots = new IndexSpatial<>(donneeSimulation.getCarte(), TAILLE_SEAU_INDEX);
+        }
+        Set<Robot> candidats = new HashSet<>();
+        int tempsParCase = Integer.MAX_VALUE;
         for (Integer robotId : libreRobotList) {
             Robot robot = donneeSimulation.getRobot(robotId);
-            int temps_trajet = donneeSimulation.calculateurChemin.calculerPlusCourtCheminValue(robot, incendie.getPosition());
+            candidats.add(robot);
+            if (!indexRobots.contient(robot)) {
+                indexRobots.ajouter(robot, robot.getPosition());
+                robot.addObservateur(observateurRobots);
+            }
+            tempsParCase = Math.min(tempsParCase, robot.getProfilVitesse().tempsTraverseeMin(donneeSimulation.getCarte().getTailleCase()));
+        }
+        int min = Integer.MAX_VALUE;
+        Robot selected_robot = null;
+        IndexSpatial.Parcours<Robot> parcours = indexRobots.parcourir(incendie.getPosition());
+        // le temps vers un robot à d cases ne peut être inférieur à (d - 1) cases à la meilleure vitesse
+        while (parcours.aSuivant() && (long) Math.max(0, parcours.distanceSuivante() - 1) * tempsParCase < min) {
+            Robot robot = parcours.suivant();
+            if (!candidats.contains(robot) || !this.getConnexite().estAccessible(robot, incendie.getPosition())) {
+                continue;
+            }
+            int temps_trajet = this.getRechercheChemin().chercher(robot, incendie.getPosition()).getTemps();
             if (temps_trajet < min) {
                 min = temps_trajet;
                 selected_robot = robot;
@@ -82,17 +534,102 @@ public class RobotChefPompier extends Robot {
     }
 
     /**
-     * Cherche l'incendie le plus proche d'un robot donné.
+     * Cherche l'incendie le plus proche d'un robot donné parmi les candidats de la passe.
+     * Les incendies doivent avoir été indexés au début de la passe par {@link #debutPasse}.
      *
      * @param robot Le robot en question
      * @param activeIncendies Liste des incendies actifs
+     * @param candidats Incendies de la liste pouvant encore être choisis
+     * @return L'incendie le plus proche
+     */
+    private Incendie chercheIncendieLePlusProche(Robot robot, List<Incendie> activeIncendies, Set<Incendie> candidats) {
+        if (this.getRechercheChemin().estMultiCibles()) {
+            return this.chercheIncendieLePlusProcheMultiCibles(robot, activeIncendies, candidats::contains);
+        }
+        return this.chercheIncendieIndexe(robot, candidats::contains);
+    }
+
+    /**
+     * Prépare une passe d'affectation sur une liste d'incendies actifs : les incendies sont indexés une fois
+     * pour toute la passe, et l'ensemble des candidats retourné en est une copie, dont la passe retire chaque
+     * incendie affecté ou écarté.
+     *
+     * @param activeIncendies Liste des incendies actifs
+     * @return Les incendies candidats de la passe
+     */
+    private Set<Incendie> debutPasse(List<Incendie> activeIncendies) {
+        if (!this.getRechercheChemin().estMultiCibles()) {
+            for (Incendie incendie : activeIncendies) {
+                this.indexerIncendie(incendie);
+            }
+        }
+        return new HashSet<>(activeIncendies);
+    }
+
+    /**
+     * Cherche l'incendie le plus proche d'un robot parmi les incendies actifs du registre.
+     * Les incendies actifs doivent avoir été indexés au début de la passe par {@link #indexerIncendiesActifs}.
+     *
+     * @param robot Le robot en question
+     * @param registre Le registre des incendies
+     * @param estCandidat Filtre des incendies pouvant être choisis
+     * @return L'incendie le plus proche
+     */
+    private Incendie chercheIncendieLePlusProche(Robot robot, RegistreIncendies registre, Predicate<Incendie> estCandidat) {
+        if (this.getRechercheChemin().estMultiCibles()) {
+            return this.chercheIncendieLePlusProcheMultiCibles(robot, registre.getIncendies(EtatIncendie.ACTIVE), estCandidat);
+        }
+        return this.chercheIncendieIndexe(robot, estCandidat);
+    }
+
+    /**
+     * Ajoute à l'index spatial les incendies actifs du registre qui n'y sont pas encore.
+     *
+     * @param registre Le registre des incendies
+     */
+    private void indexerIncendiesActifs(RegistreIncendies registre) {
+        for (Incendie incendie = registre.premier(EtatIncendie.ACTIVE); incendie != null; incendie = registre.suivant(incendie)) {
+            this.indexerIncendie(incendie);
+        }
+    }
+
+    /**
+     * Ajoute un incendie actif à l'index spatial s'il n'y est pas encore ; il en sera retiré en quittant l'état actif.
+     *
+     * @param incendie L'incendie
+     */
+    private void indexerIncendie(Incendie incendie) {
+        if (indexIncendies == null) {
+            indexIncendies = new IndexSpatial<>(donneeSimulation.getCarte(), TAILLE_SEAU_INDEX);
+        }
+        if (!indexIncendies.contient(incendie) && incendie.getEtat() == EtatIncendie.ACTIVE) {
+            indexIncendies.ajouter(incendie, incendie.getPosition());
+            incendie.addObservateur(observateurIncendies);
+        }
+    }
+
+    /**
+     * Cherche l'incendie indexé le plus proche d'un robot, par parcours de l'index spatial en distance croissante.
+     *
+     * @param robot Le robot en question
+     * @param estCandidat Filtre des incendies pouvant être choisis
      * @return L'incendie le plus proche
      */
-    private Incendie chercheIncendieLePlusProche(Robot robot, LinkedList<Incendie> activeIncendies) {
+    private Incendie chercheIncendieIndexe(Robot robot, Predicate<Incendie> estCandidat) {
+        if (indexIncendies == null) {
+            return null;
+        }
+        int tempsParCase = robot.getProfilVitesse().tempsTraverseeMin(donneeSimulation.getCarte().getTailleCase());
         int min = Integer.MAX_VALUE;
         Incendie selected_incendie = null;
-        for (Incendie incendie : activeIncendies) {
-            int temps_trajet = donneeSimulation.calculateurChemin.calculerPlusCourtCheminValue(robot, incendie.getPosition());
+        IndexSpatial.Parcours<Incendie> parcours = indexIncendies.parcourir(robot.getPosition());
+        // le temps vers un incendie à d cases ne peut être inférieur à (d - 1) cases à la meilleure vitesse
+        while (parcours.aSuivant() && (long) Math.max(0, parcours.distanceSuivante() - 1) * tempsParCase < min) {
+            Incendie incendie = parcours.suivant();
+            if (!estCandidat.test(incendie) || !this.getConnexite().estAccessible(robot, incendie.getPosition())) {
+                continue;
+            }
+            int temps_trajet = this.getRechercheChemin().chercher(robot, incendie.getPosition()).getTemps();
             if (temps_trajet < min) {
                 min = temps_trajet;
                 selected_incendie = incendie;
@@ -101,6 +638,30 @@ public class RobotChefPompier extends Robot {
         return selected_incendie;
     }
 
+    /**
+     * Cherche l'incendie le plus proche d'un robot en une seule recherche multi-cibles.
+     *
+     * @param robot Le robot en question
+     * @param activeIncendies Liste des incendies actifs
+     * @param estCandidat Filtre des incendies pouvant être choisis
+     * @return L'incendie le plus proche, ou null si aucun n'est accessible
+     */
+    private Incendie chercheIncendieLePlusProcheMultiCibles(Robot robot, List<Incendie> activeIncendies, Predicate<Incendie> estCandidat) {
+        List<Incendie> incendies = new ArrayList<>(activeIncendies.size());
+        List<Case> positions = new ArrayList<>(activeIncendies.size());
+        for (Incendie incendie : activeIncendies) {
+            if (estCandidat.test(incendie) && this.getConnexite().estAccessible(robot, incendie.getPosition())) {
+                incendies.add(incendie);
+                positions.add(incendie.getPosition());
+            }
+        }
+        if (positions.isEmpty()) {
+            return null;
+        }
+        ResultatPlusProche res = this.getRechercheChemin().chercherPlusProche(robot, positions);
+        return res.estTrouve() ? incendies.get(res.getIndiceCible()) : null;
+    }
+
     /**
      * Assigne un robot à un incendie spécifique.
      *
@@ -109,13 +670,17 @@ public class RobotChefPompier extends Robot {
      * @return True si l'assignation a réussi, sinon False
      */
     public boolean assignSingleRobotToIncendie(Robot robot, Incendie incendie) {
-        robot.setTargetIncendieId(incendie.getId());
-        incendie.setEtatToTarget();
-        System.out.printf("Chef Pompier: Affect robot %d to Incendie %d \n", robot.getId(), incendie.getId());
-        RobotActionTypeEnum[] trajet = this.getRobotTrajet(robot, incendie.getPosition(), RobotActionTypeEnum.ETEINDRE_INCENDIE);
+        if (!this.getConnexite().estAccessible(robot, incendie.getPosition())) {
+            Journal.enregistrer(TypeEvenementJournal.INCENDIE_INACCESSIBLE, incendie.getId(), robot.getId());
+            return false;
+        }
+        RobotActionTypeEnum[] trajet = this.planifierTrajet(robot, incendie.getPosition(), RobotActionTypeEnum.ETEINDRE_INCENDIE);
         if (trajet == null) {
             return false;
         }
+        robot.setTargetIncendieId(incendie.getId());
+        incendie.setEtatToTarget();
+        Journal.enregistrer(TypeEvenementJournal.AFFECTATION, robot.getId(), incendie.getId());
         planficateur.addRobotTrajet(robot.getId(), trajet);
         return true;
     }
@@ -138,20 +703,13 @@ public class RobotChefPompier extends Robot {
      * @return La case contenant la source d'eau la plus proche
      */
     private Case chercheSourceEauPlusProche(Robot robot) {
-        Case res = null;
-        ArrayList<Case> sourceEauList = Carte.getSourceEauList();
-        if (sourceEauList.isEmpty()) {
-            return res;
+        if (donneeSimulation.getCarte().getSourceEauList().isEmpty()) {
+            return null;
         }
-        int min = Integer.MAX_VALUE;
-        for (Case sourceEau : sourceEauList) {
-            int temps_trajet = donneeSimulation.calculateurChemin.calculerPlusCourtCheminValue(robot, sourceEau);
-            if (min > temps_trajet) {
-                min = temps_trajet;
-                res = sourceEau;
-            }
+        if (champsSourcesEau == null) {
+            champsSourcesEau = new ChampsSourcesEau(donneeSimulation.getCarte());
         }
-        return res;
+        return champsSourcesEau.getSourceLaPlusProche(robot, robot.getPosition());
     }
 
     /**
@@ -164,22 +722,40 @@ public class RobotChefPompier extends Robot {
         if (robot != null) {
             Case sourceEau = this.chercheSourceEauPlusProche(robot);
             if (sourceEau == null) {
-                System.out.printf("Chef Pompier: try to send robot %d find water, no water source found");
+                Journal.enregistrer(TypeEvenementJournal.AUCUNE_SOURCE_EAU, robot.getId());
                 return false;
             }
-            System.out.printf(" %s : send robot %d to find water at sourceEau %s \n", this.toString(), robot.getId(), sourceEau);
-            RobotActionTypeEnum[] trajet = getRobotTrajet(robot, sourceEau, RobotActionTypeEnum.REMPLIR_EAU);
+            Journal.enregistrer(TypeEvenementJournal.ENVOI_SOURCE_EAU, robot.getId(), sourceEau.getColonne(), sourceEau.getLigne());
+            RobotActionTypeEnum[] trajet = planifierTrajet(robot, sourceEau, RobotActionTypeEnum.REMPLIR_EAU);
             robot.setTargetSourceEau(sourceEau);
             planficateur.addRobotTrajet(robot.getId(), trajet);
             return true;
         } else {
-            System.out.printf(" %s : robot null \n", this.toString());
+            Journal.enregistrer(TypeEvenementJournal.ROBOT_NUL);
             return false;
         }
     }
 
     /**
-     * Génère le trajet d'un robot vers une cible avec une action finale spécifiée.
+     * Planifie le trajet d'un robot envoyé par le chef pompier. Si un planificateur coopératif est défini,
+     * le trajet est réservé dans le temps à partir de la date courante ({@link #getRobotTrajetReserve}) ;
+     * sinon, il est cherché sans réservation ({@link #getRobotTrajet}).
+     *
+     * @param robot Le robot en déplacement
+     * @param target La case cible
+     * @param action L'action finale du robot
+     * @return Un tableau d'actions pour le trajet, ou null si la cible est inaccessible
+     */
+    private RobotActionTypeEnum[] planifierTrajet(Robot robot, Case target, RobotActionTypeEnum action) {
+        if (planificateurCooperatif == null) {
+            return getRobotTrajet(robot, target, action);
+        }
+        TrajetReserve trajet = getRobotTrajetReserve(robot, target, horloge.getAsLong());
+        return trajet == null ? null : ConvertDirectionToMoveAction(trajet.getDirections(), action);
+    }
+
+    /**
+     * Génère le trajet d'un robot vers une cible avec une action finale spécifiée, sans réservation.
      *
      * @param robot Le robot en déplacement
      * @param target La case cible
@@ -187,11 +763,12 @@ public class RobotChefPompier extends Robot {
      * @return Un tableau de directions pour le trajet
      */
     public RobotActionTypeEnum[] getRobotTrajet(Robot robot, Case target, RobotActionTypeEnum action) {
-        List<Direction> list_direction = donneeSimulation.calculateurChemin.calculerPlusCourtChemin3(robot, target);
+        List<Direction> list_direction = this.getRechercheChemin().chercher(robot, target).getDirections();
         if (list_direction == null) {
-            System.out.printf("Robot Chef Pompier: No trajet found for %s to get to %s", robot, target);
+            Journal.enregistrer(TypeEvenementJournal.TRAJET_INTROUVABLE, robot.getId(), target.getColonne(), target.getLigne());
             return null;
         }
+        donneeSimulation.getCarte().prechargerTrajet(robot.getPosition(), list_direction);
         RobotActionTypeEnum[] trajet = ConvertDirectionToMoveAction(list_direction, action);
         return trajet;
     }
@@ -204,11 +781,11 @@ public class RobotChefPompier extends Robot {
      */
     public void sendRobotToCase(Robot robot, Case destination) {
         if (robot != null) {
-            System.out.printf("Chef Pompier : send robot %s to Case %s \n", robot.toString(), destination.toString());
-            RobotActionTypeEnum[] trajet = getRobotTrajet(robot, destination, null);
+            Journal.enregistrer(TypeEvenementJournal.ENVOI_CASE, robot.getId(), destination.getColonne(), destination.getLigne());
+            RobotActionTypeEnum[] trajet = planifierTrajet(robot, destination, null);
             planficateur.addRobotTrajet(robot.getId(), trajet);
         } else {
-            System.out.printf(" %s : robot null \n", this.toString());
+            Journal.enregistrer(TypeEvenementJournal.ROBOT_NUL);
         }
     }
 
@@ -220,19 +797,116 @@ public class RobotChefPompier extends Robot {
      * @return Un tableau d'actions de mouvement pour le trajet
      */
     RobotActionTypeEnum[] ConvertDirectionToMoveAction(List<Direction> list_direction, RobotActionTypeEnum lastAction_to_add) {
-        List<RobotActionTypeEnum> trajet = new ArrayList<>();
+        boolean avecAction = lastAction_to_add == RobotActionTypeEnum.ETEINDRE_INCENDIE || lastAction_to_add == RobotActionTypeEnum.REMPLIR_EAU;
+        RobotActionTypeEnum[] trajet = new RobotActionTypeEnum[list_direction.size() + (avecAction ? 1 : 0)];
+        int i = 0;
         for (Direction direction : list_direction) {
             switch (direction) {
-                case EST -> trajet.add(RobotActionTypeEnum.MOVE_EST);
-                case OUEST -> trajet.add(RobotActionTypeEnum.MOVE_OUEST);
-                case NORD -> trajet.add(RobotActionTypeEnum.MOVE_NORD);
-                case SUD -> trajet.add(RobotActionTypeEnum.MOVE_SUD);
+                case EST -> trajet[i++] = RobotActionTypeEnum.MOVE_EST;
+                case OUEST -> trajet[i++] = RobotActionTypeEnum.MOVE_OUEST;
+                case NORD -> trajet[i++] = RobotActionTypeEnum.MOVE_NORD;
+                case SUD -> trajet[i++] = RobotActionTypeEnum.MOVE_SUD;
             }
         }
-        if (lastAction_to_add == RobotActionTypeEnum.ETEINDRE_INCENDIE || lastAction_to_add == RobotActionTypeEnum.REMPLIR_EAU) {
-            trajet.add(lastAction_to_add);
+        if (avecAction) {
+            trajet[i] = lastAction_to_add;
+        }
+        return trajet;
+    }
+
+    /**
+     * Génère le trajet compact d'un robot vers une cible avec une action finale spécifiée.
+     * Les directions du chemin sont empaquetées directement, sans tableau d'actions intermédiaire.
+     * Destiné à un planificateur des trajets qui consomme le curseur de {@link TrajetCompact} :
+     * celui de la simulation ne reçoit que des tableaux d'actions, d'où {@link #getRobotTrajet} pour les affectations.
+     *
+     * @param robot Le robot en déplacement
+     * @param target La case cible
+     * @param action L'action finale du robot
+     * @return Le trajet compact, ou null si la cible est inaccessible
+     */
+    public TrajetCompact getRobotTrajetCompact(Robot robot, Case target, RobotActionTypeEnum action) {
+        List<Direction> list_direction = this.getRechercheChemin().chercher(robot, target).getDirections();
+        if (list_direction == null) {
+            Journal.enregistrer(TypeEvenementJournal.TRAJET_INTROUVABLE, robot.getId(), target.getColonne(), target.getLigne());
+            return null;
+        }
+        donneeSimulation.getCarte().prechargerTrajet(robot.getPosition(), list_direction);
+        return new TrajetCompact(list_direction, action);
+    }
+
+    /**
+     * Définit le planificateur coopératif : tous les trajets planifiés ensuite par le chef pompier
+     * (affectation à un incendie, envoi vers l'eau ou vers une case) y sont réservés.
+     *
+     * @param planificateurCooperatif Le planificateur coopératif, partagé par tous les robots
+     * @param horloge La date courante de la simulation, date de départ au plus tôt des trajets
+     */
+    public void setPlanificateurCooperatif(PlanificateurCooperatif planificateurCooperatif, LongSupplier horloge) {
+        this.planificateurCooperatif = planificateurCooperatif;
+        this.horloge = horloge;
+        this.trajetsReserves.clear();
+    }
+
+    /**
+     * Retourne le dernier trajet réservé d'un robot, dont le planificateur des trajets lit les dates
+     * de départ de chaque déplacement.
+     *
+     * @param robotId L'identifiant du robot
+     * @return Le trajet réservé, ou null si le robot n'en a pas
+     */
+    public TrajetReserve getTrajetReserve(int robotId) {
+        return trajetsReserves.get(robotId);
+    }
+
+    /**
+     * Planifie et réserve le trajet d'un robot vers une cible avec le planificateur coopératif : le trajet
+     * évite dans le temps les trajets déjà réservés, et chaque déplacement a sa date de départ.
+     * Le planificateur des trajets doit lancer chaque déplacement à la date prévue.
+     *
+     * @param robot Le robot en déplacement
+     * @param target La case cible
+     * @param date La date de départ au plus tôt
+     * @return Le trajet réservé, ou null si aucun trajet sans conflit n'a été trouvé
+     * @throws IllegalStateException si aucun planificateur coopératif n'a été défini
+     */
+    public TrajetReserve getRobotTrajetReserve(Robot robot, Case target, long date) {
+        if (planificateurCooperatif == null) {
+            throw new IllegalStateException("Aucun planificateur coopératif défini");
+        }
+        TrajetReserve trajet = planificateurCooperatif.planifier(robot, target, date);
+        if (trajet == null) {
+            trajetsReserves.remove(robot.getId());
+            Journal.enregistrer(TypeEvenementJournal.TRAJET_INTROUVABLE, robot.getId(), target.getColonne(), target.getLigne());
+            return null;
+        }
+        trajetsReserves.put(robot.getId(), trajet);
+        donneeSimulation.getCarte().prechargerTrajet(robot.getPosition(), trajet.getDirections());
+        return trajet;
+    }
+
+    /**
+     * Répare le trajet d'un robot dont un déplacement a été refusé, la case visée étant occupée
+     * (voir {@link simulation.ordonnancement.ExecuteurTickParallele#executerTick}). La recherche incrémentale
+     * du robot est conservée d'un appel à l'autre : seuls les noeuds touchés par les cases devenues
+     * occupées ou libres depuis sont développés à nouveau.
+     *
+     * @param robot Le robot bloqué
+     * @param target La case cible du trajet
+     * @param action L'action finale du robot
+     * @return Le nouveau trajet depuis la position actuelle du robot, ou null si la cible est devenue inaccessible
+     */
+    public RobotActionTypeEnum[] replanifierTrajet(Robot robot, Case target, RobotActionTypeEnum action) {
+        if (replanification == null) {
+            replanification = new RechercheDStarLite(donneeSimulation.getCarte());
+        }
+        List<Direction> list_direction = replanification.chercher(robot, target).getDirections();
+        if (list_direction == null) {
+            Journal.enregistrer(TypeEvenementJournal.TRAJET_INTROUVABLE, robot.getId(), target.getColonne(), target.getLigne());
+            return null;
         }
-        return trajet.toArray(new RobotActionTypeEnum[0]);
+        donneeSimulation.getCarte().prechargerTrajet(robot.getPosition(), list_direction);
+        return ConvertDirectionToMoveAction(list_direction, action);
     }
 
     @Override
@@ -1,6 +1,8 @@
 package simulation.robot;
 
 import simulation.environment.*;
+import simulation.journal.Journal;
+import simulation.journal.TypeEvenementJournal;
 
 public class RobotPattes extends Robot {
 
@@ -53,9 +55,44 @@ public class RobotPattes extends Robot {
     @Override
     public void verserEauIncendie(Incendie incendie) {
         if (incendie.getEtat() == EtatIncendie.TARGETED) {
-            System.out.printf("%s Robot %s : verse %d à l'incendie %s %s\n", 
-                              PrintColor.BLUE, this.id, this.versementPerMinute, incendie.getId(), PrintColor.RESET);
+            Journal.enregistrer(TypeEvenementJournal.VERSEMENT, this.id, this.versementPerMinute, incendie.getId());
             incendie.reduceCoutEau(this.versementPerMinute);
         }
     }
+
+    /**
+     * Verse en une seule fois l'équivalent de plusieurs minutes de versement sur un incendie ciblé.
+     *
+     * @param incendie L'incendie sur lequel le robot verse de l'eau
+     * @param minutes  Le nombre de minutes de versement
+     */
+    @Override
+    public void verserEauIncendie(Incendie incendie, int minutes) {
+        if (incendie.getEtat() == EtatIncendie.TARGETED) {
+            int versement = this.getVersementCumule(minutes);
+            Journal.enregistrer(TypeEvenementJournal.VERSEMENT_MINUTES, this.id, versement, minutes, incendie.getId());
+            incendie.reduceCoutEau(versement);
+        }
+    }
+
+    /**
+     * Le réservoir étant infini, le versement n'est limité que par la durée.
+     *
+     * @param minutes Le nombre de minutes de versement
+     * @return La quantité d'eau versée
+     */
+    @Override
+    public int getVersementCumule(int minutes) {
+        return (int) Math.min((long) minutes * this.versementPerMinute, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Le réservoir étant infini, il n'est jamais vide.
+     *
+     * @return Integer.MAX_VALUE
+     */
+    @Override
+    public int getMinutesVersement() {
+        return Integer.MAX_VALUE;
+    }
 }
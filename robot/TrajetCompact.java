@@ -0,0 +1,162 @@
+package simulation.robot;
+
+import simulation.environment.Direction;
+
+import java.util.List;
+
+/**
+ * Trajet d'un robot stocké sous forme compacte : chaque déplacement occupe 2 bits (ordinal de la
+ * {@link Direction}) dans un tableau de long, soit 32 déplacements par mot, suivi d'une action finale
+ * facultative (ETEINDRE_INCENDIE ou REMPLIR_EAU).
+ *
+ * Le trajet se consomme sur place à l'aide d'un curseur ({@link #aSuivant()}, {@link #suivant()}) :
+ * la lecture n'alloue rien.
+ *
+ * Le planificateur des trajets ({@code evenement.Planficateur}, hors de ce dépôt) ne reçoit encore que des
+ * tableaux d'actions ({@code addRobotTrajet}) : les affectations du chef pompier lui remettent donc des
+ * tableaux, et ce format est destiné au planificateur une fois qu'il consommera le curseur.
+ * {@link #toActions()} assure la transition.
+ */
+public class TrajetCompact {
+    private static final int BITS_DEPLACEMENT = 2;
+    private static final int DEPLACEMENTS_PAR_MOT = Long.SIZE / BITS_DEPLACEMENT;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final RobotActionTypeEnum[] ACTIONS_DEPLACEMENT = new RobotActionTypeEnum[Direction.values().length];
+
+    static {
+        ACTIONS_DEPLACEMENT[Direction.NORD.ordinal()] = RobotActionTypeEnum.MOVE_NORD;
+        ACTIONS_DEPLACEMENT[Direction.SUD.ordinal()] = RobotActionTypeEnum.MOVE_SUD;
+        ACTIONS_DEPLACEMENT[Direction.EST.ordinal()] = RobotActionTypeEnum.MOVE_EST;
+        ACTIONS_DEPLACEMENT[Direction.OUEST.ordinal()] = RobotActionTypeEnum.MOVE_OUEST;
+    }
+
+    private final long[] mots; // Déplacements, 2 bits chacun, le premier dans les bits de poids faible du premier mot
+    private final int nbDeplacements;
+    private final RobotActionTypeEnum actionFinale; // null si le trajet se termine sans action
+    private int curseur; // Rang de la prochaine action à lire
+
+    /**
+     * Constructeur de la classe TrajetCompact.
+     *
+     * @param directions   les directions du trajet
+     * @param actionFinale l'action finale, retenue seulement s'il s'agit de ETEINDRE_INCENDIE ou REMPLIR_EAU
+     */
+    public TrajetCompact(List<Direction> directions, RobotActionTypeEnum actionFinale) {
+        this.nbDeplacements = directions.size();
+        this.mots = new long[(nbDeplacements + DEPLACEMENTS_PAR_MOT - 1) / DEPLACEMENTS_PAR_MOT];
+        int i = 0;
+        for (Direction direction : directions) {
+            mots[i / DEPLACEMENTS_PAR_MOT] |= (long) direction.ordinal() << ((i % DEPLACEMENTS_PAR_MOT) * BITS_DEPLACEMENT);
+            i++;
+        }
+        this.actionFinale = actionFinale == RobotActionTypeEnum.ETEINDRE_INCENDIE
+                || actionFinale == RobotActionTypeEnum.REMPLIR_EAU ? actionFinale : null;
+    }
+
+    /**
+     * Retourne le nombre total d'actions du trajet, action finale comprise.
+     *
+     * @return le nombre d'actions
+     */
+    public int longueur() {
+        return actionFinale == null ? nbDeplacements : nbDeplacements + 1;
+    }
+
+    /**
+     * Retourne le nombre de déplacements du trajet.
+     *
+     * @return le nombre de déplacements
+     */
+    public int getNbDeplacements() {
+        return nbDeplacements;
+    }
+
+    /**
+     * Retourne l'action finale du trajet.
+     *
+     * @return ETEINDRE_INCENDIE, REMPLIR_EAU, ou null si le trajet se termine sans action
+     */
+    public RobotActionTypeEnum getActionFinale() {
+        return actionFinale;
+    }
+
+    /**
+     * Retourne la direction d'un déplacement du trajet.
+     *
+     * @param i le rang du déplacement
+     * @return la direction
+     */
+    public Direction getDirection(int i) {
+        if (i < 0 || i >= nbDeplacements) {
+            throw new IndexOutOfBoundsException("Déplacement " + i + " hors du trajet de " + nbDeplacements + " déplacements");
+        }
+        return DIRECTIONS[ordinal(i)];
+    }
+
+    /**
+     * Retourne une action du trajet.
+     *
+     * @param i le rang de l'action, l'action finale venant après tous les déplacements
+     * @return l'action
+     */
+    public RobotActionTypeEnum getAction(int i) {
+        if (i == nbDeplacements && actionFinale != null) {
+            return actionFinale;
+        }
+        return ACTIONS_DEPLACEMENT[getDirection(i).ordinal()];
+    }
+
+    /**
+     * Indique s'il reste des actions à lire.
+     *
+     * @return true si le curseur n'est pas à la fin du trajet
+     */
+    public boolean aSuivant() {
+        return curseur < longueur();
+    }
+
+    /**
+     * Lit l'action sous le curseur et avance le curseur.
+     *
+     * @return l'action suivante du trajet
+     */
+    public RobotActionTypeEnum suivant() {
+        return getAction(curseur++);
+    }
+
+    /**
+     * Retourne le nombre d'actions qui restent à lire.
+     *
+     * @return le nombre d'actions restantes
+     */
+    public int getNbRestantes() {
+        return longueur() - curseur;
+    }
+
+    /**
+     * Remet le curseur au début du trajet.
+     */
+    public void recommencer() {
+        curseur = 0;
+    }
+
+    /**
+     * Convertit le trajet en tableau d'actions, pour les consommateurs qui attendent ce format.
+     *
+     * @return le tableau de toutes les actions du trajet
+     */
+    public RobotActionTypeEnum[] toActions() {
+        RobotActionTypeEnum[] actions = new RobotActionTypeEnum[longueur()];
+        for (int i = 0; i < nbDeplacements; i++) {
+            actions[i] = ACTIONS_DEPLACEMENT[ordinal(i)];
+        }
+        if (actionFinale != null) {
+            actions[nbDeplacements] = actionFinale;
+        }
+        return actions;
+    }
+
+    private int ordinal(int i) {
+        return (int) (mots[i / DEPLACEMENTS_PAR_MOT] >>> ((i % DEPLACEMENTS_PAR_MOT) * BITS_DEPLACEMENT)) & 0b11;
+    }
+}
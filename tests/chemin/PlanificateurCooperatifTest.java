@@ -0,0 +1,163 @@
+package simulation.chemin;
+
+import org.junit.jupiter.api.Test;
+import simulation.environment.Carte;
+import simulation.environment.Case;
+import simulation.environment.Direction;
+import simulation.environment.NatureTerrain;
+import simulation.robot.Robot;
+import simulation.robot.RobotRoue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Tests du planificateur coopératif : les trajets réservés, rejoués créneau par créneau,
+ * ne mettent jamais deux robots sur la même case au même créneau.
+ */
+class PlanificateurCooperatifTest {
+
+    @Test
+    void deuxRobotsSeCroisentDansUnCouloirSansConflit() {
+        Carte carte = new Carte(2, 6);
+        Robot r0 = new RobotRoue(0, carte.getCase(0, 0));
+        Robot r1 = new RobotRoue(1, carte.getCase(5, 0));
+        PlanificateurCooperatif planificateur = new PlanificateurCooperatif(carte, new TableReservations(1));
+        planificateur.placer(r0, 0);
+        planificateur.placer(r1, 0);
+
+        Map<Robot, TrajetReserve> trajets = new LinkedHashMap<>();
+        trajets.put(r0, planificateur.planifier(r0, carte.getCase(4, 0), 0));
+        trajets.put(r1, planificateur.planifier(r1, carte.getCase(1, 0), 0));
+        assertNotNull(trajets.get(r0));
+        assertNotNull(trajets.get(r1));
+        rejouer(carte, trajets, 1);
+    }
+
+    @Test
+    void trajetsAleatoiresRejouesSansConflit() {
+        Random aleatoire = new Random(2);
+        int nbTrajets = 0;
+        int nbTrouves = 0;
+        for (int essai = 0; essai < 20; essai++) {
+            int nbLignes = 20;
+            int nbColones = 20;
+            Carte carte = new Carte(nbLignes, nbColones);
+            for (int i = 0; i < 80; i++) {
+                carte.setCaseNature(aleatoire.nextInt(nbColones), aleatoire.nextInt(nbLignes), NatureTerrain.ROCHE);
+            }
+            PlanificateurCooperatif planificateur = new PlanificateurCooperatif(carte, new TableReservations(5));
+
+            List<Robot> robots = new ArrayList<>();
+            Set<Case> departs = new HashSet<>();
+            for (int id = 0; id < 15; id++) {
+                Case depart;
+                do {
+                    depart = carte.getCase(aleatoire.nextInt(nbColones), aleatoire.nextInt(nbLignes));
+                } while (depart.getNature() == NatureTerrain.ROCHE || !departs.add(depart));
+                Robot robot = new RobotRoue(id, depart);
+                robots.add(robot);
+                planificateur.placer(robot, 0);
+            }
+
+            Map<Robot, TrajetReserve> trajets = new LinkedHashMap<>();
+            Set<Case> cibles = new HashSet<>();
+            for (Robot robot : robots) {
+                Case cible;
+                do {
+                    cible = carte.getCase(aleatoire.nextInt(nbColones), aleatoire.nextInt(nbLignes));
+                } while (cible.getNature() == NatureTerrain.ROCHE || departs.contains(cible) || !cibles.add(cible));
+                TrajetReserve trajet = planificateur.planifier(robot, cible, 0);
+                nbTrajets++;
+                if (trajet != null) {
+                    nbTrouves++;
+                }
+                trajets.put(robot, trajet);
+            }
+            rejouer(carte, trajets, 5);
+        }
+        assertEquals(300, nbTrajets);
+        assertTrue(nbTrouves > 0, "aucun trajet planifié");
+    }
+
+    @Test
+    void aucunDepartAvantLaDateDemandee() {
+        Carte carte = new Carte(10, 10);
+        Robot r0 = new RobotRoue(0, carte.getCase(0, 0));
+        Robot r1 = new RobotRoue(1, carte.getCase(0, 1));
+        TableReservations reservations = new TableReservations(10);
+        PlanificateurCooperatif planificateur = new PlanificateurCooperatif(carte, reservations);
+        planificateur.placer(r0, 0);
+        planificateur.placer(r1, 0);
+
+        TrajetReserve trajet = planificateur.planifier(r0, carte.getCase(5, 0), 15);
+        assertNotNull(trajet);
+        assertTrue(trajet.getDateDepart(0) >= 15, "départ à " + trajet.getDateDepart(0));
+        // Le robot tient sa case jusqu'à son départ
+        assertTrue(!reservations.estLibre(carte.indexCase(0, 0), reservations.creneau(15), 1));
+
+        trajet = planificateur.planifier(r1, carte.getCase(0, 5), 23);
+        assertNotNull(trajet);
+        assertTrue(trajet.getDateDepart(0) >= 23, "départ à " + trajet.getDateDepart(0));
+    }
+
+    /**
+     * Rejoue les trajets créneau par créneau : chaque robot attend sur sa case jusqu'au départ de chaque
+     * déplacement, tient la case quittée et la case atteinte pendant le déplacement, puis stationne à l'arrivée.
+     * Un robot sans trajet (null) reste sur sa case.
+     */
+    private static void rejouer(Carte carte, Map<Robot, TrajetReserve> trajets, int dureeCreneau) {
+        long horizon = 0;
+        for (TrajetReserve trajet : trajets.values()) {
+            if (trajet == null) {
+                continue;
+            }
+            horizon = Math.max(horizon, trajet.getDateArrivee() / dureeCreneau + 2);
+        }
+        Map<Long, Integer> occupation = new HashMap<>();
+        for (Map.Entry<Robot, TrajetReserve> entree : trajets.entrySet()) {
+            Robot robot = entree.getKey();
+            TrajetReserve trajet = entree.getValue();
+            int index = carte.indexCase(robot.getPosition());
+            long creneau = 0;
+            List<Direction> directions = trajet == null ? List.of() : trajet.getDirections();
+            for (int i = 0; i < directions.size(); i++) {
+                long depart = trajet.getDateDepart(i) / dureeCreneau;
+                for (long c = creneau; c <= depart; c++) {
+                    occuper(occupation, index, c, robot.getId());
+                }
+                Case suivante = carte.getVoisin(carte.getCase(index), directions.get(i));
+                int temps = robot.getProfilVitesse().tempsTraversee(suivante.getNature(), carte.getTailleCase());
+                int k = Math.max(1, (temps + dureeCreneau - 1) / dureeCreneau);
+                int indexSuivante = carte.indexCase(suivante);
+                for (long c = depart; c <= depart + k; c++) {
+                    occuper(occupation, index, c, robot.getId());
+                    occuper(occupation, indexSuivante, c, robot.getId());
+                }
+                index = indexSuivante;
+                creneau = depart + k;
+            }
+            for (long c = creneau; c <= horizon; c++) {
+                occuper(occupation, index, c, robot.getId());
+            }
+        }
+    }
+
+    private static void occuper(Map<Long, Integer> occupation, int index, long creneau, int robot) {
+        Integer autre = occupation.put(creneau << 32 | index, robot);
+        if (autre != null && autre != robot) {
+            fail("Case " + index + " tenue au créneau " + creneau + " par les robots " + autre + " et " + robot);
+        }
+    }
+}
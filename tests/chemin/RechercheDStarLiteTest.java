@@ -0,0 +1,153 @@
+package simulation.chemin;
+
+import org.junit.jupiter.api.Test;
+import simulation.environment.Carte;
+import simulation.environment.Case;
+import simulation.environment.CaseState;
+import simulation.environment.Direction;
+import simulation.environment.NatureTerrain;
+import simulation.robot.Robot;
+import simulation.robot.RobotPattes;
+import simulation.robot.RobotRoue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests de la recherche incrémentale D* Lite : une recherche réparée donne le même temps de trajet
+ * qu'une recherche complète, en développant beaucoup moins de noeuds.
+ */
+class RechercheDStarLiteTest {
+    private static final NatureTerrain[] NATURES = {NatureTerrain.FORET, NatureTerrain.ROCHE,
+            NatureTerrain.TERRAIN_LIBRE, NatureTerrain.HABITAT, NatureTerrain.EAU};
+
+    @Test
+    void memesTempsQueAStarAvecModificationsDuTerrain() {
+        Random aleatoire = new Random(9);
+        long nbNoeudsDStar = 0;
+        long nbNoeudsAStar = 0;
+        for (int essai = 0; essai < 30; essai++) {
+            int nbLignes = 60;
+            int nbColones = 60;
+            Carte carte = new Carte(nbLignes, nbColones);
+            for (int lig = 0; lig < nbLignes; lig++) {
+                for (int col = 0; col < nbColones; col++) {
+                    carte.setCaseNature(col, lig, NATURES[aleatoire.nextInt(NATURES.length)]);
+                }
+            }
+            Case depart = carte.getCase(aleatoire.nextInt(nbColones), aleatoire.nextInt(nbLignes));
+            Robot robot = essai % 2 == 0 ? new RobotRoue(0, depart) : new RobotPattes(0, depart);
+            RechercheDStarLite dStar = new RechercheDStarLite(carte);
+            RechercheAStar aStar = new RechercheAStar(carte);
+            Case cible = carte.getCase(aleatoire.nextInt(nbColones), aleatoire.nextInt(nbLignes));
+
+            for (int pas = 0; pas < 40; pas++) {
+                Chemin repare = dStar.chercher(robot, cible);
+                nbNoeudsDStar += dStar.getNbNoeudsExplores();
+                Chemin reference = aStar.chercher(robot, cible);
+                nbNoeudsAStar += aStar.getNbNoeudsExplores();
+                assertMemeTemps(reference, repare, "essai " + essai + ", pas " + pas);
+
+                // Le robot avance d'une case, puis le terrain change autour de lui
+                if (repare.estTrouve() && !repare.getDirections().isEmpty()) {
+                    robot.setPosition(carte.getVoisin(robot.getPosition(), repare.getDirections().get(0)));
+                }
+                for (int k = 0; k < 3; k++) {
+                    Case modifiee = carte.getCase(aleatoire.nextInt(nbColones), aleatoire.nextInt(nbLignes));
+                    if (!modifiee.equals(robot.getPosition())) {
+                        carte.setCaseNature(modifiee.getColonne(), modifiee.getLigne(),
+                                NATURES[aleatoire.nextInt(NATURES.length)]);
+                    }
+                }
+            }
+        }
+        assertTrue(nbNoeudsDStar * 5 < nbNoeudsAStar,
+                "D* Lite : " + nbNoeudsDStar + " noeuds, A* : " + nbNoeudsAStar + " noeuds");
+    }
+
+    @Test
+    void detourQuandUnRobotNonSuiviBloqueLePassage() {
+        // Mur sur la ligne 2, percé aux colonnes 1 et 5
+        Carte carte = new Carte(5, 7);
+        for (int col = 0; col < 7; col++) {
+            if (col != 1 && col != 5) {
+                carte.setCaseNature(col, 2, NatureTerrain.ROCHE);
+            }
+        }
+        Robot robot = new RobotRoue(0, carte.getCase(1, 0));
+        RechercheDStarLite recherche = new RechercheDStarLite(carte);
+        Case cible = carte.getCase(1, 4);
+        assertEquals(4, recherche.chercher(robot, cible).getDirections().size());
+
+        // Un autre robot, inconnu de la recherche, s'arrête dans le premier passage
+        carte.getCase(1, 2).setState(CaseState.OCCUPIED);
+        Chemin repare = recherche.chercher(robot, cible);
+        assertNotNull(repare.getDirections());
+        assertEquals(12, repare.getDirections().size());
+        assertMemeTemps(new RechercheDStarLite(carte).chercher(robot, cible), repare, "détour");
+    }
+
+    @Test
+    void memesTempsQuUneRechercheNeuveAvecDesRobotsNonSuivis() {
+        NatureTerrain[] natures = {NatureTerrain.TERRAIN_LIBRE, NatureTerrain.TERRAIN_LIBRE,
+                NatureTerrain.FORET, NatureTerrain.ROCHE};
+        for (int essai = 0; essai < 1000; essai++) {
+            Random aleatoire = new Random(essai);
+            int nbLignes = 4 + aleatoire.nextInt(8);
+            int nbColones = 4 + aleatoire.nextInt(8);
+            Carte carte = new Carte(nbLignes, nbColones);
+            for (int lig = 0; lig < nbLignes; lig++) {
+                for (int col = 0; col < nbColones; col++) {
+                    carte.setCaseNature(col, lig, natures[aleatoire.nextInt(natures.length)]);
+                }
+            }
+            // Le robot qui cherche, et trois cases tenues par des robots que la recherche ne suit pas
+            Set<Case> prises = new HashSet<>();
+            Case depart = carte.getCase(aleatoire.nextInt(nbColones), aleatoire.nextInt(nbLignes));
+            prises.add(depart);
+            List<Case> occupees = new ArrayList<>();
+            for (int k = 0; k < 3; k++) {
+                Case c;
+                do {
+                    c = carte.getCase(aleatoire.nextInt(nbColones), aleatoire.nextInt(nbLignes));
+                } while (!prises.add(c));
+                c.setState(CaseState.OCCUPIED);
+                occupees.add(c);
+            }
+            Robot robot = new RobotRoue(0, depart);
+            Case cible = carte.getCase(aleatoire.nextInt(nbColones), aleatoire.nextInt(nbLignes));
+            RechercheDStarLite recherche = new RechercheDStarLite(carte);
+
+            for (int pas = 0; pas < 30; pas++) {
+                Chemin repare = recherche.chercher(robot, cible);
+                Chemin neuf = new RechercheDStarLite(carte).chercher(robot, cible);
+                assertMemeTemps(neuf, repare, "essai " + essai + ", pas " + pas);
+
+                // Un des robots non suivis fait un pas
+                int k = aleatoire.nextInt(occupees.size());
+                Case ancienne = occupees.get(k);
+                Direction direction = Direction.values()[aleatoire.nextInt(Direction.values().length)];
+                Case voisin = carte.getVoisin(ancienne, direction);
+                if (voisin != null && voisin.getState() == CaseState.LIBRE && !voisin.equals(depart)) {
+                    ancienne.setState(CaseState.LIBRE);
+                    voisin.setState(CaseState.OCCUPIED);
+                    occupees.set(k, voisin);
+                }
+            }
+        }
+    }
+
+    private static void assertMemeTemps(Chemin attendu, Chemin obtenu, String message) {
+        assertEquals(attendu.estTrouve(), obtenu.estTrouve(), message);
+        if (attendu.estTrouve()) {
+            assertEquals(attendu.getTemps(), obtenu.getTemps(), message);
+        }
+    }
+}
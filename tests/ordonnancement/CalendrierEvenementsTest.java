@@ -0,0 +1,89 @@
+package simulation.ordonnancement;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests du calendrier d'événements : l'ordre de sortie est celui d'une file de priorité
+ * triée par date puis par ordre d'insertion.
+ */
+class CalendrierEvenementsTest {
+    private static final Comparator<long[]> ORDRE = Comparator.<long[]>comparingLong(e -> e[0])
+            .thenComparingLong(e -> e[1]);
+
+    @Test
+    void ajoutAvantLaProchaineDateApresUneConsultation() {
+        CalendrierEvenements<String> calendrier = new CalendrierEvenements<>(0);
+        calendrier.ajouter(50, "a");
+        calendrier.ajouter(100, "b");
+        assertEquals("a", calendrier.retirer());
+        assertEquals(100, calendrier.prochaineDate());
+        // La roue est déjà avancée jusqu'à 100 : l'événement passe par les anticipés
+        calendrier.ajouter(60, "c");
+        assertEquals(60, calendrier.prochaineDate());
+        assertEquals("c", calendrier.retirer());
+        assertEquals("b", calendrier.retirer());
+        assertTrue(calendrier.estVide());
+    }
+
+    @Test
+    void datesLointainesEtMemeDateDansLOrdreDInsertion() {
+        CalendrierEvenements<String> calendrier = new CalendrierEvenements<>(0);
+        long lointaine = 1L << 38; // hors de portée de la roue
+        calendrier.ajouter(lointaine, "l1");
+        calendrier.ajouter(3, "a1");
+        calendrier.ajouter(lointaine, "l2");
+        calendrier.ajouter(3, "a2");
+        assertEquals(List.of("a1", "a2"), calendrier.retirerLot());
+        assertEquals(lointaine, calendrier.prochaineDate());
+        assertEquals(List.of("l1", "l2"), calendrier.retirerLot());
+        assertTrue(calendrier.estVide());
+    }
+
+    @Test
+    void equivalentAUneFileDePrioriteSurDesOperationsAleatoires() {
+        for (int essai = 0; essai < 500; essai++) {
+            Random aleatoire = new Random(essai);
+            CalendrierEvenements<long[]> calendrier = new CalendrierEvenements<>(0);
+            PriorityQueue<long[]> reference = new PriorityQueue<>(ORDRE);
+            long nbAjouts = 0;
+            long plancher = 0;
+            for (int op = 0; op < 2000; op++) {
+                int choix = aleatoire.nextInt(10);
+                String message = "essai " + essai + ", opération " + op;
+                if (choix < 5 || reference.isEmpty()) {
+                    // Surtout des dates proches, parfois au-delà d'un niveau de la roue ou de sa portée
+                    long etendue = aleatoire.nextInt(4) == 0 ? 1L << aleatoire.nextInt(40) : aleatoire.nextInt(200);
+                    long date = plancher + (long) (aleatoire.nextDouble() * etendue);
+                    long[] evenement = {date, nbAjouts++};
+                    calendrier.ajouter(date, evenement);
+                    reference.add(evenement);
+                } else if (choix < 7) {
+                    // Consulter avance la roue : les ajouts suivants plus proches passent par les anticipés
+                    assertEquals(reference.peek()[0], calendrier.prochaineDate(), message);
+                } else if (choix < 9) {
+                    long[] evenement = calendrier.retirer();
+                    assertSame(reference.poll(), evenement, message);
+                    plancher = evenement[0];
+                } else {
+                    List<long[]> lot = calendrier.retirerLot();
+                    for (long[] evenement : lot) {
+                        assertSame(reference.poll(), evenement, message);
+                    }
+                    plancher = lot.get(0)[0];
+                    assertFalse(!reference.isEmpty() && reference.peek()[0] == plancher, "lot incomplet, " + message);
+                }
+                assertEquals(reference.size(), calendrier.taille(), message);
+            }
+        }
+    }
+}